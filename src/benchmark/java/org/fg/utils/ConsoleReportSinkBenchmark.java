@@ -0,0 +1,94 @@
+package org.fg.utils;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Per-line cost of console logging: the former printf path against ConsoleReportSink, both
+ * writing to a discarding stream. Run main() (or with -prof gc) to see ns/op and B/op; it is
+ * built only with the benchmark profile:
+ * mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.fg.utils.ConsoleReportSinkBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsoleReportSinkBenchmark {
+    private final PrintStream nullOut = new PrintStream(OutputStream.nullOutputStream());
+    private final SimpleDateFormat legacyTimeFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+
+    private ConsoleReportSink sink;
+    private ConsoleReportSink gatedSink;
+    private ReportEvent stepEnd;
+    private ReportEvent action;
+
+    @Setup
+    public void setUp() {
+        sink = new ConsoleReportSink(nullOut, LogLevel.INFO);
+        gatedSink = new ConsoleReportSink(nullOut, LogLevel.WARN);
+        ReportContext context = ReportContext.begin("emulator-5554", "benchmark");
+        stepEnd = ReportEvent.stepEnd(context, "Open hamburger menu", 1234);
+        action = ReportEvent.action(context, LogLevel.INFO, "Click", "Tapped the Add Cash button in the lobby", null);
+    }
+
+    @Benchmark
+    public void legacyPrintf() {
+        legacyPrint(stepEnd, "STEP", "Completed: " + stepEnd.getName() + " (Duration: "
+            + ReportFormat.formatDuration(stepEnd.getDurationMillis()) + ")");
+    }
+
+    @Benchmark
+    public void sinkStepEnd() throws Exception {
+        sink.accept(stepEnd);
+    }
+
+    @Benchmark
+    public void sinkAction() throws Exception {
+        sink.accept(action);
+    }
+
+    @Benchmark
+    public void sinkBelowLevel() throws Exception {
+        gatedSink.accept(action);
+    }
+
+    /** The console output path before ConsoleReportSink reused its buffers */
+    private void legacyPrint(ReportEvent event, String type, String message) {
+        String timestamp = legacyTimeFormat.format(new Date(event.getEpochMillis()));
+        String formattedDeviceId = legacyFormatDeviceId(event.getDeviceId());
+        nullOut.printf("[%s] [%s] [%s] %s%n", timestamp, formattedDeviceId, type, message);
+    }
+
+    private static String legacyFormatDeviceId(String deviceId) {
+        if (deviceId.startsWith("RMAA-AND-") || deviceId.matches("^[A-Z0-9]{10,}$")) {
+            return "LambdaTest [" + System.getProperty("sessionId") + "] - " + System.getProperty("deviceName");
+        }
+        return deviceId;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(ConsoleReportSinkBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
@@ -2,20 +2,23 @@ package org.fg.pageObjects.android;
 
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AppiumFieldDecorator;
 import org.openqa.selenium.By;
+import org.fg.utils.ScreenStabilityDetector;
+import org.fg.utils.SmartWait;
 import org.fg.utils.TestReporter;
+import org.fg.utils.UiSnapshot;
+import org.fg.utils.AdaptiveWait;
+import org.fg.utils.TestConfig;
 import java.time.Instant;
 import java.util.List;
 import org.openqa.selenium.Keys;
 
 public class AddCashPage {
     private AndroidDriver driver;
-    private WebDriverWait wait;
+    private AdaptiveWait wait;
     private String deviceId;
 
     // Locators for Add Cash page
@@ -25,7 +28,7 @@ public class AddCashPage {
     public AddCashPage(AndroidDriver driver) {
         Instant startTime = Instant.now();
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new AdaptiveWait(driver, TestConfig.getInstance().getWaitMedium());
         this.deviceId = String.format("%s_%s", 
             driver.getCapabilities().getCapability("deviceName"),
             driver.getCapabilities().getCapability("platformVersion"));
@@ -42,12 +45,12 @@ public class AddCashPage {
         TestReporter.startStep(deviceId, "Enter Add Cash Amount");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for amount input field to be visible", driver);
-            WebElement amountField = wait.until(ExpectedConditions.visibilityOfElementLocated(AMOUNT_INPUT_FIELD));
+            WebElement amountField = wait.visible(AMOUNT_INPUT_FIELD);
             
             // Click to focus the field first
             TestReporter.logAction(deviceId, "Focus", "Clicking to focus the amount field", driver);
             amountField.click();
-            Thread.sleep(1000);
+            SmartWait.await(driver, deviceId, "Amount field focused", SmartWait.keyboardShown(true), Duration.ofSeconds(1), 1000);
             
             boolean amountEntered = false;
             
@@ -56,9 +59,8 @@ public class AddCashPage {
                 try {
                     TestReporter.logAction(deviceId, "Input", "Using setValue to replace field content with: " + amount, driver);
                     amountField.clear();
-                    Thread.sleep(500);
                     amountField.sendKeys(amount);
-                    Thread.sleep(1000);
+                    SmartWait.await(driver, deviceId, "Amount shown in field", SmartWait.textContains(amountField, amount), Duration.ofMillis(1500), 1500);
                     
                     String checkText = amountField.getText();
                     if (checkText != null && checkText.contains(amount)) {
@@ -76,7 +78,7 @@ public class AddCashPage {
                     TestReporter.logAction(deviceId, "Input", "Using Android-specific input method", driver);
                     // Use Android's input method to set text
                     driver.executeScript("arguments[0].setAttribute('value', '" + amount + "');", amountField);
-                    Thread.sleep(1000);
+                    SmartWait.await(driver, deviceId, "Amount shown in field", SmartWait.textContains(amountField, amount), Duration.ofSeconds(1), 1000);
                     
                     String checkText = amountField.getText();
                     if (checkText != null && checkText.contains(amount)) {
@@ -101,7 +103,7 @@ public class AddCashPage {
                            .sendKeys(amount)
                            .build()
                            .perform();
-                    Thread.sleep(1000);
+                    SmartWait.await(driver, deviceId, "Amount shown in field", SmartWait.textContains(amountField, amount), Duration.ofSeconds(1), 1000);
                     
                     String checkText = amountField.getText();
                     if (checkText != null && checkText.contains(amount)) {
@@ -118,7 +120,7 @@ public class AddCashPage {
                 try {
                     TestReporter.logAction(deviceId, "Input", "Trying direct input without clearing", driver);
                     amountField.sendKeys(amount);
-                    Thread.sleep(1000);
+                    SmartWait.await(driver, deviceId, "Amount shown in field", SmartWait.textContains(amountField, amount), Duration.ofSeconds(1), 1000);
                     
                     String checkText = amountField.getText();
                     if (checkText != null && checkText.contains(amount)) {
@@ -159,7 +161,7 @@ public class AddCashPage {
         TestReporter.startStep(deviceId, "Click Proceed to Pay Button");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for proceed to pay button to be clickable", driver);
-            WebElement proceedToPayButton = wait.until(ExpectedConditions.elementToBeClickable(PROCEED_TO_PAY_BUTTON));
+            WebElement proceedToPayButton = wait.clickable(PROCEED_TO_PAY_BUTTON);
             
             TestReporter.logAction(deviceId, "Click", "Clicking proceed to pay button", driver);
             proceedToPayButton.click();
@@ -184,7 +186,7 @@ public class AddCashPage {
         TestReporter.startStep(deviceId, "Check Add Cash Page Loaded");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for amount input field to be visible", driver);
-            WebElement amountField = wait.until(ExpectedConditions.visibilityOfElementLocated(AMOUNT_INPUT_FIELD));
+            WebElement amountField = wait.visible(AMOUNT_INPUT_FIELD);
             
             if (amountField.isDisplayed()) {
                 TestReporter.logAction(deviceId, "Success", "Add Cash page loaded successfully", driver);
@@ -210,14 +212,17 @@ public class AddCashPage {
             TestReporter.logAction(deviceId, "Info", "Starting comprehensive web element collection on Add Cash page", driver);
             
             // Wait for page to load
-            Thread.sleep(2000);
+            new ScreenStabilityDetector(driver, deviceId).awaitSettled(Duration.ofMillis(2000));
+            
+            // One page-source fetch; every category below is evaluated locally against it
+            UiSnapshot snapshot = UiSnapshot.capture(driver);
             
             // Collect all elements by different categories
-            collectBasicElements();
-            collectInputElements();
-            collectButtonElements();
-            collectAmountElements();
-            collectInformationElements();
+            collectBasicElements(snapshot);
+            collectInputElements(snapshot);
+            collectButtonElements(snapshot);
+            collectAmountElements(snapshot);
+            collectInformationElements(snapshot);
             
             TestReporter.logAction(deviceId, "Success", "Web element collection completed successfully", driver);
             
@@ -231,14 +236,14 @@ public class AddCashPage {
     /**
      * Collect basic page elements
      */
-    private void collectBasicElements() {
+    private void collectBasicElements(UiSnapshot snapshot) {
         try {
             TestReporter.logAction(deviceId, "Elements", "Collecting basic page elements", driver);
             
             // Page title
             try {
-                List<WebElement> titles = driver.findElements(By.xpath("//android.widget.TextView[contains(@text, 'Add') or contains(@text, 'Cash') or contains(@text, 'Amount')]"));
-                for (WebElement title : titles) {
+                List<UiSnapshot.UiNode> titles = snapshot.findAll(By.xpath("//android.widget.TextView[contains(@text, 'Add') or contains(@text, 'Cash') or contains(@text, 'Amount')]"));
+                for (UiSnapshot.UiNode title : titles) {
                     TestReporter.logAction(deviceId, "Found", "Page Title: " + title.getText(), driver);
                 }
             } catch (Exception e) {
@@ -247,8 +252,12 @@ public class AddCashPage {
             
             // Back button
             try {
-                WebElement backButton = driver.findElement(By.xpath("//android.widget.ImageView[@content-desc='Navigate up'] | //android.widget.ImageButton[@content-desc='Navigate up']"));
-                TestReporter.logAction(deviceId, "Found", "Back Button: " + backButton.getAttribute("content-desc"), driver);
+                UiSnapshot.UiNode backButton = snapshot.find(By.xpath("//android.widget.ImageView[@content-desc='Navigate up'] | //android.widget.ImageButton[@content-desc='Navigate up']"));
+                if (backButton != null) {
+                    TestReporter.logAction(deviceId, "Found", "Back Button: " + backButton.get("content-desc"), driver);
+                } else {
+                    TestReporter.logAction(deviceId, "Not Found", "Back Button", driver);
+                }
             } catch (Exception e) {
                 TestReporter.logAction(deviceId, "Not Found", "Back Button", driver);
             }
@@ -261,17 +270,17 @@ public class AddCashPage {
     /**
      * Collect input elements
      */
-    private void collectInputElements() {
+    private void collectInputElements(UiSnapshot snapshot) {
         try {
             TestReporter.logAction(deviceId, "Elements", "Collecting input elements", driver);
             
             // All input fields
             try {
-                List<WebElement> inputFields = driver.findElements(By.xpath("//android.widget.EditText | //android.widget.TextView[@inputType]"));
-                for (WebElement input : inputFields) {
-                    String resourceId = input.getAttribute("resource-id");
+                List<UiSnapshot.UiNode> inputFields = snapshot.findAll(By.xpath("//android.widget.EditText | //android.widget.TextView[@inputType]"));
+                for (UiSnapshot.UiNode input : inputFields) {
+                    String resourceId = input.getResourceId();
                     String text = input.getText();
-                    String hint = input.getAttribute("hint");
+                    String hint = input.get("hint");
                     TestReporter.logAction(deviceId, "Found", "Input Field - ID: " + resourceId + ", Text: " + text + ", Hint: " + hint, driver);
                 }
             } catch (Exception e) {
@@ -280,8 +289,8 @@ public class AddCashPage {
             
             // Amount related elements
             try {
-                List<WebElement> amountElements = driver.findElements(By.xpath("//*[contains(@text, '₹') or contains(@text, 'Rs') or contains(@text, 'Amount') or contains(@text, 'Enter')]"));
-                for (WebElement amount : amountElements) {
+                List<UiSnapshot.UiNode> amountElements = snapshot.findAll(By.xpath("//*[contains(@text, '₹') or contains(@text, 'Rs') or contains(@text, 'Amount') or contains(@text, 'Enter')]"));
+                for (UiSnapshot.UiNode amount : amountElements) {
                     TestReporter.logAction(deviceId, "Found", "Amount Element: " + amount.getText(), driver);
                 }
             } catch (Exception e) {
@@ -296,7 +305,7 @@ public class AddCashPage {
     /**
      * Collect button elements
      */
-    private void collectButtonElements() {
+    private void collectButtonElements(UiSnapshot snapshot) {
         try {
             TestReporter.logAction(deviceId, "Elements", "Collecting button elements", driver);
             
@@ -306,9 +315,9 @@ public class AddCashPage {
             
             for (String buttonText : buttonTexts) {
                 try {
-                    List<WebElement> buttons = driver.findElements(By.xpath("//android.widget.Button[@text='" + buttonText + "'] | //android.widget.TextView[@text='" + buttonText + "']"));
-                    for (WebElement button : buttons) {
-                        String resourceId = button.getAttribute("resource-id");
+                    List<UiSnapshot.UiNode> buttons = snapshot.findAll(By.xpath("//android.widget.Button[@text='" + buttonText + "'] | //android.widget.TextView[@text='" + buttonText + "']"));
+                    for (UiSnapshot.UiNode button : buttons) {
+                        String resourceId = button.getResourceId();
                         TestReporter.logAction(deviceId, "Found", "Button: " + button.getText() + " (ID: " + resourceId + ")", driver);
                     }
                 } catch (Exception e) {
@@ -324,17 +333,17 @@ public class AddCashPage {
     /**
      * Collect amount related elements
      */
-    private void collectAmountElements() {
+    private void collectAmountElements(UiSnapshot snapshot) {
         try {
             TestReporter.logAction(deviceId, "Elements", "Collecting amount related elements", driver);
             
             // Look for any elements that might be amount input fields
             try {
-                List<WebElement> amountInputs = driver.findElements(By.xpath("//*[contains(@resource-id, 'amount') or contains(@resource-id, 'input') or contains(@resource-id, 'field')]"));
-                for (WebElement input : amountInputs) {
-                    String resourceId = input.getAttribute("resource-id");
+                List<UiSnapshot.UiNode> amountInputs = snapshot.findAll(By.xpath("//*[contains(@resource-id, 'amount') or contains(@resource-id, 'input') or contains(@resource-id, 'field')]"));
+                for (UiSnapshot.UiNode input : amountInputs) {
+                    String resourceId = input.getResourceId();
                     String text = input.getText();
-                    String className = input.getAttribute("className");
+                    String className = input.getClassName();
                     TestReporter.logAction(deviceId, "Found", "Amount Input Candidate - ID: " + resourceId + ", Text: " + text + ", Class: " + className, driver);
                 }
             } catch (Exception e) {
@@ -349,7 +358,7 @@ public class AddCashPage {
     /**
      * Collect information elements
      */
-    private void collectInformationElements() {
+    private void collectInformationElements(UiSnapshot snapshot) {
         try {
             TestReporter.logAction(deviceId, "Elements", "Collecting information elements", driver);
             
@@ -359,8 +368,8 @@ public class AddCashPage {
             
             for (String info : infoElements) {
                 try {
-                    List<WebElement> elements = driver.findElements(By.xpath("//android.widget.TextView[contains(@text, '" + info + "')]"));
-                    for (WebElement element : elements) {
+                    List<UiSnapshot.UiNode> elements = snapshot.findAll(By.xpath("//android.widget.TextView[contains(@text, '" + info + "')]"));
+                    for (UiSnapshot.UiNode element : elements) {
                         TestReporter.logAction(deviceId, "Found", "Info Element: " + element.getText(), driver);
                     }
                 } catch (Exception e) {
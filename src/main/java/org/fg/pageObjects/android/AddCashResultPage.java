@@ -2,18 +2,18 @@ package org.fg.pageObjects.android;
 
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AppiumFieldDecorator;
 import org.openqa.selenium.By;
 import org.fg.utils.TestReporter;
+import org.fg.utils.AdaptiveWait;
+import org.fg.utils.TestConfig;
 import java.time.Instant;
 
 public class AddCashResultPage {
     private AndroidDriver driver;
-    private WebDriverWait wait;
+    private AdaptiveWait wait;
     private String deviceId;
 
     // Locators for Add Cash Result page
@@ -28,7 +28,7 @@ public class AddCashResultPage {
     public AddCashResultPage(AndroidDriver driver) {
         Instant startTime = Instant.now();
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new AdaptiveWait(driver, TestConfig.getInstance().getWaitMedium());
         this.deviceId = String.format("%s_%s", 
             driver.getCapabilities().getCapability("deviceName"),
             driver.getCapabilities().getCapability("platformVersion"));
@@ -44,7 +44,7 @@ public class AddCashResultPage {
         TestReporter.startStep(deviceId, "Check Add Cash Success");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for success message", driver);
-            WebElement successElement = wait.until(ExpectedConditions.visibilityOfElementLocated(SUCCESS_MESSAGE));
+            WebElement successElement = wait.visible(SUCCESS_MESSAGE);
             
             if (successElement.isDisplayed()) {
                 String successText = successElement.getText();
@@ -69,7 +69,7 @@ public class AddCashResultPage {
         TestReporter.startStep(deviceId, "Check Add Cash Denied");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for error message", driver);
-            WebElement errorElement = wait.until(ExpectedConditions.visibilityOfElementLocated(ERROR_MESSAGE));
+            WebElement errorElement = wait.visible(ERROR_MESSAGE);
             
             if (errorElement.isDisplayed()) {
                 String errorText = errorElement.getText();
@@ -94,7 +94,7 @@ public class AddCashResultPage {
         TestReporter.startStep(deviceId, "Check Add Cash In Progress");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for in progress message", driver);
-            WebElement progressElement = wait.until(ExpectedConditions.visibilityOfElementLocated(IN_PROGRESS_MESSAGE));
+            WebElement progressElement = wait.visible(IN_PROGRESS_MESSAGE);
             
             if (progressElement.isDisplayed()) {
                 String progressText = progressElement.getText();
@@ -119,7 +119,7 @@ public class AddCashResultPage {
         TestReporter.startStep(deviceId, "Check Daily Add Cash Limit");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for daily limit message", driver);
-            WebElement limitElement = wait.until(ExpectedConditions.visibilityOfElementLocated(DAILY_LIMIT_MESSAGE));
+            WebElement limitElement = wait.visible(DAILY_LIMIT_MESSAGE);
             
             if (limitElement.isDisplayed()) {
                 String limitText = limitElement.getText();
@@ -144,7 +144,7 @@ public class AddCashResultPage {
         TestReporter.startStep(deviceId, "Capture Daily Limit Message");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for daily limit message", driver);
-            WebElement limitElement = wait.until(ExpectedConditions.visibilityOfElementLocated(DAILY_LIMIT_MESSAGE));
+            WebElement limitElement = wait.visible(DAILY_LIMIT_MESSAGE);
             
             String limitText = limitElement.getText();
             TestReporter.logAction(deviceId, "Info", "Captured daily limit message: " + limitText, driver);
@@ -168,7 +168,7 @@ public class AddCashResultPage {
             
             // Try to click OK button
             try {
-                WebElement okButton = wait.until(ExpectedConditions.elementToBeClickable(OK_BUTTON));
+                WebElement okButton = wait.clickable(OK_BUTTON);
                 TestReporter.logAction(deviceId, "Click", "Clicking OK button", driver);
                 okButton.click();
             } catch (Exception e) {
@@ -176,7 +176,7 @@ public class AddCashResultPage {
                 
                 // Try to click close button
                 try {
-                    WebElement closeButton = wait.until(ExpectedConditions.elementToBeClickable(CLOSE_BUTTON));
+                    WebElement closeButton = wait.clickable(CLOSE_BUTTON);
                     TestReporter.logAction(deviceId, "Click", "Clicking close button", driver);
                     closeButton.click();
                 } catch (Exception e2) {
@@ -184,7 +184,7 @@ public class AddCashResultPage {
                     
                     // Try to click back button
                     try {
-                        WebElement backButton = wait.until(ExpectedConditions.elementToBeClickable(BACK_BUTTON));
+                        WebElement backButton = wait.clickable(BACK_BUTTON);
                         TestReporter.logAction(deviceId, "Click", "Clicking back button", driver);
                         backButton.click();
                     } catch (Exception e3) {
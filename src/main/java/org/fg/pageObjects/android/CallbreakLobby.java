@@ -4,11 +4,14 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AndroidFindBy;
 import io.appium.java_client.pagefactory.AppiumFieldDecorator;
+import org.fg.utils.MultiLocator;
+import org.fg.utils.ScreenStabilityDetector;
 import org.fg.utils.TestReporter;
+import org.fg.utils.AdaptiveWait;
+import org.fg.utils.TestConfig;
 import java.time.Duration;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.TimeoutException;
@@ -20,15 +23,16 @@ public class CallbreakLobby {
     
     private final AndroidDriver driver;
     private final String deviceId;
-    private final WebDriverWait wait;
-    private final WebDriverWait shortWait;
-    private static final int WAIT_TIMEOUT = 15;
+    private final AdaptiveWait wait;
+    private final AdaptiveWait shortWait;
+    private final ScreenStabilityDetector screen;
     private static final int SHORT_TIMEOUT = 1;
     
     // Locators
     public static final By HAMBURGER_MENU = By.id("com.paytm.paytmplay:id/v_hamburg_bg");
     public static final By HAMBURGER_MENU_SECOND = By.xpath("//android.view.View[@resource-id=\"com.paytm.paytmplay:id/v_hamburg_bg\"]");
     public static final By HAMBURGER_MENU_THIRD = By.xpath("//android.widget.ImageView[@resource-id=\"com.paytm.paytmplay:id/iv_head_hamburg\"]");
+    public static final MultiLocator HAMBURGER_MENU_ANY = new MultiLocator("Hamburger menu", HAMBURGER_MENU, HAMBURGER_MENU_SECOND, HAMBURGER_MENU_THIRD);
     private static final By LOBBY_CONTAINER = By.id("com.paytm.paytmplay:id/lobby_container");
     private static final By BANNER_CLOSE = By.xpath("//android.widget.Button[@content-desc='close' or @content-desc='Close' or @content-desc='inapp_close_btn']");
     private static final By WALLET_HEADER_PLUS_ICON = By.xpath("//android.widget.ImageView[@resource-id=\"com.paytm.paytmplay:id/iv_head_wallet_add\"]");
@@ -44,8 +48,9 @@ public class CallbreakLobby {
         this.deviceId = String.format("%s_%s", 
             driver.getCapabilities().getCapability("deviceName"),
             driver.getCapabilities().getCapability("platformVersion"));
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(WAIT_TIMEOUT));
-        this.shortWait = new WebDriverWait(driver, Duration.ofSeconds(SHORT_TIMEOUT));
+        this.wait = new AdaptiveWait(driver, TestConfig.getInstance().getWaitMedium());
+        this.shortWait = new AdaptiveWait(driver, Duration.ofSeconds(SHORT_TIMEOUT));
+        this.screen = new ScreenStabilityDetector(driver, deviceId);
         PageFactory.initElements(new AppiumFieldDecorator(driver), this);
         TestReporter.logPageTransition(deviceId, "OTPScreen", "CallbreakLobby");
         handleBanner();
@@ -58,9 +63,8 @@ public class CallbreakLobby {
             
             // Check for CleverTap banner (pip_container)
             try {
-                WebElement cleverTapBanner = shortWait.until(ExpectedConditions.presenceOfElementLocated(
-                    By.xpath("//android.view.ViewGroup[@resource-id=\"com.paytm.paytmplay:id/pip_container\"]")
-                ));
+                WebElement cleverTapBanner = shortWait.present(
+                    By.xpath("//android.view.ViewGroup[@resource-id=\"com.paytm.paytmplay:id/pip_container\"]"));
                 
                 if (cleverTapBanner.isDisplayed()) {
                     TestReporter.logAction(deviceId, "Banner", "CleverTap banner found, attempting to close", driver);
@@ -96,7 +100,7 @@ public class CallbreakLobby {
                     if (!bannerClosed) {
                         try {
                             cleverTapBanner.click();
-                            Thread.sleep(1000); // Wait to see if it closes
+                            screen.awaitSettled(Duration.ofMillis(1000)); // Wait to see if it closes
                             bannerClosed = true;
                         } catch (Exception e) {
                             TestReporter.logAction(deviceId, "Warning", "Failed to click on CleverTap banner container: " + e.getMessage(), driver);
@@ -166,13 +170,12 @@ public class CallbreakLobby {
                 "x", centerX, "y", centerY
             ));
             
-            Thread.sleep(2000); // Wait for navigation
+            screen.awaitSettled(Duration.ofMillis(2000)); // Wait for navigation
             
             // Step 2: Verify we are on challenges page
             try {
-                WebElement challengesIcon = wait.until(ExpectedConditions.presenceOfElementLocated(
-                    By.xpath("//android.widget.Image[@text=\"ic_challenges_4ba44e\"]")
-                ));
+                WebElement challengesIcon = wait.present(
+                    By.xpath("//android.widget.Image[@text=\"ic_challenges_4ba44e\"]"));
                 
                 if (!challengesIcon.isDisplayed()) {
                     TestReporter.logAction(deviceId, "Warning", "Challenges icon not visible, but continuing", driver);
@@ -183,18 +186,17 @@ public class CallbreakLobby {
             
             // Step 3: Click on lobby icon in footer to return to lobby
             try {
-                WebElement lobbyIcon = wait.until(ExpectedConditions.elementToBeClickable(
-                    By.xpath("//android.widget.ImageView[@resource-id=\"com.paytm.paytmplay:id/sec_item_1\"]")
-                ));
+                WebElement lobbyIcon = wait.clickable(
+                    By.xpath("//android.widget.ImageView[@resource-id=\"com.paytm.paytmplay:id/sec_item_1\"]"));
                 
                 lobbyIcon.click();
                 
                 // Wait for lobby to load
-                Thread.sleep(3000);
+                screen.awaitSettled(Duration.ofMillis(3000));
                 
                 // Verify we're back in lobby
                 try {
-                    WebElement hamburgerMenu = wait.until(ExpectedConditions.presenceOfElementLocated(HAMBURGER_MENU));
+                    WebElement hamburgerMenu = wait.present(HAMBURGER_MENU);
                     if (hamburgerMenu.isDisplayed()) {
                         TestReporter.logAction(deviceId, "Success", "Successfully returned to lobby through challenges navigation", driver);
                     } else {
@@ -228,7 +230,7 @@ public class CallbreakLobby {
                 
                 // Use short wait first for quick check
                 try {
-                    WebElement hamburger = shortWait.until(ExpectedConditions.presenceOfElementLocated(HAMBURGER_MENU));
+                    WebElement hamburger = shortWait.present(HAMBURGER_MENU);
                     if (hamburger.isDisplayed()) {
                         Duration strategy1Duration = Duration.between(strategy1Start, Instant.now());
                         TestReporter.logAction(deviceId, "Success", "Found hamburger menu in " + strategy1Duration.toMillis() + "ms", driver);
@@ -236,7 +238,7 @@ public class CallbreakLobby {
                     }
                 } catch (TimeoutException e) {
                     // If short wait fails, try with normal wait
-                    WebElement hamburger = wait.until(ExpectedConditions.presenceOfElementLocated(HAMBURGER_MENU));
+                    WebElement hamburger = wait.present(HAMBURGER_MENU);
                     if (hamburger.isDisplayed()) {
                         Duration strategy1Duration = Duration.between(strategy1Start, Instant.now());
                         TestReporter.logAction(deviceId, "Success", "Found hamburger menu with longer wait in " + strategy1Duration.toMillis() + "ms", driver);
@@ -251,7 +253,7 @@ public class CallbreakLobby {
             try {
                 Instant strategy2Start = Instant.now();
                 TestReporter.logAction(deviceId, "Strategy 2", "Checking lobby container by ID", driver);
-                WebElement container = wait.until(ExpectedConditions.presenceOfElementLocated(LOBBY_CONTAINER));
+                WebElement container = wait.present(LOBBY_CONTAINER);
                 if (container.isDisplayed()) {
                     Duration strategy2Duration = Duration.between(strategy2Start, Instant.now());
                     TestReporter.logAction(deviceId, "Success", "Found lobby container by ID in " + strategy2Duration.toMillis() + "ms", driver);
@@ -279,17 +281,8 @@ public class CallbreakLobby {
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for hamburger menu to be clickable", driver);
             
-            // Try all possible hamburger menu locators
-            WebElement hamburgerMenu = null;
-            try {
-                hamburgerMenu = shortWait.until(ExpectedConditions.elementToBeClickable(HAMBURGER_MENU));
-            } catch (TimeoutException e) {
-                try {
-                    hamburgerMenu = shortWait.until(ExpectedConditions.elementToBeClickable(HAMBURGER_MENU_SECOND));
-                } catch (TimeoutException e2) {
-                    hamburgerMenu = shortWait.until(ExpectedConditions.elementToBeClickable(HAMBURGER_MENU_THIRD));
-                }
-            }
+            // Try all possible hamburger menu locators in one polling loop
+            WebElement hamburgerMenu = HAMBURGER_MENU_ANY.findClickable(driver, deviceId, Duration.ofSeconds(SHORT_TIMEOUT));
             
             // Click the menu
             Instant clickStart = Instant.now();
@@ -319,7 +312,7 @@ public class CallbreakLobby {
         TestReporter.startStep(deviceId, "Click Wallet Header Plus Icon");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for wallet header plus icon to be clickable", driver);
-            WebElement walletPlusIcon = wait.until(ExpectedConditions.elementToBeClickable(WALLET_HEADER_PLUS_ICON));
+            WebElement walletPlusIcon = wait.clickable(WALLET_HEADER_PLUS_ICON);
             
             TestReporter.logAction(deviceId, "Click", "Clicking wallet header plus icon", driver);
             walletPlusIcon.click();
@@ -1,30 +1,34 @@
 package org.fg.pageObjects.android;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AppiumFieldDecorator;
 import org.fg.utils.TestReporter;
+import org.fg.utils.LogLevel;
 import java.time.Duration;
 import java.util.List;
 import java.util.NoSuchElementException;
 import com.google.common.collect.ImmutableMap;
 import java.util.Arrays;
 import org.fg.utils.AppiumUtils;
+import org.fg.utils.ScreenStabilityDetector;
+import org.fg.utils.SmartWait;
+import org.fg.utils.UiSnapshot;
+import org.fg.utils.AdaptiveWait;
+import org.fg.utils.TestConfig;
 
 public class HamburgerMenuCallbreak {
 	
 	private final AndroidDriver driver;
 	private final String deviceId;
-	private final WebDriverWait wait;
-	private final WebDriverWait shortWait;
-	private final WebDriverWait longWait;
-	private static final int WAIT_TIMEOUT = 15;  // Increased for better reliability
-	private static final int SHORT_TIMEOUT = 5;  // Increased for better reliability
-	private static final int LONG_TIMEOUT = 30;  // Added for complex operations
+	private final AdaptiveWait wait;
+	private final AdaptiveWait shortWait;
+	private final AdaptiveWait longWait;
+	private final ScreenStabilityDetector screen;
 	
 	// Locators
 	private static final By SETTINGS_BUTTON = By.xpath("//android.widget.TextView[@resource-id='com.paytm.paytmplay:id/item_tv_subtitle' and @text='Settings']");
@@ -67,10 +71,12 @@ public class HamburgerMenuCallbreak {
 		this.deviceId = String.format("%s_%s", 
 			driver.getCapabilities().getCapability("deviceName"),
 			driver.getCapabilities().getCapability("platformVersion"));
-		this.wait = new WebDriverWait(driver, Duration.ofSeconds(WAIT_TIMEOUT));
-		this.shortWait = new WebDriverWait(driver, Duration.ofSeconds(SHORT_TIMEOUT));
-		this.longWait = new WebDriverWait(driver, Duration.ofSeconds(LONG_TIMEOUT));
-		PageFactory.initElements(new AppiumFieldDecorator(driver, Duration.ofSeconds(WAIT_TIMEOUT)), this);
+		TestConfig config = TestConfig.getInstance();
+		this.wait = new AdaptiveWait(driver, config.getWaitMedium());
+		this.shortWait = new AdaptiveWait(driver, config.getWaitShort());
+		this.longWait = new AdaptiveWait(driver, config.getWaitLong());
+		this.screen = new ScreenStabilityDetector(driver, deviceId);
+		PageFactory.initElements(new AppiumFieldDecorator(driver, config.getWaitMedium()), this);
 		TestReporter.logPageTransition(deviceId, "CallbreakLobby", "HamburgerMenu");
 	}
 
@@ -79,37 +85,23 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Initialize Menu");
 		try {
 			// Wait for app to be fully loaded
-			Thread.sleep(3000);
+			SmartWait.await(driver, deviceId, "Hamburger menu present",
+				SmartWait.anyVisible(CallbreakLobby.HAMBURGER_MENU_ANY.getAlternatives().toArray(new By[0])),
+				Duration.ofSeconds(3), 3000);
 			
 			// Try multiple times to open the menu
 			for (int i = 0; i < 3; i++) {
 				try {
 					TestReporter.logAction(deviceId, "Attempt " + (i + 1), "Trying to find and click hamburger menu", driver);
 					
-					// Try all hamburger menu locators with longer wait
-					WebElement menuButton = null;
-					try {
-						menuButton = longWait.until(ExpectedConditions.elementToBeClickable(
-							CallbreakLobby.HAMBURGER_MENU
-						));
-					} catch (Exception e) {
-						TestReporter.logAction(deviceId, "Warning", "First hamburger menu locator failed, trying second", driver);
-						try {
-							menuButton = longWait.until(ExpectedConditions.elementToBeClickable(
-								CallbreakLobby.HAMBURGER_MENU_SECOND
-							));
-						} catch (Exception e2) {
-							TestReporter.logAction(deviceId, "Warning", "Second hamburger menu locator failed, trying third", driver);
-							menuButton = longWait.until(ExpectedConditions.elementToBeClickable(
-								CallbreakLobby.HAMBURGER_MENU_THIRD
-							));
-						}
-					}
+					// Try all hamburger menu locators in one polling loop with longer wait
+					WebElement menuButton = CallbreakLobby.HAMBURGER_MENU_ANY.findClickable(driver, deviceId, longWait.getFallback());
 					
 					// Ensure element is visible and clickable
+					final WebElement menuButtonRef = menuButton;
 					if (!menuButton.isDisplayed()) {
 						TestReporter.logAction(deviceId, "Warning", "Menu button not visible, waiting...", driver);
-						Thread.sleep(2000);
+						SmartWait.await(driver, deviceId, "Menu button visible", d -> menuButtonRef.isDisplayed(), Duration.ofSeconds(2), 2000);
 						continue;
 					}
 					
@@ -122,7 +114,8 @@ public class HamburgerMenuCallbreak {
 					}
 					
 					// Wait for menu animation
-					Thread.sleep(3000);
+					SmartWait.await(driver, deviceId, "Menu items visible",
+						SmartWait.anyVisible(SETTINGS_BUTTON, MY_BALANCE_BUTTON), Duration.ofSeconds(3), 3000);
 					
 					// Verify menu is open
 					if (isMenuOpen()) {
@@ -131,12 +124,12 @@ public class HamburgerMenuCallbreak {
 					}
 					
 					TestReporter.logAction(deviceId, "Warning", "Menu not open after click, retrying...", driver);
-					Thread.sleep(3000); // Wait before retry
+					waitForHamburgerMenu(); // Wait before retry
 					
 				} catch (Exception e) {
 					if (i == 2) throw e; // Throw on last attempt
 					TestReporter.logAction(deviceId, "Warning", "Attempt " + (i + 1) + " failed: " + e.getMessage(), driver);
-					Thread.sleep(3000); // Wait before retry
+					waitForHamburgerMenu(); // Wait before retry
 				}
 			}
 			
@@ -150,6 +143,17 @@ public class HamburgerMenuCallbreak {
 		}
 	}
 
+	/**
+	 * Wait (up to the old 3s retry pause) for a hamburger menu button to be clickable again
+	 */
+	private void waitForHamburgerMenu() {
+		try {
+			CallbreakLobby.HAMBURGER_MENU_ANY.findClickable(driver, deviceId, Duration.ofSeconds(3));
+		} catch (TimeoutException e) {
+			// Same as the fixed pause it replaces - the next attempt reports the failure
+		}
+	}
+
 	private void waitForPageLoad() {
 		TestReporter.startStep(deviceId, "Wait for Page Load");
 		try {
@@ -204,19 +208,9 @@ public class HamburgerMenuCallbreak {
 				RESPONSIBLE_PLAY_BUTTON
 			);
 			
-			// Try each element with a short wait
-			for (By element : menuElements) {
-				try {
-					if (shortWait.until(ExpectedConditions.visibilityOfElementLocated(element)).isDisplayed()) {
-						return true;
-					}
-				} catch (Exception e) {
-					continue; // Try next element
-				}
-			}
-			
-			// If we get here, none of the elements were found
-			return false;
+			// Check all elements against one page-source snapshot per poll
+			return SmartWait.await(driver, deviceId, "Menu open",
+				d -> UiSnapshot.capture(d).anyDisplayed(menuElements), shortWait.getFallback());
 		} catch (Exception e) {
 			return false;
 		}
@@ -226,7 +220,7 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Verify Menu Open");
 		try {
 			// Wait for menu animation to complete
-			Thread.sleep(500);
+			screen.awaitSettled(Duration.ofMillis(500));
 			
 			// Try multiple times to verify menu is open
 			for (int i = 0; i < 3; i++) {
@@ -252,10 +246,10 @@ public class HamburgerMenuCallbreak {
 			// Try short wait first for clickable
 			try {
 				TestReporter.logAction(deviceId, "Click", "Clicking settings button", driver);
-				shortWait.until(ExpectedConditions.elementToBeClickable(SETTINGS_BUTTON)).click();
+				shortWait.clickable(SETTINGS_BUTTON).click();
 			} catch (Exception e) {
 				// If short wait fails, try normal wait
-				wait.until(ExpectedConditions.elementToBeClickable(SETTINGS_BUTTON)).click();
+				wait.clickable(SETTINGS_BUTTON).click();
 			}
 			TestReporter.logAction(deviceId, "Success", "Settings button clicked successfully", driver);
 			return new SettingPage(driver);
@@ -285,27 +279,31 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Open My Balance");
 		try {
 			// Wait for menu to be fully opened
-			Thread.sleep(1000);
+			SmartWait.await(driver, deviceId, "My Balance menu item visible", SmartWait.visible(MY_BALANCE_BUTTON), Duration.ofSeconds(1), 1000);
 			
-			// Debug: Capture screenshot and log page source to see what's available
-			try {
-				String screenshotPath = AppiumUtils.captureScreenshot(driver, deviceId, "HamburgerMenu_Debug");
-				TestReporter.logAction(deviceId, "Debug", "Hamburger menu screenshot captured: " + screenshotPath, driver);
-				
-				// Log all menu elements with the same resource-id to see what's available
-				List<WebElement> menuItems = driver.findElements(By.xpath("//android.widget.TextView[@resource-id='com.paytm.paytmplay:id/item_tv_subtitle']"));
-				TestReporter.logAction(deviceId, "Debug", "Found " + menuItems.size() + " menu items with resource-id 'item_tv_subtitle'", driver);
-				
-				for (int i = 0; i < menuItems.size(); i++) {
-					try {
-						String text = menuItems.get(i).getText();
-						TestReporter.logAction(deviceId, "Debug", "Menu item " + (i + 1) + ": '" + text + "'", driver);
-					} catch (Exception e) {
-						TestReporter.logAction(deviceId, "Debug", "Menu item " + (i + 1) + ": Could not get text", driver);
+			// Debug: Capture screenshot and log the menu items to see what's available.
+			// Each item costs a getText() round trip, so only when DEBUG is reported.
+			if (TestReporter.isEnabled(LogLevel.DEBUG)) {
+				try {
+					String screenshotPath = AppiumUtils.captureScreenshot(driver, deviceId, "HamburgerMenu_Debug");
+					TestReporter.debug(deviceId, "Debug", () -> "Hamburger menu screenshot captured: " + screenshotPath, driver);
+					
+					// Log all menu elements with the same resource-id to see what's available
+					List<WebElement> menuItems = driver.findElements(By.xpath("//android.widget.TextView[@resource-id='com.paytm.paytmplay:id/item_tv_subtitle']"));
+					TestReporter.debug(deviceId, "Debug", () -> "Found " + menuItems.size() + " menu items with resource-id 'item_tv_subtitle'", driver);
+					
+					for (int i = 0; i < menuItems.size(); i++) {
+						int item = i + 1;
+						try {
+							String text = menuItems.get(i).getText();
+							TestReporter.debug(deviceId, "Debug", () -> "Menu item " + item + ": '" + text + "'", driver);
+						} catch (Exception e) {
+							TestReporter.debug(deviceId, "Debug", () -> "Menu item " + item + ": Could not get text", driver);
+						}
 					}
+				} catch (Exception e) {
+					TestReporter.logAction(deviceId, "Warning", "Failed to capture debug info: " + e.getMessage(), driver);
 				}
-			} catch (Exception e) {
-				TestReporter.logAction(deviceId, "Warning", "Failed to capture debug info: " + e.getMessage(), driver);
 			}
 			
 			// Try multiple strategies to find and click the My Balance button
@@ -321,18 +319,18 @@ public class HamburgerMenuCallbreak {
 						TestReporter.logAction(deviceId, "Warning", "Session appears to be lost, attempting to recover", driver);
 						// Try to reinitialize the menu
 						initializeMenu();
-						Thread.sleep(2000);
+						SmartWait.await(driver, deviceId, "My Balance menu item visible", SmartWait.visible(MY_BALANCE_BUTTON), Duration.ofSeconds(2), 2000);
 					}
 					
 					// Wait for element to be present and visible with shorter timeout
-					WebElement myBalanceBtn = wait.until(ExpectedConditions.presenceOfElementLocated(MY_BALANCE_BUTTON));
+					WebElement myBalanceBtn = wait.present(MY_BALANCE_BUTTON);
 					if (!myBalanceBtn.isDisplayed()) {
 						// If not visible, try scrolling to it
 						driver.executeScript("mobile: scrollGesture", ImmutableMap.of(
 							"left", 100, "top", 100, "width", 600, "height", 600,
 							"direction", "down", "percent", 0.75
 						));
-						Thread.sleep(500);
+						screen.awaitSettled(Duration.ofMillis(500));
 					}
 					
 					// Try to click the button with JavaScript as fallback
@@ -346,7 +344,7 @@ public class HamburgerMenuCallbreak {
 					TestReporter.logAction(deviceId, "Success", "My balance button clicked successfully", driver);
 					
 					// Wait for page transition and return MyBalancePage object
-					Thread.sleep(3000);
+					SmartWait.await(driver, deviceId, "Hamburger menu closed", SmartWait.gone(MY_BALANCE_BUTTON), Duration.ofSeconds(3), 3000);
 					return new MyBalancePage(driver);
 					
 				} catch (Exception e) {
@@ -361,7 +359,7 @@ public class HamburgerMenuCallbreak {
 						throw new RuntimeException("Session lost: " + sessionEx.getMessage(), sessionEx);
 					}
 					
-					Thread.sleep(2000); // Increased wait between retries
+					SmartWait.await(driver, deviceId, "My Balance menu item visible", SmartWait.visible(MY_BALANCE_BUTTON), Duration.ofSeconds(2), 2000); // Wait between retries
 				}
 			}
 			
@@ -385,10 +383,10 @@ public class HamburgerMenuCallbreak {
 			// Try short wait first for clickable
 			try {
 				TestReporter.logAction(deviceId, "Click", "Clicking Refer & Earn button", driver);
-				shortWait.until(ExpectedConditions.elementToBeClickable(REFER_EARN_BUTTON)).click();
+				shortWait.clickable(REFER_EARN_BUTTON).click();
 			} catch (Exception e) {
 				// If short wait fails, try normal wait
-				wait.until(ExpectedConditions.elementToBeClickable(REFER_EARN_BUTTON)).click();
+				wait.clickable(REFER_EARN_BUTTON).click();
 			}
 			
 			// Wait for page load
@@ -407,7 +405,7 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Open Payment Settings");
 		try {
 			TestReporter.logAction(deviceId, "Click", "Clicking payment settings button", driver);
-			wait.until(ExpectedConditions.elementToBeClickable(PAYMENT_SETTINGS_BUTTON)).click();
+			wait.clickable(PAYMENT_SETTINGS_BUTTON).click();
 			TestReporter.logAction(deviceId, "Success", "Payment settings button clicked successfully", driver);
 		} catch (Exception e) {
 			TestReporter.logError(deviceId, "Failed to open payment settings", e);
@@ -421,7 +419,7 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Open Inbox");
 		try {
 			TestReporter.logAction(deviceId, "Click", "Clicking inbox button", driver);
-			wait.until(ExpectedConditions.elementToBeClickable(INBOX_BUTTON)).click();
+			wait.clickable(INBOX_BUTTON).click();
 			TestReporter.logAction(deviceId, "Success", "Inbox button clicked successfully", driver);
 		} catch (Exception e) {
 			TestReporter.logError(deviceId, "Failed to open inbox", e);
@@ -435,7 +433,7 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Open FAQ");
 		try {
 			TestReporter.logAction(deviceId, "Click", "Clicking FAQ button", driver);
-			wait.until(ExpectedConditions.elementToBeClickable(FAQ_BUTTON)).click();
+			wait.clickable(FAQ_BUTTON).click();
 			TestReporter.logAction(deviceId, "Success", "FAQ button clicked successfully", driver);
 		} catch (Exception e) {
 			TestReporter.logError(deviceId, "Failed to open FAQ", e);
@@ -449,7 +447,7 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Open My Rewards");
 		try {
 			TestReporter.logAction(deviceId, "Click", "Clicking my rewards button", driver);
-			wait.until(ExpectedConditions.elementToBeClickable(MY_REWARDS_BUTTON)).click();
+			wait.clickable(MY_REWARDS_BUTTON).click();
 			TestReporter.logAction(deviceId, "Success", "My rewards button clicked successfully", driver);
 		} catch (Exception e) {
 			TestReporter.logError(deviceId, "Failed to open my rewards", e);
@@ -463,7 +461,7 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Open Game History");
 		try {
 			TestReporter.logAction(deviceId, "Click", "Clicking game history button", driver);
-			wait.until(ExpectedConditions.elementToBeClickable(GAME_HISTORY_BUTTON)).click();
+			wait.clickable(GAME_HISTORY_BUTTON).click();
 			TestReporter.logAction(deviceId, "Success", "Game history button clicked successfully", driver);
 		} catch (Exception e) {
 			TestReporter.logError(deviceId, "Failed to open game history", e);
@@ -477,7 +475,7 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Open How to Play");
 		try {
 			TestReporter.logAction(deviceId, "Click", "Clicking how to play button", driver);
-			wait.until(ExpectedConditions.elementToBeClickable(HOW_TO_PLAY_BUTTON)).click();
+			wait.clickable(HOW_TO_PLAY_BUTTON).click();
 			TestReporter.logAction(deviceId, "Success", "How to play button clicked successfully", driver);
 		} catch (Exception e) {
 			TestReporter.logError(deviceId, "Failed to open how to play", e);
@@ -491,7 +489,7 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Open Responsible Play");
 		try {
 			TestReporter.logAction(deviceId, "Click", "Clicking responsible play button", driver);
-			wait.until(ExpectedConditions.elementToBeClickable(RESPONSIBLE_PLAY_BUTTON)).click();
+			wait.clickable(RESPONSIBLE_PLAY_BUTTON).click();
 			TestReporter.logAction(deviceId, "Success", "Responsible play button clicked successfully", driver);
 		} catch (Exception e) {
 			TestReporter.logError(deviceId, "Failed to open responsible play", e);
@@ -507,14 +505,14 @@ public class HamburgerMenuCallbreak {
 	private void scrollToElement(By elementLocator) throws InterruptedException {
 		TestReporter.startStep(deviceId, "Scroll to Element");
 		try {
-			WebElement element = wait.until(ExpectedConditions.presenceOfElementLocated(elementLocator));
+			WebElement element = wait.present(elementLocator);
 			if (!element.isDisplayed()) {
 				TestReporter.logAction(deviceId, "Scroll", "Element not visible, scrolling down", driver);
 				driver.executeScript("mobile: scrollGesture", ImmutableMap.of(
 					"left", 100, "top", 100, "width", 600, "height", 600,
 					"direction", "down", "percent", 0.75
 				));
-				Thread.sleep(500);
+				screen.awaitSettled(Duration.ofMillis(500));
 			}
 		} catch (Exception e) {
 			TestReporter.logAction(deviceId, "Scroll", "Element not found, scrolling down", driver);
@@ -522,7 +520,7 @@ public class HamburgerMenuCallbreak {
 				"left", 100, "top", 100, "width", 600, "height", 600,
 				"direction", "down", "percent", 0.75
 			));
-			Thread.sleep(500);
+			screen.awaitSettled(Duration.ofMillis(500));
 		} finally {
 			TestReporter.endStep(deviceId, "Scroll to Element");
 		}
@@ -535,11 +533,11 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Navigate to Profile");
 		try {
 			scrollToElement(PROFILE_MENU);
-			WebElement profileMenu = wait.until(ExpectedConditions.elementToBeClickable(PROFILE_MENU));
+			WebElement profileMenu = wait.clickable(PROFILE_MENU);
 			profileMenu.click();
 			
 			// Verify Profile page is loaded
-			wait.until(ExpectedConditions.visibilityOfElementLocated(PROFILE_VERIFY));
+			wait.visible(PROFILE_VERIFY);
 			TestReporter.logAction(deviceId, "Success", "Profile page loaded successfully", driver);
 			
 		} catch (Exception e) {
@@ -557,11 +555,11 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Navigate to My Balance");
 		try {
 			scrollToElement(MY_BALANCE_MENU);
-			WebElement myBalanceMenu = wait.until(ExpectedConditions.elementToBeClickable(MY_BALANCE_MENU));
+			WebElement myBalanceMenu = wait.clickable(MY_BALANCE_MENU);
 			myBalanceMenu.click();
 			
 			// Verify My Balance page is loaded
-			wait.until(ExpectedConditions.visibilityOfElementLocated(MY_BALANCE_VERIFY));
+			wait.visible(MY_BALANCE_VERIFY);
 			TestReporter.logAction(deviceId, "Success", "My Balance page loaded successfully", driver);
 			
 		} catch (Exception e) {
@@ -579,11 +577,11 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Navigate to Refer & Earn");
 		try {
 			scrollToElement(REFER_EARN_MENU);
-			WebElement referEarnMenu = wait.until(ExpectedConditions.elementToBeClickable(REFER_EARN_MENU));
+			WebElement referEarnMenu = wait.clickable(REFER_EARN_MENU);
 			referEarnMenu.click();
 			
 			// Verify Refer & Earn page is loaded
-			wait.until(ExpectedConditions.visibilityOfElementLocated(REFER_EARN_VERIFY));
+			wait.visible(REFER_EARN_VERIFY);
 			TestReporter.logAction(deviceId, "Success", "Refer & Earn page loaded successfully", driver);
 			
 		} catch (Exception e) {
@@ -601,11 +599,11 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Navigate to Payment Settings");
 		try {
 			scrollToElement(PAYMENT_SETTINGS_MENU);
-			WebElement paymentSettingsMenu = wait.until(ExpectedConditions.elementToBeClickable(PAYMENT_SETTINGS_MENU));
+			WebElement paymentSettingsMenu = wait.clickable(PAYMENT_SETTINGS_MENU);
 			paymentSettingsMenu.click();
 			
 			// Verify Payment Settings page is loaded
-			wait.until(ExpectedConditions.visibilityOfElementLocated(PAYMENT_SETTINGS_VERIFY));
+			wait.visible(PAYMENT_SETTINGS_VERIFY);
 			TestReporter.logAction(deviceId, "Success", "Payment Settings page loaded successfully", driver);
 			
 		} catch (Exception e) {
@@ -623,11 +621,11 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Navigate to Inbox");
 		try {
 			scrollToElement(INBOX_MENU);
-			WebElement inboxMenu = wait.until(ExpectedConditions.elementToBeClickable(INBOX_MENU));
+			WebElement inboxMenu = wait.clickable(INBOX_MENU);
 			inboxMenu.click();
 			
 			// Verify Inbox page is loaded
-			wait.until(ExpectedConditions.visibilityOfElementLocated(INBOX_VERIFY));
+			wait.visible(INBOX_VERIFY);
 			TestReporter.logAction(deviceId, "Success", "Inbox page loaded successfully", driver);
 			
 		} catch (Exception e) {
@@ -645,7 +643,7 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Navigate to FAQ");
 		try {
 			scrollToElement(FAQ_MENU);
-			WebElement faqMenu = wait.until(ExpectedConditions.elementToBeClickable(FAQ_MENU));
+			WebElement faqMenu = wait.clickable(FAQ_MENU);
 			faqMenu.click();
 			
 			// Verify FAQ page is loaded (check for any of the expected elements)
@@ -671,11 +669,11 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Navigate to My Rewards");
 		try {
 			scrollToElement(MY_REWARDS_MENU);
-			WebElement myRewardsMenu = wait.until(ExpectedConditions.elementToBeClickable(MY_REWARDS_MENU));
+			WebElement myRewardsMenu = wait.clickable(MY_REWARDS_MENU);
 			myRewardsMenu.click();
 			
 			// Verify My Rewards page is loaded
-			wait.until(ExpectedConditions.visibilityOfElementLocated(MY_REWARDS_VERIFY));
+			wait.visible(MY_REWARDS_VERIFY);
 			TestReporter.logAction(deviceId, "Success", "My Rewards page loaded successfully", driver);
 			
 		} catch (Exception e) {
@@ -693,11 +691,11 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Navigate to Game History");
 		try {
 			scrollToElement(GAME_HISTORY_MENU);
-			WebElement gameHistoryMenu = wait.until(ExpectedConditions.elementToBeClickable(GAME_HISTORY_MENU));
+			WebElement gameHistoryMenu = wait.clickable(GAME_HISTORY_MENU);
 			gameHistoryMenu.click();
 			
 			// Verify Game History page is loaded
-			wait.until(ExpectedConditions.visibilityOfElementLocated(GAME_HISTORY_VERIFY));
+			wait.visible(GAME_HISTORY_VERIFY);
 			TestReporter.logAction(deviceId, "Success", "Game History page loaded successfully", driver);
 			
 		} catch (Exception e) {
@@ -715,11 +713,11 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Navigate to How to Play");
 		try {
 			scrollToElement(HOW_TO_PLAY_MENU);
-			WebElement howToPlayMenu = wait.until(ExpectedConditions.elementToBeClickable(HOW_TO_PLAY_MENU));
+			WebElement howToPlayMenu = wait.clickable(HOW_TO_PLAY_MENU);
 			howToPlayMenu.click();
 			
 			// Verify How to Play page is loaded
-			wait.until(ExpectedConditions.visibilityOfElementLocated(HOW_TO_PLAY_VERIFY));
+			wait.visible(HOW_TO_PLAY_VERIFY);
 			TestReporter.logAction(deviceId, "Success", "How to Play page loaded successfully", driver);
 			
 		} catch (Exception e) {
@@ -737,11 +735,11 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Navigate to Responsible Play");
 		try {
 			scrollToElement(RESPONSIBLE_PLAY_MENU);
-			WebElement responsiblePlayMenu = wait.until(ExpectedConditions.elementToBeClickable(RESPONSIBLE_PLAY_MENU));
+			WebElement responsiblePlayMenu = wait.clickable(RESPONSIBLE_PLAY_MENU);
 			responsiblePlayMenu.click();
 			
 			// Verify Responsible Play page is loaded
-			wait.until(ExpectedConditions.visibilityOfElementLocated(RESPONSIBLE_PLAY_VERIFY));
+			wait.visible(RESPONSIBLE_PLAY_VERIFY);
 			TestReporter.logAction(deviceId, "Success", "Responsible Play page loaded successfully", driver);
 			
 		} catch (Exception e) {
@@ -759,7 +757,7 @@ public class HamburgerMenuCallbreak {
 		TestReporter.startStep(deviceId, "Navigate Back");
 		try {
 			driver.navigate().back();
-			Thread.sleep(1000); // Wait for navigation to complete
+			screen.awaitSettled(Duration.ofMillis(1000)); // Wait for navigation to complete
 			TestReporter.logAction(deviceId, "Success", "Successfully navigated back", driver);
 		} catch (Exception e) {
 			TestReporter.logError(deviceId, "Failed to navigate back", e);
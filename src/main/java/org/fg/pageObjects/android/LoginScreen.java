@@ -7,15 +7,16 @@ import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AndroidFindBy;
 import io.appium.java_client.pagefactory.AppiumFieldDecorator;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.fg.utils.TestReporter;
+import org.fg.utils.AdaptiveWait;
+import org.fg.utils.TestConfig;
 import java.time.Duration;
 import java.time.Instant;
 
 public class LoginScreen {
 	
 	private final AndroidDriver driver;
-	private final WebDriverWait wait;
+	private final AdaptiveWait wait;
 	private final String deviceId;
 	
 	// Locators
@@ -34,7 +35,7 @@ public class LoginScreen {
     public LoginScreen(AndroidDriver driver) {
         Instant startTime = Instant.now();
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(30));
+        this.wait = new AdaptiveWait(driver, TestConfig.getInstance().getWaitLong());
         this.deviceId = String.format("%s_%s", 
             driver.getCapabilities().getCapability("deviceName"),
             driver.getCapabilities().getCapability("platformVersion"));
@@ -97,7 +98,7 @@ public class LoginScreen {
         TestReporter.startStep(deviceId, "Check Login Screen");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for Get Started button to be visible", driver);
-            WebElement getStartedBtn = wait.until(ExpectedConditions.presenceOfElementLocated(By.id("com.paytm.paytmplay:id/root_start")));
+            WebElement getStartedBtn = wait.present(By.id("com.paytm.paytmplay:id/root_start"));
             
             if (getStartedBtn.isDisplayed()) {
                 TestReporter.logAction(deviceId, "Success", "Get Started screen displayed successfully", driver);
@@ -118,7 +119,7 @@ public class LoginScreen {
         TestReporter.startStep(deviceId, "Click Get Started");
         try {
             TestReporter.logAction(deviceId, "Click", "Clicking Get Started button", driver);
-            wait.until(ExpectedConditions.elementToBeClickable(By.id("com.paytm.paytmplay:id/root_start"))).click();
+            wait.clickable(By.id("com.paytm.paytmplay:id/root_start")).click();
             TestReporter.logAction(deviceId, "Success", "Get Started button clicked successfully", driver);
         } catch (Exception e) {
             TestReporter.logError(deviceId, "Failed to click Get Started button", e);
@@ -132,7 +133,7 @@ public class LoginScreen {
         TestReporter.startStep(deviceId, "Click Continue");
         try {
             TestReporter.logAction(deviceId, "Click", "Clicking Continue button", driver);
-            wait.until(ExpectedConditions.elementToBeClickable(CONTINUE_BUTTON)).click();
+            wait.clickable(CONTINUE_BUTTON).click();
             TestReporter.logAction(deviceId, "Success", "Continue button clicked successfully", driver);
         } catch (Exception e) {
             TestReporter.logError(deviceId, "Failed to click Continue button", e);
@@ -146,7 +147,7 @@ public class LoginScreen {
         TestReporter.startStep(deviceId, "Enter OTP");
         try {
             TestReporter.logAction(deviceId, "Input", "Entering OTP: " + otp, driver);
-            WebElement otpField = wait.until(ExpectedConditions.presenceOfElementLocated(OTP_FIELD));
+            WebElement otpField = wait.present(OTP_FIELD);
             otpField.clear();
             otpField.sendKeys(otp);
             TestReporter.logAction(deviceId, "Success", "OTP entered successfully", driver);
@@ -162,7 +163,7 @@ public class LoginScreen {
         TestReporter.startStep(deviceId, "Click Verify");
         try {
             TestReporter.logAction(deviceId, "Click", "Clicking Verify button", driver);
-            wait.until(ExpectedConditions.elementToBeClickable(VERIFY_BUTTON)).click();
+            wait.clickable(VERIFY_BUTTON).click();
             TestReporter.logAction(deviceId, "Success", "Verify button clicked successfully", driver);
         } catch (Exception e) {
             TestReporter.logError(deviceId, "Failed to click Verify button", e);
@@ -7,19 +7,19 @@ import org.openqa.selenium.support.PageFactory;
 import io.appium.java_client.pagefactory.AndroidFindBy;
 import io.appium.java_client.pagefactory.AppiumFieldDecorator;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
 import org.fg.utils.TestReporter;
 import java.time.Instant;
 import org.fg.utils.AppiumUtils;
+import org.fg.utils.AdaptiveWait;
+import org.fg.utils.TestConfig;
 import com.aventstack.extentreports.Status;
 
 public class LoginScreenGetStarted {
 
     private final AndroidDriver driver;
-    private final WebDriverWait wait;
+    private final AdaptiveWait wait;
     private final String deviceId;
-    private static final int WAIT_TIMEOUT = 30;
     private static final String BASE_PATH = System.getProperty("user.dir");
     private static final String REPORTS_PATH = BASE_PATH + "/reports";
     private static final String SCREENSHOTS_PATH = REPORTS_PATH + "/screenshots";
@@ -33,7 +33,7 @@ public class LoginScreenGetStarted {
         this.deviceId = String.format("%s_%s", 
             driver.getCapabilities().getCapability("deviceName"),
             driver.getCapabilities().getCapability("platformVersion"));
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(WAIT_TIMEOUT));
+        this.wait = new AdaptiveWait(driver, TestConfig.getInstance().getWaitLong());
         PageFactory.initElements(new AppiumFieldDecorator(driver), this);
         TestReporter.logAction(deviceId, "Initialization", "LoginScreenGetStarted initialized in " + Duration.between(startTime, Instant.now()).toMillis() + "ms", driver);
     }
@@ -45,7 +45,7 @@ public class LoginScreenGetStarted {
             
             // Wait for Get Started button to be present and visible
             TestReporter.logAction(deviceId, "Wait", "Waiting for Get Started button", driver);
-            wait.until(ExpectedConditions.presenceOfElementLocated(By.id("com.paytm.paytmplay:id/root_start")));
+            wait.present(By.id("com.paytm.paytmplay:id/root_start"));
             wait.until(ExpectedConditions.visibilityOf(getStartedButton));
             
             // Log button state
@@ -2,8 +2,6 @@ package org.fg.pageObjects.android;
 
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AppiumFieldDecorator;
@@ -12,11 +10,13 @@ import io.appium.java_client.TouchAction;
 import io.appium.java_client.touch.TapOptions;
 import io.appium.java_client.touch.offset.PointOption;
 import org.fg.utils.TestReporter;
+import org.fg.utils.AdaptiveWait;
+import org.fg.utils.TestConfig;
 import java.time.Instant;
 
 public class MyBalancePage {
     private AndroidDriver driver;
-    private WebDriverWait wait;
+    private AdaptiveWait wait;
     private String deviceId;
 
     // Withdraw button locator
@@ -28,7 +28,7 @@ public class MyBalancePage {
     public MyBalancePage(AndroidDriver driver) {
         Instant startTime = Instant.now();
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new AdaptiveWait(driver, TestConfig.getInstance().getWaitMedium());
         this.deviceId = String.format("%s_%s", 
             driver.getCapabilities().getCapability("deviceName"),
             driver.getCapabilities().getCapability("platformVersion"));
@@ -75,7 +75,7 @@ public class MyBalancePage {
         TestReporter.startStep(deviceId, "Click Withdraw Button");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for withdraw button to be clickable", driver);
-            WebElement withdrawButton = wait.until(ExpectedConditions.elementToBeClickable(WITHDRAW_BUTTON));
+            WebElement withdrawButton = wait.clickable(WITHDRAW_BUTTON);
             
             TestReporter.logAction(deviceId, "Click", "Clicking withdraw button", driver);
             withdrawButton.click();
@@ -100,7 +100,7 @@ public class MyBalancePage {
         TestReporter.startStep(deviceId, "Check My Balance Page Loaded");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for withdraw button to be visible", driver);
-            WebElement withdrawButton = wait.until(ExpectedConditions.visibilityOfElementLocated(WITHDRAW_BUTTON));
+            WebElement withdrawButton = wait.visible(WITHDRAW_BUTTON);
             
             if (withdrawButton.isDisplayed()) {
                 TestReporter.logAction(deviceId, "Success", "My Balance page loaded successfully", driver);
@@ -186,7 +186,7 @@ public class MyBalancePage {
         TestReporter.startStep(deviceId, "Click Deposit Button");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for deposit button to be clickable", driver);
-            WebElement depositButton = wait.until(ExpectedConditions.elementToBeClickable(DEPOSIT_BUTTON));
+            WebElement depositButton = wait.clickable(DEPOSIT_BUTTON);
             
             TestReporter.logAction(deviceId, "Click", "Clicking deposit button", driver);
             depositButton.click();
@@ -2,16 +2,16 @@ package org.fg.pageObjects.android;
 
 import org.fg.utils.AndroidAct;
 import org.fg.utils.TestReporter;
+import org.fg.utils.AdaptiveWait;
+import org.fg.utils.TestConfig;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import io.appium.java_client.MobileBy;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AndroidFindBy;
 import io.appium.java_client.pagefactory.AppiumFieldDecorator;
-import java.time.Duration;
 
 import java.util.List;
 
@@ -19,10 +19,8 @@ public class OtpScreen {
 	
 	private final AndroidDriver driver;
 	private final String deviceId;
-	private final WebDriverWait longWait;
-	private final WebDriverWait shortWait;
-	private static final int LONG_WAIT_SECONDS = 30;
-	private static final int SHORT_WAIT_SECONDS = 10;
+	private final AdaptiveWait longWait;
+	private final AdaptiveWait shortWait;
 	
 	@AndroidFindBy(id = "com.paytm.paytmplay:id/verify_input")
     private WebElement otpField;
@@ -38,8 +36,8 @@ public class OtpScreen {
         this.deviceId = String.format("%s_%s", 
             driver.getCapabilities().getCapability("deviceName"),
             driver.getCapabilities().getCapability("platformVersion"));
-        this.longWait = new WebDriverWait(driver, Duration.ofSeconds(LONG_WAIT_SECONDS));
-        this.shortWait = new WebDriverWait(driver, Duration.ofSeconds(SHORT_WAIT_SECONDS));
+        this.longWait = new AdaptiveWait(driver, TestConfig.getInstance().getWaitLong());
+        this.shortWait = new AdaptiveWait(driver, TestConfig.getInstance().getWaitMedium());
         PageFactory.initElements(new AppiumFieldDecorator(driver), this);
         TestReporter.logPageTransition(deviceId, "LoginScreen", "OTPScreen");
         TestReporter.logAction(deviceId, "Info", "OTP Page opened", driver);
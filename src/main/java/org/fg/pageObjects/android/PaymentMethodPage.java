@@ -3,18 +3,19 @@ package org.fg.pageObjects.android;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AppiumFieldDecorator;
 import org.openqa.selenium.By;
 import org.fg.utils.TestReporter;
+import org.fg.utils.AdaptiveWait;
+import org.fg.utils.TestConfig;
 import java.time.Instant;
 import java.util.List;
 
 public class PaymentMethodPage {
     private AndroidDriver driver;
-    private WebDriverWait wait;
+    private AdaptiveWait wait;
     private String deviceId;
 
     // Locators for Payment Method page
@@ -82,7 +83,7 @@ public class PaymentMethodPage {
     public PaymentMethodPage(AndroidDriver driver) {
         Instant startTime = Instant.now();
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new AdaptiveWait(driver, TestConfig.getInstance().getWaitMedium());
         this.deviceId = String.format("%s_%s", 
             driver.getCapabilities().getCapability("deviceName"),
             driver.getCapabilities().getCapability("platformVersion"));
@@ -121,7 +122,7 @@ public class PaymentMethodPage {
             }
             
             TestReporter.logAction(deviceId, "Wait", "Waiting for payment method to be clickable", driver);
-            WebElement paymentMethodElement = wait.until(ExpectedConditions.elementToBeClickable(paymentMethodLocator));
+            WebElement paymentMethodElement = wait.clickable(paymentMethodLocator);
             
             TestReporter.logAction(deviceId, "Click", "Clicking payment method: " + paymentMethod, driver);
             paymentMethodElement.click();
@@ -143,7 +144,7 @@ public class PaymentMethodPage {
         TestReporter.startStep(deviceId, "Select Credit/Debit Card");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for credit/debit card radio button to be clickable", driver);
-            WebElement radioButton = wait.until(ExpectedConditions.elementToBeClickable(CREDIT_DEBIT_CARD_RADIO_BUTTON));
+            WebElement radioButton = wait.clickable(CREDIT_DEBIT_CARD_RADIO_BUTTON);
             
             TestReporter.logAction(deviceId, "Click", "Clicking credit/debit card radio button", driver);
             radioButton.click();
@@ -166,7 +167,7 @@ public class PaymentMethodPage {
         TestReporter.startStep(deviceId, "Verify Pay Button Clickable");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for pay button to be clickable", driver);
-            WebElement payButton = wait.until(ExpectedConditions.elementToBeClickable(PAY_BUTTON));
+            WebElement payButton = wait.clickable(PAY_BUTTON);
             
             if (payButton.isDisplayed() && payButton.isEnabled()) {
                 TestReporter.logAction(deviceId, "Success", "Pay button is clickable and ready", driver);
@@ -192,7 +193,7 @@ public class PaymentMethodPage {
         TestReporter.startStep(deviceId, "Click Proceed Button");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for proceed button to be clickable", driver);
-            WebElement proceedButton = wait.until(ExpectedConditions.elementToBeClickable(PROCEED_BUTTON));
+            WebElement proceedButton = wait.clickable(PROCEED_BUTTON);
             
             TestReporter.logAction(deviceId, "Click", "Clicking proceed button", driver);
             proceedButton.click();
@@ -218,7 +219,7 @@ public class PaymentMethodPage {
         TestReporter.startStep(deviceId, "Click Pay Now Button");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for pay now button to be clickable", driver);
-            WebElement payNowButton = wait.until(ExpectedConditions.elementToBeClickable(PAY_NOW_BUTTON));
+            WebElement payNowButton = wait.clickable(PAY_NOW_BUTTON);
             
             TestReporter.logAction(deviceId, "Click", "Clicking pay now button", driver);
             payNowButton.click();
@@ -243,7 +244,7 @@ public class PaymentMethodPage {
         TestReporter.startStep(deviceId, "Check Payment Method Page Loaded");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for UPI payment method to be visible", driver);
-            WebElement upiMethod = wait.until(ExpectedConditions.visibilityOfElementLocated(PAYMENT_METHOD_UPI));
+            WebElement upiMethod = wait.visible(PAYMENT_METHOD_UPI);
             
             if (upiMethod.isDisplayed()) {
                 TestReporter.logAction(deviceId, "Success", "Payment Method page loaded successfully", driver);
@@ -3,17 +3,16 @@ package org.fg.pageObjects.android;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AppiumFieldDecorator;
-import java.time.Duration;
 import org.fg.utils.TestReporter;
+import org.fg.utils.AdaptiveWait;
+import org.fg.utils.TestConfig;
 
 public class SettingPage {
 	
 	private final AndroidDriver driver;
-	private final WebDriverWait wait;
+	private final AdaptiveWait wait;
 	private final String deviceId;
 	
 	// Locators
@@ -26,7 +25,7 @@ public class SettingPage {
 		this.deviceId = String.format("%s_%s", 
 			driver.getCapabilities().getCapability("deviceName"),
 			driver.getCapabilities().getCapability("platformVersion"));
-		this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+		this.wait = new AdaptiveWait(driver, TestConfig.getInstance().getWaitMedium());
 		PageFactory.initElements(new AppiumFieldDecorator(driver), this);
 	}
 	
@@ -34,7 +33,7 @@ public class SettingPage {
 		TestReporter.startStep(deviceId, "Check Settings Loaded");
 		try {
 			TestReporter.logAction(deviceId, "Wait", "Waiting for logout button to be visible", driver);
-			WebElement logoutBtn = wait.until(ExpectedConditions.presenceOfElementLocated(LOGOUT_BUTTON));
+			WebElement logoutBtn = wait.present(LOGOUT_BUTTON);
 			
 			if (logoutBtn.isDisplayed()) {
 				TestReporter.logAction(deviceId, "Success", "Settings page loaded successfully", driver);
@@ -56,15 +55,15 @@ public class SettingPage {
 		try {
 			// Click logout button
 			TestReporter.logAction(deviceId, "Click", "Clicking logout button", driver);
-			wait.until(ExpectedConditions.elementToBeClickable(LOGOUT_BUTTON)).click();
+			wait.clickable(LOGOUT_BUTTON).click();
 			
 			// Click confirm logout
 			TestReporter.logAction(deviceId, "Click", "Clicking confirm logout button", driver);
-			wait.until(ExpectedConditions.elementToBeClickable(CONFIRM_LOGOUT)).click();
+			wait.clickable(CONFIRM_LOGOUT).click();
 			
 			// Wait for return to login screen
 			TestReporter.logAction(deviceId, "Wait", "Waiting for login screen to appear", driver);
-			wait.until(ExpectedConditions.presenceOfElementLocated(LOGIN_SCREEN));
+			wait.present(LOGIN_SCREEN);
 			
 			TestReporter.logAction(deviceId, "Success", "Logout completed successfully", driver);
 			return true;
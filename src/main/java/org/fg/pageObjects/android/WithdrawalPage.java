@@ -2,14 +2,17 @@ package org.fg.pageObjects.android;
 
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AppiumFieldDecorator;
 import org.openqa.selenium.By;
 import com.google.common.collect.ImmutableMap;
+import org.fg.utils.SmartWait;
+import org.fg.utils.ScreenshotPipeline;
+import org.fg.utils.ScreenshotProfile;
 import org.fg.utils.TestReporter;
+import org.fg.utils.AdaptiveWait;
+import org.fg.utils.TestConfig;
 import java.time.Instant;
 import java.io.File;
 import java.text.SimpleDateFormat;
@@ -17,7 +20,7 @@ import java.util.Date;
 
 public class WithdrawalPage {
     private AndroidDriver driver;
-    private WebDriverWait wait;
+    private AdaptiveWait wait;
     private String deviceId;
     
     // Dynamic withdrawal amount - can be easily modified
@@ -48,7 +51,7 @@ public class WithdrawalPage {
     public WithdrawalPage(AndroidDriver driver) {
         Instant startTime = Instant.now();
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new AdaptiveWait(driver, TestConfig.getInstance().getWaitMedium());
         this.deviceId = String.format("%s_%s", 
             driver.getCapabilities().getCapability("deviceName"),
             driver.getCapabilities().getCapability("platformVersion"));
@@ -74,7 +77,7 @@ public class WithdrawalPage {
             TestReporter.logAction(deviceId, "Info", "Entering withdrawal amount: ₹" + withdrawAmount, driver);
             
             TestReporter.logAction(deviceId, "Wait", "Waiting for amount field to be clickable", driver);
-            WebElement amountField = wait.until(ExpectedConditions.elementToBeClickable(AMOUNT_INPUT_FIELD));
+            WebElement amountField = wait.clickable(AMOUNT_INPUT_FIELD);
             
             TestReporter.logAction(deviceId, "Clear", "Clearing amount field", driver);
             amountField.clear();
@@ -104,7 +107,7 @@ public class WithdrawalPage {
     private void handleNumberPadOverlay() {
         TestReporter.startStep(deviceId, "Handle Number Pad Overlay");
         try {
-            Thread.sleep(1000);
+            SmartWait.await(driver, deviceId, "Number pad shown", SmartWait.keyboardShown(true), Duration.ofSeconds(1), 1000);
             
             // Strategy 1: Try to hide keyboard using driver
             try {
@@ -119,7 +122,7 @@ public class WithdrawalPage {
                     "x", 500,
                     "y", 100
                 ));
-                Thread.sleep(500);
+                SmartWait.await(driver, deviceId, "Number pad hidden", SmartWait.keyboardShown(false), Duration.ofMillis(500), 500);
             } catch (Exception e) {
                 TestReporter.logAction(deviceId, "Warning", "Could not tap outside input field: " + e.getMessage(), driver);
             }
@@ -130,7 +133,7 @@ public class WithdrawalPage {
                     "left", 100, "top", 100, "width", 600, "height", 800,
                     "direction", "down", "percent", 0.5
                 ));
-                Thread.sleep(500);
+                SmartWait.await(driver, deviceId, "Scroll settled", SmartWait.pageSourceStable(), Duration.ofMillis(500), 500);
             } catch (Exception e) {
                 TestReporter.logAction(deviceId, "Warning", "Could not scroll: " + e.getMessage(), driver);
             }
@@ -206,7 +209,7 @@ public class WithdrawalPage {
         
         // Approach 1: Direct click with wait
         try {
-            WebElement depositRadio = wait.until(ExpectedConditions.elementToBeClickable(TRANSFER_TO_DEPOSIT_RADIO));
+            WebElement depositRadio = wait.clickable(TRANSFER_TO_DEPOSIT_RADIO);
             depositRadio.click();
             depositSelected = true;
         } catch (Exception e) {
@@ -257,7 +260,7 @@ public class WithdrawalPage {
         try { Thread.sleep(2000); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
         
         // Select bank transfer option
-        WebElement bankRadio = wait.until(ExpectedConditions.elementToBeClickable(TRANSFER_TO_BANK_RADIO));
+        WebElement bankRadio = wait.clickable(TRANSFER_TO_BANK_RADIO);
         bankRadio.click();
         
         selectedTransferType = "bank";
@@ -276,7 +279,7 @@ public class WithdrawalPage {
         try { Thread.sleep(2000); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
         
         // Select UPI transfer option
-        WebElement upiRadio = wait.until(ExpectedConditions.elementToBeClickable(TRANSFER_TO_UPI_RADIO));
+        WebElement upiRadio = wait.clickable(TRANSFER_TO_UPI_RADIO);
         upiRadio.click();
         
         selectedTransferType = "upi";
@@ -296,7 +299,7 @@ public class WithdrawalPage {
             
             // Wait for the appropriate button to be clickable
             TestReporter.logAction(deviceId, "Wait", "Waiting for withdraw button to be clickable", driver);
-            WebElement withdrawButton = wait.until(ExpectedConditions.elementToBeClickable(TRANSFER_TO_DEPOSIT_BUTTON));
+            WebElement withdrawButton = wait.clickable(TRANSFER_TO_DEPOSIT_BUTTON);
             
             // Take screenshot before final withdrawal
             takeScreenshot("Before Final Withdrawal");
@@ -348,7 +351,7 @@ public class WithdrawalPage {
         TestReporter.startStep(deviceId, "Handle Deposit Confirmation Popup");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for deposit confirmation popup", driver);
-            WebElement confirmButton = wait.until(ExpectedConditions.elementToBeClickable(CONFIRM_BUTTON));
+            WebElement confirmButton = wait.clickable(CONFIRM_BUTTON);
             
             // Take screenshot of deposit confirmation popup
             takeScreenshot("Deposit Confirmation Popup");
@@ -388,7 +391,7 @@ public class WithdrawalPage {
             }
             
             // Wait for confirmation popup button
-            WebElement continueButton = wait.until(ExpectedConditions.elementToBeClickable(CONTINUE_TO_WITHDRAW_BUTTON));
+            WebElement continueButton = wait.clickable(CONTINUE_TO_WITHDRAW_BUTTON);
             
             // Take screenshot of bank/UPI confirmation popup
             takeScreenshot("Bank UPI Confirmation Popup");
@@ -421,7 +424,7 @@ public class WithdrawalPage {
         TestReporter.startStep(deviceId, "Check Withdrawal Page Loaded");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for amount input field to be visible", driver);
-            WebElement amountField = wait.until(ExpectedConditions.visibilityOfElementLocated(AMOUNT_INPUT_FIELD));
+            WebElement amountField = wait.visible(AMOUNT_INPUT_FIELD);
             
             if (amountField.isDisplayed()) {
                 TestReporter.logAction(deviceId, "Success", "Withdrawal page loaded successfully", driver);
@@ -449,20 +452,15 @@ public class WithdrawalPage {
             String timestamp = dateFormat.format(new Date());
             
             // Create descriptive filename
-            String filename = String.format("withdrawal_%s_%s_%s.png", 
+            String filename = String.format("withdrawal_%s_%s_%s", 
                 description.toLowerCase().replace(" ", "_"), 
                 selectedTransferType != null ? selectedTransferType : "unknown",
                 timestamp);
             
-            // Create screenshots directory if it doesn't exist
+            // Take screenshot; it is written to disk in the background
             File screenshotsDir = new File("test-output/screenshots/withdrawal");
-            if (!screenshotsDir.exists()) {
-                screenshotsDir.mkdirs();
-            }
-            
-            // Take screenshot
-            File screenshotFile = new File(screenshotsDir, filename);
-            driver.getScreenshotAs(org.openqa.selenium.OutputType.FILE).renameTo(screenshotFile);
+            ScreenshotPipeline.getInstance().capture(driver, deviceId, screenshotsDir, filename,
+                ScreenshotProfile.forStep(description));
             
             TestReporter.logAction(deviceId, "Screenshot", "Screenshot captured: " + filename + " - " + description, driver);
             
@@ -2,13 +2,15 @@ package org.fg.pageObjects.android;
 
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AppiumFieldDecorator;
 import org.openqa.selenium.By;
+import org.fg.utils.ScreenshotPipeline;
+import org.fg.utils.ScreenshotProfile;
 import org.fg.utils.TestReporter;
+import org.fg.utils.AdaptiveWait;
+import org.fg.utils.TestConfig;
 import java.time.Instant;
 import java.io.File;
 import java.text.SimpleDateFormat;
@@ -16,7 +18,7 @@ import java.util.Date;
 
 public class WithdrawalResultPage {
     private AndroidDriver driver;
-    private WebDriverWait wait;
+    private AdaptiveWait wait;
     private String deviceId;
     
     // Result page XPaths
@@ -36,7 +38,7 @@ public class WithdrawalResultPage {
     public WithdrawalResultPage(AndroidDriver driver) {
         Instant startTime = Instant.now();
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(30));
+        this.wait = new AdaptiveWait(driver, TestConfig.getInstance().getWaitLong());
         this.deviceId = String.format("%s_%s", 
             driver.getCapabilities().getCapability("deviceName"),
             driver.getCapabilities().getCapability("platformVersion"));
@@ -60,19 +62,14 @@ public class WithdrawalResultPage {
             String timestamp = dateFormat.format(new Date());
             
             // Create descriptive filename
-            String filename = String.format("withdrawal_result_%s_%s.png", 
+            String filename = String.format("withdrawal_result_%s_%s", 
                 description.toLowerCase().replace(" ", "_"), 
                 timestamp);
             
-            // Create screenshots directory if it doesn't exist
+            // Take screenshot; it is written to disk in the background
             File screenshotsDir = new File("test-output/screenshots/withdrawal");
-            if (!screenshotsDir.exists()) {
-                screenshotsDir.mkdirs();
-            }
-            
-            // Take screenshot
-            File screenshotFile = new File(screenshotsDir, filename);
-            driver.getScreenshotAs(org.openqa.selenium.OutputType.FILE).renameTo(screenshotFile);
+            ScreenshotPipeline.getInstance().capture(driver, deviceId, screenshotsDir, filename,
+                ScreenshotProfile.forStep(description));
             
             TestReporter.logAction(deviceId, "Screenshot", "📸 Result page screenshot captured: " + filename + " - " + description, driver);
             
@@ -90,7 +87,7 @@ public class WithdrawalResultPage {
             TestReporter.logAction(deviceId, "Wait", "Waiting for success message (allowing time for UPI/bank processing)", driver);
             
             // Wait for processing to complete and success message to appear
-            WebElement successElement = wait.until(ExpectedConditions.visibilityOfElementLocated(SUCCESS_MESSAGE));
+            WebElement successElement = wait.visible(SUCCESS_MESSAGE);
             
             if (successElement.isDisplayed()) {
                 String successText = successElement.getText();
@@ -132,7 +129,7 @@ public class WithdrawalResultPage {
             TestReporter.logAction(deviceId, "Wait", "Checking for withdrawal denied message", driver);
             
             // Check for withdraw denied title
-            WebElement deniedTitleElement = wait.until(ExpectedConditions.visibilityOfElementLocated(WITHDRAW_DENIED_TITLE));
+            WebElement deniedTitleElement = wait.visible(WITHDRAW_DENIED_TITLE);
             
             if (deniedTitleElement.isDisplayed()) {
                 String deniedTitle = deniedTitleElement.getText();
@@ -167,7 +164,7 @@ public class WithdrawalResultPage {
             TestReporter.logAction(deviceId, "Wait", "Waiting for withdrawal denied error message", driver);
             
             // Wait for error message to be visible
-            WebElement errorMessageElement = wait.until(ExpectedConditions.visibilityOfElementLocated(WITHDRAW_DENIED_MESSAGE));
+            WebElement errorMessageElement = wait.visible(WITHDRAW_DENIED_MESSAGE);
             
             if (errorMessageElement.isDisplayed()) {
                 String errorMessage = errorMessageElement.getText();
@@ -274,7 +271,7 @@ public class WithdrawalResultPage {
         TestReporter.startStep(deviceId, "Validate Success Message");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for success message", driver);
-            WebElement successElement = wait.until(ExpectedConditions.visibilityOfElementLocated(SUCCESS_MESSAGE));
+            WebElement successElement = wait.visible(SUCCESS_MESSAGE);
             
             if (successElement.isDisplayed()) {
                 String successText = successElement.getText();
@@ -299,7 +296,7 @@ public class WithdrawalResultPage {
         TestReporter.startStep(deviceId, "Validate Back Button");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for back button", driver);
-            WebElement backElement = wait.until(ExpectedConditions.visibilityOfElementLocated(BACK_BUTTON));
+            WebElement backElement = wait.visible(BACK_BUTTON);
             
             if (backElement.isDisplayed() && backElement.isEnabled()) {
                 TestReporter.logAction(deviceId, "Success", "Back button found and enabled", driver);
@@ -323,7 +320,7 @@ public class WithdrawalResultPage {
         TestReporter.startStep(deviceId, "Click Back Button");
         try {
             TestReporter.logAction(deviceId, "Wait", "Waiting for back button to be clickable", driver);
-            WebElement backButton = wait.until(ExpectedConditions.elementToBeClickable(BACK_BUTTON));
+            WebElement backButton = wait.clickable(BACK_BUTTON);
             
             TestReporter.logAction(deviceId, "Click", "Clicking back button", driver);
             backButton.click();
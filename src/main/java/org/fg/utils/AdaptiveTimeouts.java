@@ -0,0 +1,216 @@
+package org.fg.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Wait timeouts sized from history instead of fixed constants. The time each locator took to
+ * appear is recorded per device model, the most recent samples are kept across runs in
+ * test-history, and a wait for that locator gets percentile x safety factor of them, never
+ * more than the configured timeout it replaces. An element that normally shows up in 800ms
+ * then fails after a few seconds rather than the full 30. A wait that times out on a sized
+ * timeout is kept as a censored sample, so the next wait on that locator gets a longer one.
+ */
+public class AdaptiveTimeouts {
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final AdaptiveTimeouts instance = new AdaptiveTimeouts();
+
+    private final String statsFile = config.getProperty("wait.adaptive.stats.file",
+        System.getProperty("user.dir") + "/test-history/wait-timings.properties");
+    private final int window = Math.max(1, config.getIntProperty("wait.adaptive.window", 50));
+    // Replaced when the configuration is reloaded
+    private volatile Settings settings = new Settings();
+
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    private final AtomicLong adaptiveWaits = new AtomicLong();
+    private final AtomicLong fixedWaits = new AtomicLong();
+    private final AtomicLong adaptiveTimeouts = new AtomicLong();
+    private final AtomicLong shortenedMillis = new AtomicLong();
+
+    private AdaptiveTimeouts() {
+        loadStatistics();
+        config.addReloadListener(() -> settings = new Settings());
+        Runtime.getRuntime().addShutdownHook(new Thread(this::saveStatistics, "wait-timings-writer"));
+    }
+
+    /** Get singleton instance of AdaptiveTimeouts */
+    public static AdaptiveTimeouts getInstance() {
+        return instance;
+    }
+
+    /**
+     * Device model the timings are kept under: the deviceModel reported by the session,
+     * else the requested deviceName
+     */
+    public static String modelOf(WebDriver driver) {
+        if (driver instanceof HasCapabilities) {
+            Capabilities capabilities = ((HasCapabilities) driver).getCapabilities();
+            for (String name : new String[] {"deviceModel", "appium:deviceModel", "deviceName", "appium:deviceName"}) {
+                Object value = capabilities.getCapability(name);
+                if (value != null && !value.toString().trim().isEmpty()) {
+                    return value.toString().trim();
+                }
+            }
+        }
+        return "unknown";
+    }
+
+    /**
+     * Timeout for waiting on a locator: percentile x safety factor of its recorded times,
+     * clamped to [wait.adaptive.min.ms, fallback]; the fallback itself while there is too
+     * little history or adaptive timeouts are disabled
+     */
+    public Duration timeoutFor(String model, By locator, Duration fallback) {
+        Settings current = settings;
+        Samples history = samples.get(key(model, locator));
+        long[] sorted = history != null ? history.sorted() : null;
+        if (!current.enabled || sorted == null || sorted.length < current.minSamples) {
+            fixedWaits.incrementAndGet();
+            return fallback;
+        }
+        adaptiveWaits.incrementAndGet();
+        int rank = (int) Math.ceil(current.percentile / 100.0 * sorted.length);
+        long percentile = sorted[Math.min(sorted.length, Math.max(1, rank)) - 1];
+        long millis = Math.max(current.minMillis, (long) Math.ceil(percentile * current.safetyFactor));
+        // Whole 100ms steps, so waits of the same locator share a timeout
+        millis = (millis + 99) / 100 * 100;
+        return millis < fallback.toMillis() ? Duration.ofMillis(millis) : fallback;
+    }
+
+    /**
+     * Record how long a wait on a locator took.
+     * @param timeout - Timeout the wait ran with, as returned by timeoutFor
+     * @param fallback - Configured timeout it replaced
+     * @param met - Whether the element appeared; a wait that timed out on a shortened timeout
+     *              is kept as a censored sample (the element took at least the timeout), so a
+     *              locator that got slower earns a longer timeout on its next wait
+     */
+    public void record(String model, By locator, long elapsedMillis, Duration timeout, Duration fallback, boolean met) {
+        long sample = elapsedMillis;
+        if (!met) {
+            if (timeout.compareTo(fallback) >= 0) {
+                // Not there within the full timeout either; says nothing about how long it takes
+                return;
+            }
+            adaptiveTimeouts.incrementAndGet();
+            shortenedMillis.addAndGet(Math.max(0, fallback.toMillis() - elapsedMillis));
+            sample = Math.max(elapsedMillis, timeout.toMillis());
+        }
+        samples.computeIfAbsent(key(model, locator), k -> new Samples(window)).add(sample);
+        dirty = true;
+    }
+
+    /**
+     * Persist the recorded timings so the next run starts with sized timeouts
+     */
+    public synchronized void saveStatistics() {
+        if (!dirty) {
+            return;
+        }
+        File file = new File(statsFile);
+        Properties properties = new Properties();
+        samples.forEach((key, history) -> properties.setProperty(key, history.toString()));
+        try {
+            File dir = file.getAbsoluteFile().getParentFile();
+            if (dir != null) {
+                dir.mkdirs();
+            }
+            try (OutputStream out = new FileOutputStream(file)) {
+                properties.store(out, "Recent wait times in ms per device model and locator, oldest first");
+            }
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("[AdaptiveTimeouts] Failed to save wait timings: " + e.getMessage());
+        }
+    }
+
+    public String getStatistics() {
+        return String.format("Adaptive waits: %d, fixed: %d, timed out early: %d, time saved on failures: %.1fs, locators tracked: %d",
+            adaptiveWaits.get(), fixedWaits.get(), adaptiveTimeouts.get(), shortenedMillis.get() / 1000.0, samples.size());
+    }
+
+    private void loadStatistics() {
+        File file = new File(statsFile);
+        if (!file.isFile()) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+            for (String key : properties.stringPropertyNames()) {
+                Samples history = new Samples(window);
+                for (String value : properties.getProperty(key).trim().split("\\s+")) {
+                    if (!value.isEmpty()) {
+                        history.add(Long.parseLong(value));
+                    }
+                }
+                samples.put(key, history);
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("[AdaptiveTimeouts] Ignoring unreadable wait timings " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static String key(String model, By locator) {
+        return model + " | " + locator;
+    }
+
+    /** The last few wait times of one locator, as a ring buffer */
+    private static final class Samples {
+        private final long[] values;
+        private int size;
+        private int next;
+
+        Samples(int capacity) {
+            values = new long[capacity];
+        }
+
+        synchronized void add(long millis) {
+            values[next] = millis;
+            next = (next + 1) % values.length;
+            size = Math.min(size + 1, values.length);
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        @Override
+        public synchronized String toString() {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < size; i++) {
+                if (i > 0) {
+                    text.append(' ');
+                }
+                text.append(values[(next - size + i + values.length) % values.length]);
+            }
+            return text.toString();
+        }
+    }
+
+    private static final class Settings {
+        private final boolean enabled = config.getBooleanProperty("wait.adaptive.enabled", true);
+        private final double percentile = Double.parseDouble(config.getProperty("wait.adaptive.percentile", "99"));
+        private final double safetyFactor = Double.parseDouble(config.getProperty("wait.adaptive.safety.factor", "3.0"));
+        private final long minMillis = config.getLongProperty("wait.adaptive.min.ms", 2000);
+        private final int minSamples = Math.max(1, config.getIntProperty("wait.adaptive.min.samples", 20));
+    }
+}
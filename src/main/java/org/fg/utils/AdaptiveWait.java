@@ -0,0 +1,73 @@
+package org.fg.utils;
+
+import io.appium.java_client.android.AndroidDriver;
+import java.time.Duration;
+import java.util.function.Function;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+/**
+ * Drop-in for a page object's WebDriverWait. Waits on a locator get a timeout from
+ * AdaptiveTimeouts for this device model and feed the time they took back into it; waits
+ * on other conditions (page factory elements, lambdas) use the configured timeout as before.
+ * The waits themselves come from the driver's WaitFactory. Timeouts throw TimeoutException
+ * just like WebDriverWait.
+ */
+public class AdaptiveWait {
+    private static final AdaptiveTimeouts timeouts = AdaptiveTimeouts.getInstance();
+
+    private final WaitFactory waits;
+    private final String model;
+    private final Duration fallback;
+
+    /**
+     * @param fallback - Timeout used until a locator has history, and the upper bound after
+     */
+    public AdaptiveWait(AndroidDriver driver, Duration fallback) {
+        this.waits = WaitFactory.forDriver(driver);
+        this.model = AdaptiveTimeouts.modelOf(driver);
+        this.fallback = fallback;
+    }
+
+    public WebElement clickable(By locator) {
+        return until(locator, ExpectedConditions.elementToBeClickable(locator));
+    }
+
+    public WebElement visible(By locator) {
+        return until(locator, ExpectedConditions.visibilityOfElementLocated(locator));
+    }
+
+    public WebElement present(By locator) {
+        return until(locator, ExpectedConditions.presenceOfElementLocated(locator));
+    }
+
+    /**
+     * Wait for a condition on the element(s) found by the locator, sized by its history
+     */
+    public <T> T until(By locator, Function<? super WebDriver, T> condition) {
+        Duration timeout = timeouts.timeoutFor(model, locator, fallback);
+        long start = System.currentTimeMillis();
+        try {
+            T value = waits.wait(timeout).until(condition);
+            timeouts.record(model, locator, System.currentTimeMillis() - start, timeout, fallback, true);
+            return value;
+        } catch (TimeoutException e) {
+            timeouts.record(model, locator, System.currentTimeMillis() - start, timeout, fallback, false);
+            throw e;
+        }
+    }
+
+    /**
+     * Wait for a condition that is not tied to a locator, with the configured timeout
+     */
+    public <T> T until(Function<? super WebDriver, T> condition) {
+        return waits.wait(fallback).until(condition);
+    }
+
+    public Duration getFallback() {
+        return fallback;
+    }
+}
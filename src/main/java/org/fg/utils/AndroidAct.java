@@ -4,17 +4,15 @@ import io.appium.java_client.android.AndroidDriver;
 import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import java.time.Duration;
 
 public class AndroidAct {
     
     protected AndroidDriver driver;
-    protected WebDriverWait wait;
+    protected AdaptiveWait wait;
     
     public AndroidAct(AndroidDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(30));
+        this.wait = new AdaptiveWait(driver, TestConfig.getInstance().getWaitLong());
     }
 
     public void handleBannerPopup() {
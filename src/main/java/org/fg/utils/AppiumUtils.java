@@ -11,7 +11,6 @@ import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import io.appium.java_client.android.AndroidDriver;
 import org.fg.utils.TestReporter;
 
@@ -23,21 +22,16 @@ public class AppiumUtils {
 	//we can use javascript executor for going to any page by using activity name
 
 	
-	private static final int DEFAULT_WAIT_SECONDS = 30;
-	
 	public static void waitForElementToBeClickable(WebElement element, AndroidDriver driver) {
-		WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_WAIT_SECONDS));
-		wait.until(ExpectedConditions.elementToBeClickable(element));
+		WaitFactory.forDriver(driver).wait(TestConfig.getInstance().getWaitLong()).until(ExpectedConditions.elementToBeClickable(element));
 	}
 	
 	public static void waitForElementToBeVisible(WebElement element, AndroidDriver driver) {
-		WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_WAIT_SECONDS));
-		wait.until(ExpectedConditions.visibilityOf(element));
+		WaitFactory.forDriver(driver).wait(TestConfig.getInstance().getWaitLong()).until(ExpectedConditions.visibilityOf(element));
 	}
 	
 	public static void waitForElementToBePresent(WebElement element, AndroidDriver driver) {
-		WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_WAIT_SECONDS));
-		wait.until(ExpectedConditions.elementToBeClickable(element));
+		WaitFactory.forDriver(driver).wait(TestConfig.getInstance().getWaitLong()).until(ExpectedConditions.elementToBeClickable(element));
 	}
 
 	/**
@@ -76,13 +70,13 @@ public class AppiumUtils {
 			TestReporter.logAction(deviceId, "Wait", "Waiting for app to load after deep link navigation (" + timeoutSeconds + "s)", driver);
 			
 			// Wait for the app to stabilize after deep link navigation
-			Thread.sleep(timeoutSeconds * 1000);
+			boolean settled = SmartWait.await(driver, deviceId, "Screen stable after deep link",
+				SmartWait.pageSourceStable(), Duration.ofSeconds(timeoutSeconds), timeoutSeconds * 1000L);
 			
-			TestReporter.logAction(deviceId, "Success", "App load wait completed", driver);
+			TestReporter.logAction(deviceId, "Success", settled ? "App load wait completed" : "App still changing after " + timeoutSeconds + "s, continuing", driver);
 			
-		} catch (InterruptedException e) {
+		} catch (IllegalStateException e) {
 			TestReporter.logError(deviceId, "Wait interrupted: " + e.getMessage(), e);
-			Thread.currentThread().interrupt();
 		} finally {
 			TestReporter.endStep(deviceId, "Wait for App Load After Deep Link");
 		}
@@ -104,42 +98,14 @@ public class AppiumUtils {
 		return destinationFile;
 	}
 
+	/**
+	 * Capture a screenshot into the current report folder. The image is written in the
+	 * background by ScreenshotPipeline, so this returns as soon as the device has sent it.
+	 * @return path relative to the report, or null if the screenshot could not be taken
+	 */
 	public static String captureScreenshot(WebDriver driver, String deviceId, String testName) {
 		try {
-			// Get the current report path from ExtentReporterNG
-			String currentReportPath = ExtentReporterNG.getCurrentReportPath();
-			String screenshotsDir = currentReportPath + "/screenshots";
-			
-			// Create directory if it doesn't exist
-			File dir = new File(screenshotsDir);
-			if (!dir.exists()) {
-				boolean created = dir.mkdirs();
-				if (!created) {
-					System.err.println("Failed to create screenshots directory: " + screenshotsDir);
-					return null;
-				}
-			}
-
-			// Generate timestamp
-			String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-			
-			// Create screenshot file name with shorter format
-			String fileName = String.format("%s_%s.png", 
-				testName.replaceAll("[^a-zA-Z0-9.-]", "_"),
-				timestamp);
-			
-			// Take screenshot directly to target file
-			File targetFile = new File(screenshotsDir + File.separator + fileName);
-			((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE).renameTo(targetFile);
-			
-			// Verify the file was created successfully
-			if (!targetFile.exists() || targetFile.length() == 0) {
-				System.err.println("Failed to save screenshot: " + targetFile.getAbsolutePath());
-				return null;
-			}
-			
-			// Return relative path for Extent Report
-			return "./screenshots/" + fileName;
+			return ScreenshotPipeline.getInstance().capture(driver, deviceId, testName);
 		} catch (Exception e) {
 			System.err.println("Failed to capture screenshot: " + e.getMessage());
 			return null;
@@ -0,0 +1,355 @@
+package org.fg.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Builds configuration from layers, each resolved once and later layers winning:
+ * classpath resources (org/fg/resources/..., so a packaged jar works), the same files in the
+ * source tree (config.dir, default src/main/java/org/fg/resources, so edits apply without a
+ * rebuild), environment variables, then system properties. Per-device test data from
+ * multi_device_data.properties is kept as overlays applied on request.
+ *
+ * The time and number of keys of every layer are recorded. With -Dconfig.cache.dir the
+ * merged result is written there together with a fingerprint of all sources, and later JVMs
+ * with the same sources (e.g. CI agents) load that file instead of the layers.
+ */
+public class ConfigLoader {
+    public static final String RESOURCE_ROOT = "org/fg/resources/";
+    public static final String DEVICE_DATA = "multi_device_data.properties";
+
+    private static final Logger logger = Logger.getLogger(ConfigLoader.class.getName());
+    private static final String FINGERPRINT = "config.cache.fingerprint";
+    /** System properties override keys that are already configured, or keys in these namespaces */
+    private static final String[] PREFIXES = {"lt.", "appium.", "test.", "device.", "wait.", "smartwait.",
+        "screen.", "screenshot.", "report.", "logging.", "locator.", "driver.", "browser.", "config."};
+    /** multi_device_data.properties field -> configuration key */
+    private static final Map<String, String> DEVICE_FIELDS = Map.of("phone", "test.phone.number", "otp", "test.otp");
+
+    private final List<String> resources;
+    private final Map<String, String> envVars;
+    private final Path sourceDir = Paths.get(System.getProperty("config.dir",
+        Paths.get(System.getProperty("user.dir"), "src", "main", "java", "org", "fg", "resources").toString()));
+    private final String cacheDir = System.getProperty("config.cache.dir");
+
+    private final Map<String, Layer> layers = new LinkedHashMap<>();
+    private String fingerprintTime;
+    private final List<String> sources = new ArrayList<>();
+    private final List<Path> files = new ArrayList<>();
+
+    /**
+     * @param resources - Property files relative to org/fg/resources, lowest precedence first
+     * @param envVars - Configuration key -> environment variable overriding it
+     */
+    public ConfigLoader(List<String> resources, Map<String, String> envVars) {
+        this.resources = resources;
+        this.envVars = envVars;
+    }
+
+    /**
+     * Merge all layers, or read the cache file if its fingerprint still matches
+     */
+    public Properties load() {
+        if (cacheDir != null) {
+            Properties cached = readCache();
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Properties properties = new Properties();
+        for (String resource : resources) {
+            properties.putAll(classpathLayer("classpath", resource));
+        }
+        for (String resource : resources) {
+            properties.putAll(fileLayer("file", resource));
+        }
+        properties.putAll(envLayer());
+        properties.putAll(systemLayer(properties));
+        if (sources.isEmpty()) {
+            logger.warning("No configuration found for " + resources + " on the classpath or in " + sourceDir);
+        }
+        if (cacheDir != null) {
+            writeCache(properties, fingerprint(properties.stringPropertyNames()));
+        }
+        return properties;
+    }
+
+    /**
+     * Per-device test data: multi_device_data.properties keys like android_phone_1 become an
+     * overlay "android_1" setting test.phone.number
+     */
+    public Map<String, Properties> loadDeviceOverlays() {
+        Properties data = new Properties();
+        data.putAll(classpathLayer("device", DEVICE_DATA));
+        data.putAll(fileLayer("device", DEVICE_DATA));
+        Map<String, Properties> overlays = new TreeMap<>();
+        for (String key : data.stringPropertyNames()) {
+            // <platform>_<field>_<index>
+            String[] parts = key.split("_");
+            if (parts.length == 3 && DEVICE_FIELDS.containsKey(parts[1])) {
+                overlays.computeIfAbsent(parts[0] + "_" + parts[2], k -> new Properties())
+                    .setProperty(DEVICE_FIELDS.get(parts[1]), data.getProperty(key).trim());
+            }
+        }
+        return overlays;
+    }
+
+    /** Sources that were found, in load order */
+    public List<String> getSources() {
+        return Collections.unmodifiableList(sources);
+    }
+
+    /** Files in the source tree that contributed, e.g. to watch for changes */
+    public List<Path> getFiles() {
+        return Collections.unmodifiableList(files);
+    }
+
+    /**
+     * Existing source tree directories holding the resources, so new or changed files can be
+     * noticed. The environments directory is included once it exists.
+     */
+    public List<Path> getSourceDirectories() {
+        List<Path> dirs = new ArrayList<>();
+        for (String resource : resources) {
+            Path dir = sourceDir.resolve(resource).getParent();
+            if (Files.isDirectory(dir) && !dirs.contains(dir)) {
+                dirs.add(dir);
+            }
+        }
+        if (Files.isDirectory(sourceDir) && !dirs.contains(sourceDir)) {
+            dirs.add(sourceDir);
+        }
+        return dirs;
+    }
+
+    /** Time and key count per layer, e.g. "classpath 4.1ms/37 keys, file 0.9ms/37 keys, ..." */
+    public String getStatistics() {
+        List<String> parts = new ArrayList<>();
+        if (fingerprintTime != null) {
+            parts.add("fingerprint " + fingerprintTime);
+        }
+        layers.forEach((name, layer) -> parts.add(String.format("%s %.1fms/%d keys", name, layer.nanos / 1e6, layer.keys)));
+        return String.join(", ", parts);
+    }
+
+    private Properties classpathLayer(String layer, String resource) {
+        long start = System.nanoTime();
+        Properties properties = new Properties();
+        URL url = resourceUrl(resource);
+        if (url != null) {
+            try (InputStream in = url.openStream()) {
+                properties.load(in);
+                sources.add(url.toString());
+            } catch (IOException e) {
+                logger.warning("Could not read " + url + ": " + e.getMessage());
+            }
+        }
+        record(layer, start, properties.size());
+        return properties;
+    }
+
+    private Properties fileLayer(String layer, String resource) {
+        long start = System.nanoTime();
+        Properties properties = new Properties();
+        Path file = sourceDir.resolve(resource);
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+                sources.add(file.toString());
+                files.add(file);
+            } catch (IOException e) {
+                logger.warning("Could not read " + file + ": " + e.getMessage());
+            }
+        }
+        record(layer, start, properties.size());
+        return properties;
+    }
+
+    private Properties envLayer() {
+        long start = System.nanoTime();
+        Properties properties = new Properties();
+        envVars.forEach((key, envVar) -> {
+            String value = System.getenv(envVar);
+            if (value != null && !value.trim().isEmpty()) {
+                properties.setProperty(key, value.trim());
+            }
+        });
+        record("env", start, properties.size());
+        return properties;
+    }
+
+    private Properties systemLayer(Properties configured) {
+        long start = System.nanoTime();
+        Properties properties = new Properties();
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (configured.containsKey(key) || hasKnownPrefix(key)) {
+                String value = System.getProperty(key);
+                if (value != null && !value.trim().isEmpty()) {
+                    properties.setProperty(key, value.trim());
+                }
+            }
+        }
+        record("system", start, properties.size());
+        return properties;
+    }
+
+    /** Add a source's time and keys to its layer; layers read several sources */
+    private void record(String name, long startNanos, int keys) {
+        Layer layer = layers.computeIfAbsent(name, k -> new Layer());
+        layer.nanos += System.nanoTime() - startNanos;
+        layer.keys += keys;
+    }
+
+    private static boolean hasKnownPrefix(String key) {
+        for (String prefix : PREFIXES) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static URL resourceUrl(String resource) {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader == null) {
+            loader = ConfigLoader.class.getClassLoader();
+        }
+        return loader.getResource(RESOURCE_ROOT + resource);
+    }
+
+    /**
+     * Hash of everything load() reads: source locations and modification times, the mapped
+     * environment variables and the system properties the system layer picks up, i.e. the
+     * configured keys and the known namespaces. Other system properties are left out, since
+     * forked test JVMs get a new class path on every run.
+     * @param configured - Keys of the merged configuration
+     */
+    private String fingerprint(Set<String> configured) {
+        StringBuilder input = new StringBuilder();
+        for (String resource : resources) {
+            URL url = resourceUrl(resource);
+            if (url != null) {
+                input.append(url).append('@').append(stamp(fileOf(url))).append('\n');
+            }
+            Path file = sourceDir.resolve(resource);
+            if (Files.isRegularFile(file)) {
+                input.append(file).append('@').append(stamp(file)).append('\n');
+            }
+        }
+        new TreeMap<>(envVars).forEach((key, envVar) -> input.append(envVar).append('=').append(System.getenv(envVar)).append('\n'));
+        new TreeMap<>(System.getProperties()).forEach((key, value) -> {
+            if (configured.contains(key) || hasKnownPrefix(key.toString())) {
+                input.append(key).append('=').append(value).append('\n');
+            }
+        });
+        // Only detects changes, so a checksum will do; a message digest costs more than the layers
+        byte[] bytes = input.toString().getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return Long.toHexString(crc.getValue()) + "-" + bytes.length;
+    }
+
+    /**
+     * The file behind a classpath resource: the resource itself, or the jar containing it.
+     * Checked on the file system, since URLConnection.getLastModified() loads the MIME type
+     * table and takes longer than reading the layers.
+     */
+    private static Path fileOf(URL url) {
+        try {
+            String location = url.toString();
+            if ("jar".equals(url.getProtocol())) {
+                location = location.substring("jar:".length(), location.indexOf("!/"));
+            }
+            return location.startsWith("file:") ? Paths.get(new URI(location)) : null;
+        } catch (URISyntaxException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String stamp(Path file) {
+        if (file == null) {
+            return "?";
+        }
+        File f = file.toFile();
+        return f.lastModified() + "/" + f.length();
+    }
+
+    /** One cache file per set of resources, e.g. config.properties+environments_remote.properties.cache */
+    private Path cacheFile() {
+        return Paths.get(cacheDir, String.join("+", resources).replace('/', '_') + ".cache");
+    }
+
+    private Properties readCache() {
+        long start = System.nanoTime();
+        Path file = cacheFile();
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Properties cached = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            cached.load(in);
+        } catch (IOException e) {
+            logger.warning("Ignoring unreadable configuration cache " + file + ": " + e.getMessage());
+            return null;
+        }
+        Object stored = cached.remove(FINGERPRINT);
+        long fingerprintStart = System.nanoTime();
+        String fingerprint = fingerprint(cached.stringPropertyNames());
+        fingerprintTime = String.format("%.1fms", (System.nanoTime() - fingerprintStart) / 1e6);
+        if (!fingerprint.equals(stored)) {
+            return null;
+        }
+        sources.add(file.toString());
+        record("cache", start, cached.size());
+        return cached;
+    }
+
+    private void writeCache(Properties properties, String fingerprint) {
+        Path file = cacheFile().toAbsolutePath();
+        Properties cached = new Properties();
+        cached.putAll(properties);
+        cached.setProperty(FINGERPRINT, fingerprint);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            // Holds credentials from the environment; createTempFile makes it owner-only on POSIX
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                cached.store(out, "Merged configuration, regenerated when any source changes");
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.warning("Could not write configuration cache " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static final class Layer {
+        private long nanos;
+        private int keys;
+    }
+}
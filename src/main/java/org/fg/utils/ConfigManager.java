@@ -1,9 +1,19 @@
 package org.fg.utils;
 
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -11,21 +21,92 @@ import java.util.logging.Level;
  * Configuration Manager for handling all configuration properties
  * Supports loading from properties files, environment variables, and system properties
  * with proper fallback mechanisms and environment-specific configurations.
+ * Sources are layered by ConfigLoader, so the files are found on the classpath as well.
  */
 public class ConfigManager {
     private static final Logger logger = Logger.getLogger(ConfigManager.class.getName());
     private static ConfigManager instance;
-    private Properties properties;
-    private String environment;
+    // Replaced, never modified, when the configuration is reloaded
+    private volatile Snapshot snapshot;
+    private final String environment;
 
-    // Configuration file paths
-    private static final String MAIN_CONFIG_FILE = "src/main/java/org/fg/resources/config.properties";
-    private static final String LOCAL_CONFIG_FILE = "src/main/java/org/fg/resources/environments/local.properties";
-    private static final String REMOTE_CONFIG_FILE = "src/main/java/org/fg/resources/environments/remote.properties";
-    private static final String CI_CONFIG_FILE = "src/main/java/org/fg/resources/environments/ci.properties";
+    // Property files under org/fg/resources, lowest precedence first
+    private static final String MAIN_CONFIG_FILE = "config.properties";
+    private static final String LOCAL_CONFIG_FILE = "environments/local.properties";
+    private static final String REMOTE_CONFIG_FILE = "environments/remote.properties";
+    private static final String CI_CONFIG_FILE = "environments/ci.properties";
+
+    // Reads of a configuration that was being written while it was read
+    private static final int MAX_READS = 5;
+    private static final long SETTLE_MILLIS = 100;
+
+    // Configuration key -> environment variable overriding it
+    private static final Map<String, String> ENV_VARS = new LinkedHashMap<>();
+
+    static {
+        // LambdaTest credentials
+        ENV_VARS.put("lt.username", "LT_USERNAME");
+        ENV_VARS.put("lt.access.key", "LT_ACCESS_KEY");
+        ENV_VARS.put("lt.app.id", "LT_APP_ID");
+        ENV_VARS.put("lt.grid.url", "LT_GRID_URL");
+
+        // Appium configuration
+        ENV_VARS.put("appium.server.ip", "APPIUM_SERVER_IP");
+        ENV_VARS.put("appium.server.port", "APPIUM_SERVER_PORT");
+        ENV_VARS.put("appium.server.path", "APPIUM_SERVER_PATH");
+
+        // Test data
+        ENV_VARS.put("test.phone.number", "TEST_PHONE_NUMBER");
+        ENV_VARS.put("test.otp", "TEST_OTP");
+        ENV_VARS.put("test.withdraw.amount", "TEST_WITHDRAW_AMOUNT");
+
+        // Device configuration
+        ENV_VARS.put("device.platform.name", "DEVICE_PLATFORM_NAME");
+        ENV_VARS.put("device.platform.version", "DEVICE_PLATFORM_VERSION");
+        ENV_VARS.put("device.name", "DEVICE_NAME");
+        ENV_VARS.put("device.automation.name", "DEVICE_AUTOMATION_NAME");
+        ENV_VARS.put("device.app.package", "DEVICE_APP_PACKAGE");
+        ENV_VARS.put("device.app.activity", "DEVICE_APP_ACTIVITY");
+
+        // Wait configuration
+        ENV_VARS.put("wait.timeout.short", "WAIT_TIMEOUT_SHORT");
+        ENV_VARS.put("wait.timeout.medium", "WAIT_TIMEOUT_MEDIUM");
+        ENV_VARS.put("wait.timeout.long", "WAIT_TIMEOUT_LONG");
+        ENV_VARS.put("wait.timeout.very.long", "WAIT_TIMEOUT_VERY_LONG");
+
+        // Reporting configuration
+        ENV_VARS.put("report.title", "REPORT_TITLE");
+        ENV_VARS.put("report.name", "REPORT_NAME");
+        ENV_VARS.put("report.document.title", "REPORT_DOCUMENT_TITLE");
+        ENV_VARS.put("report.theme", "REPORT_THEME");
+
+        // Screenshot configuration
+        ENV_VARS.put("screenshot.on.failure", "SCREENSHOT_ON_FAILURE");
+        ENV_VARS.put("screenshot.on.success", "SCREENSHOT_ON_SUCCESS");
+        ENV_VARS.put("screenshot.path", "SCREENSHOT_PATH");
+
+        // Logging configuration
+        ENV_VARS.put("logging.level.root", "LOGGING_LEVEL_ROOT");
+        ENV_VARS.put("logging.level.org.fg", "LOGGING_LEVEL_ORG_FG");
+        ENV_VARS.put("logging.level.org.pfg", "LOGGING_LEVEL_ORG_PFG");
+        ENV_VARS.put("logging.level.org.testng", "LOGGING_LEVEL_ORG_TESTNG");
+
+        // Test execution configuration
+        ENV_VARS.put("test.parallel.enabled", "TEST_PARALLEL_ENABLED");
+        ENV_VARS.put("test.thread.count", "TEST_THREAD_COUNT");
+        ENV_VARS.put("test.retry.count", "TEST_RETRY_COUNT");
+        ENV_VARS.put("test.timeout", "TEST_TIMEOUT");
+
+        // Browser configuration
+        ENV_VARS.put("browser.name", "BROWSER_NAME");
+        ENV_VARS.put("browser.headless", "BROWSER_HEADLESS");
+        ENV_VARS.put("browser.window.size", "BROWSER_WINDOW_SIZE");
+    }
+
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
 
     private ConfigManager() {
-        properties = new Properties();
+        environment = determineEnvironment();
         loadConfiguration();
     }
 
@@ -35,36 +116,57 @@ public class ConfigManager {
     public static synchronized ConfigManager getInstance() {
         if (instance == null) {
             instance = new ConfigManager();
+            if (instance.getBooleanProperty("config.reload.enabled", false)) {
+                ConfigReloader.start(instance, instance.getSourceDirectories(),
+                    instance.getLongProperty("config.reload.debounce.ms", 500));
+            }
         }
         return instance;
     }
 
     /**
-     * Load configuration from properties files and environment variables
+     * Load configuration from the classpath, the source tree, environment variables and
+     * system properties (see ConfigLoader). The new properties, device overlays and source
+     * directories are built completely and replace the current ones as one snapshot, so
+     * readers see either the old or the new configuration. The files are read again while
+     * their sizes or modification times change during a read, so a file an editor is still
+     * writing is not taken truncated.
      */
     private void loadConfiguration() {
         try {
-            // Determine environment
-            environment = determineEnvironment();
-            logger.info("Loading configuration for environment: " + environment);
-
-            // Load main configuration file
-            loadPropertiesFile(MAIN_CONFIG_FILE, "Main configuration");
-
-            // Load environment-specific configuration file
+            List<String> resources = new ArrayList<>();
+            resources.add(MAIN_CONFIG_FILE);
             String envConfigFile = getEnvironmentConfigFile();
             if (envConfigFile != null) {
-                loadPropertiesFile(envConfigFile, "Environment-specific configuration");
+                resources.add(envConfigFile);
             }
 
-            // Override with environment variables
-            overrideWithEnvironmentVariables();
-
-            // Override with system properties
-            overrideWithSystemProperties();
+            ConfigLoader loader = new ConfigLoader(resources, ENV_VARS);
+            Map<Path, String> before = stamps(loader.getSourceDirectories());
+            Properties loaded = loader.load();
+            Map<String, Properties> deviceOverlays = loader.loadDeviceOverlays();
+            Map<Path, String> after = stamps(loader.getSourceDirectories());
+            for (int reads = 1; !after.equals(before); reads++) {
+                if (reads == MAX_READS) {
+                    throw new IllegalStateException("Configuration files still changing after " + reads + " reads");
+                }
+                Thread.sleep(SETTLE_MILLIS);
+                loader = new ConfigLoader(resources, ENV_VARS);
+                before = stamps(loader.getSourceDirectories());
+                loaded = loader.load();
+                deviceOverlays = loader.loadDeviceOverlays();
+                after = stamps(loader.getSourceDirectories());
+            }
+            snapshot = new Snapshot(loaded, deviceOverlays, loader.getSourceDirectories());
 
-            logger.info("Configuration loaded successfully. Total properties: " + properties.size());
+            logger.info("Configuration loaded for environment " + environment + ": " + loaded.size()
+                + " properties from " + loader.getSources() + " (" + loader.getStatistics() + ")");
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading configuration", e);
+        } catch (IllegalStateException e) {
+            throw e;
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Failed to load configuration", e);
             throw new RuntimeException("Failed to load configuration", e);
@@ -114,111 +216,13 @@ public class ConfigManager {
     }
 
     /**
-     * Load properties from a file
+     * Per-device test data from multi_device_data.properties, e.g. ("Android", 1) for
+     * android_phone_1 / android_otp_1
+     * @return the overriding properties, empty if there is no data for the device
      */
-    private void loadPropertiesFile(String filePath, String description) {
-        try (InputStream input = new FileInputStream(filePath)) {
-            Properties fileProperties = new Properties();
-            fileProperties.load(input);
-            
-            // Merge with existing properties (environment-specific overrides main)
-            properties.putAll(fileProperties);
-            
-            logger.info("Loaded " + fileProperties.size() + " properties from " + description + ": " + filePath);
-            
-        } catch (IOException e) {
-            logger.warning("Could not load " + description + " from " + filePath + ": " + e.getMessage());
-        }
-    }
-
-    /**
-     * Override properties with environment variables
-     */
-    private void overrideWithEnvironmentVariables() {
-        // LambdaTest credentials
-        overrideProperty("lt.username", "LT_USERNAME");
-        overrideProperty("lt.access.key", "LT_ACCESS_KEY");
-        overrideProperty("lt.app.id", "LT_APP_ID");
-        overrideProperty("lt.grid.url", "LT_GRID_URL");
-
-        // Appium configuration
-        overrideProperty("appium.server.ip", "APPIUM_SERVER_IP");
-        overrideProperty("appium.server.port", "APPIUM_SERVER_PORT");
-        overrideProperty("appium.server.path", "APPIUM_SERVER_PATH");
-
-        // Test data
-        overrideProperty("test.phone.number", "TEST_PHONE_NUMBER");
-        overrideProperty("test.otp", "TEST_OTP");
-        overrideProperty("test.withdraw.amount", "TEST_WITHDRAW_AMOUNT");
-
-        // Device configuration
-        overrideProperty("device.platform.name", "DEVICE_PLATFORM_NAME");
-        overrideProperty("device.platform.version", "DEVICE_PLATFORM_VERSION");
-        overrideProperty("device.name", "DEVICE_NAME");
-        overrideProperty("device.automation.name", "DEVICE_AUTOMATION_NAME");
-        overrideProperty("device.app.package", "DEVICE_APP_PACKAGE");
-        overrideProperty("device.app.activity", "DEVICE_APP_ACTIVITY");
-
-        // Wait configuration
-        overrideProperty("wait.timeout.short", "WAIT_TIMEOUT_SHORT");
-        overrideProperty("wait.timeout.medium", "WAIT_TIMEOUT_MEDIUM");
-        overrideProperty("wait.timeout.long", "WAIT_TIMEOUT_LONG");
-        overrideProperty("wait.timeout.very.long", "WAIT_TIMEOUT_VERY_LONG");
-
-        // Reporting configuration
-        overrideProperty("report.title", "REPORT_TITLE");
-        overrideProperty("report.name", "REPORT_NAME");
-        overrideProperty("report.document.title", "REPORT_DOCUMENT_TITLE");
-        overrideProperty("report.theme", "REPORT_THEME");
-
-        // Screenshot configuration
-        overrideProperty("screenshot.on.failure", "SCREENSHOT_ON_FAILURE");
-        overrideProperty("screenshot.on.success", "SCREENSHOT_ON_SUCCESS");
-        overrideProperty("screenshot.path", "SCREENSHOT_PATH");
-
-        // Logging configuration
-        overrideProperty("logging.level.root", "LOGGING_LEVEL_ROOT");
-        overrideProperty("logging.level.org.fg", "LOGGING_LEVEL_ORG_FG");
-        overrideProperty("logging.level.org.pfg", "LOGGING_LEVEL_ORG_PFG");
-        overrideProperty("logging.level.org.testng", "LOGGING_LEVEL_ORG_TESTNG");
-
-        // Test execution configuration
-        overrideProperty("test.parallel.enabled", "TEST_PARALLEL_ENABLED");
-        overrideProperty("test.thread.count", "TEST_THREAD_COUNT");
-        overrideProperty("test.retry.count", "TEST_RETRY_COUNT");
-        overrideProperty("test.timeout", "TEST_TIMEOUT");
-
-        // Browser configuration
-        overrideProperty("browser.name", "BROWSER_NAME");
-        overrideProperty("browser.headless", "BROWSER_HEADLESS");
-        overrideProperty("browser.window.size", "BROWSER_WINDOW_SIZE");
-
-        logger.info("Environment variables override completed");
-    }
-
-    /**
-     * Override a property with environment variable if it exists
-     */
-    private void overrideProperty(String propertyKey, String envVarName) {
-        String envValue = System.getenv(envVarName);
-        if (envValue != null && !envValue.trim().isEmpty()) {
-            properties.setProperty(propertyKey, envValue.trim());
-            logger.fine("Overridden " + propertyKey + " with environment variable " + envVarName);
-        }
-    }
-
-    /**
-     * Override properties with system properties
-     */
-    private void overrideWithSystemProperties() {
-        // System properties take highest precedence
-        for (String key : properties.stringPropertyNames()) {
-            String sysValue = System.getProperty(key);
-            if (sysValue != null && !sysValue.trim().isEmpty()) {
-                properties.setProperty(key, sysValue.trim());
-                logger.fine("Overridden " + key + " with system property");
-            }
-        }
+    public Properties getDeviceOverlay(String platformName, int index) {
+        Properties overlay = snapshot.deviceOverlays.get(platformName.toLowerCase(Locale.ROOT) + "_" + index);
+        return overlay != null ? overlay : new Properties();
     }
 
     /**
@@ -229,19 +233,12 @@ public class ConfigManager {
     }
 
     /**
-     * Get a string property value with default
+     * Get a string property value with default. Lookups do not log: most keys are optional,
+     * and the settings tests depend on are dumped once by TestConfig.
      */
     public String getProperty(String key, String defaultValue) {
-        String value = properties.getProperty(key);
-        if (value == null) {
-            logger.warning("Property not found: " + key + ". Using default: " + defaultValue);
-            return defaultValue;
-        }
-        // Add debug logging for test data properties
-        if (key.contains("test.") || key.contains("phone") || key.contains("otp")) {
-            logger.info("DEBUG: Retrieved property " + key + " = " + value);
-        }
-        return value;
+        String value = snapshot.properties.getProperty(key);
+        return value != null ? value : defaultValue;
     }
 
     /**
@@ -340,15 +337,37 @@ public class ConfigManager {
      * Get all properties as a copy
      */
     public Properties getAllProperties() {
-        return new Properties(properties);
+        return new Properties(snapshot.properties);
+    }
+
+    /**
+     * Source tree directories of the current configuration, to watch for changes
+     */
+    List<Path> getSourceDirectories() {
+        return snapshot.sourceDirectories;
     }
 
     /**
-     * Reload configuration (useful for testing)
+     * Reload configuration and notify the reload listeners. If loading fails the current
+     * configuration stays in effect.
      */
-    public void reloadConfiguration() {
-        properties.clear();
+    public synchronized void reloadConfiguration() {
         loadConfiguration();
+        for (Runnable listener : reloadListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Configuration reload listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Run listener after every reload, e.g. to rebuild settings derived from the properties.
+     * Listeners run on the reloading thread (config-reloader when watching files).
+     */
+    public void addReloadListener(Runnable listener) {
+        reloadListeners.add(listener);
     }
 
     /**
@@ -357,6 +376,7 @@ public class ConfigManager {
     public void printConfiguration() {
         logger.info("=== Current Configuration ===");
         logger.info("Environment: " + environment);
+        Properties properties = snapshot.properties;
         for (String key : properties.stringPropertyNames()) {
             // Mask sensitive information
             String value = key.contains("password") || key.contains("key") || key.contains("secret") 
@@ -366,4 +386,35 @@ public class ConfigManager {
         }
         logger.info("=== End Configuration ===");
     }
-} 
\ No newline at end of file
+
+    /**
+     * Modification time and size of the .properties files in the directories
+     */
+    private static Map<Path, String> stamps(List<Path> directories) throws IOException {
+        Map<Path, String> stamps = new TreeMap<>();
+        for (Path dir : directories) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.properties")) {
+                for (Path file : files) {
+                    File f = file.toFile();
+                    stamps.put(file, f.lastModified() + "/" + f.length());
+                }
+            }
+        }
+        return stamps;
+    }
+
+    /**
+     * One loaded configuration; never modified, replaced whole on reload
+     */
+    private static final class Snapshot {
+        private final Properties properties;
+        private final Map<String, Properties> deviceOverlays;
+        private final List<Path> sourceDirectories;
+
+        private Snapshot(Properties properties, Map<String, Properties> deviceOverlays, List<Path> sourceDirectories) {
+            this.properties = properties;
+            this.deviceOverlays = Collections.unmodifiableMap(deviceOverlays);
+            this.sourceDirectories = Collections.unmodifiableList(sourceDirectories);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.fg.utils;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches the configuration directories of the source tree (config.reload.enabled) and
+ * reloads ConfigManager when a .properties file changes, so long soak runs can tune wait
+ * timeouts, screenshot policies and log levels without restarting and losing warm sessions.
+ * Editors write files in several steps, so a reload waits until the directory has been quiet
+ * for config.reload.debounce.ms. The new configuration is built on this thread and swapped
+ * in whole; reload listeners then rebuild their settings from it. Directories the new
+ * configuration reads from (environments/, once created) are watched from then on.
+ */
+public class ConfigReloader implements Runnable {
+    private static final Logger logger = Logger.getLogger(ConfigReloader.class.getName());
+    private static volatile ConfigReloader instance;
+
+    private final ConfigManager config;
+    private final WatchService watcher;
+    private final long debounceMillis;
+    private final Set<Path> watched = new HashSet<>();
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastReloadMillis = -1;
+
+    private ConfigReloader(ConfigManager config, List<Path> directories, long debounceMillis) throws IOException {
+        this.config = config;
+        this.debounceMillis = debounceMillis;
+        this.watcher = FileSystems.getDefault().newWatchService();
+        for (Path dir : directories) {
+            watch(dir);
+        }
+    }
+
+    /**
+     * Start watching the directories on a daemon thread; later calls are ignored
+     */
+    static synchronized void start(ConfigManager config, List<Path> directories, long debounceMillis) {
+        if (instance != null) {
+            return;
+        }
+        if (directories.isEmpty()) {
+            logger.warning("Configuration reload enabled, but there is no configuration directory to watch");
+            return;
+        }
+        try {
+            instance = new ConfigReloader(config, directories, debounceMillis);
+        } catch (IOException e) {
+            logger.warning("Configuration reload disabled, cannot watch " + directories + ": " + e.getMessage());
+            return;
+        }
+        Thread thread = new Thread(instance, "config-reloader");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Watching " + directories + " for configuration changes");
+    }
+
+    /**
+     * Get singleton instance of ConfigReloader, or null if reloading is not enabled
+     */
+    public static ConfigReloader getInstance() {
+        return instance;
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                boolean changed = drain(key);
+                // Wait for the writes to settle; every further event restarts the wait
+                WatchKey next;
+                while ((next = watcher.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(next);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // stopped
+        }
+    }
+
+    /**
+     * Stop watching; the current configuration stays in effect
+     */
+    public void stop() {
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            logger.fine("Failed to close configuration watcher: " + e.getMessage());
+        }
+    }
+
+    public String getStatistics() {
+        return String.format("configuration reloads: %d, failed: %d%s", reloads.get(), failures.get(),
+            lastReloadMillis >= 0 ? ", last took " + lastReloadMillis + "ms" : "");
+    }
+
+    private void reload() {
+        long start = System.currentTimeMillis();
+        try {
+            config.reloadConfiguration();
+            reloads.incrementAndGet();
+            lastReloadMillis = System.currentTimeMillis() - start;
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            logger.log(Level.WARNING, "Configuration reload failed, keeping the current configuration", e);
+        }
+        for (Path dir : config.getSourceDirectories()) {
+            if (!watched.contains(dir)) {
+                try {
+                    watch(dir);
+                    logger.info("Watching " + dir + " for configuration changes");
+                } catch (IOException e) {
+                    logger.warning("Cannot watch " + dir + " for configuration changes: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void watch(Path dir) throws IOException {
+        dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+            StandardWatchEventKinds.ENTRY_DELETE);
+        watched.add(dir);
+    }
+
+    /**
+     * Whether the key reported a change to a .properties file or a new directory, which may
+     * hold configuration to watch; re-arms the key
+     */
+    private static boolean drain(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                || (context instanceof Path && context.toString().endsWith(".properties"))
+                || (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && context instanceof Path
+                    && Files.isDirectory(((Path) key.watchable()).resolve((Path) context)))) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
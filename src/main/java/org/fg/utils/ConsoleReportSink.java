@@ -0,0 +1,171 @@
+package org.fg.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes report events to the console in the "[time] [device] [type] message" format.
+ * Lines are built in one reused buffer: the device label is resolved once per device (except
+ * LambdaTest labels, which follow the session system properties), the "HH:mm:ss." part of
+ * the time once per second, and events below the console level (logging.level.console) are
+ * skipped before any formatting.
+ */
+public class ConsoleReportSink implements ReportSink {
+    private static final DateTimeFormatter SECOND_FORMAT =
+        DateTimeFormatter.ofPattern("HH:mm:ss.").withZone(ZoneId.systemDefault());
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final PrintStream fixedOut;
+    private volatile LogLevel threshold;
+
+    // Only used from the bus consumer thread
+    private final Map<String, String> deviceLabels = new HashMap<>();
+    private final StringBuilder line = new StringBuilder(256);
+    private char[] chars = new char[256];
+    private long cachedSecond = Long.MIN_VALUE;
+    private String secondPrefix;
+    private PrintStream out;
+    private Writer writer;
+
+    public ConsoleReportSink() {
+        this(null, configuredLevel());
+        ConfigManager.getInstance().addReloadListener(() -> threshold = configuredLevel());
+    }
+
+    private static LogLevel configuredLevel() {
+        return LogLevel.parse(ConfigManager.getInstance().getProperty("logging.level.console", "INFO"), LogLevel.INFO);
+    }
+
+    /**
+     * @param out - Stream to write to, or null to follow System.out (test runners replace it)
+     */
+    ConsoleReportSink(PrintStream out, LogLevel threshold) {
+        this.fixedOut = out;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public String getName() {
+        return "console";
+    }
+
+    @Override
+    public void accept(ReportEvent event) throws IOException {
+        if (!threshold.allows(event.getLevel())) {
+            return;
+        }
+        String sessionId = event.getSessionId();
+        switch (event.getType()) {
+            case TEST_START:
+                if (sessionId != null) {
+                    start(event, "LAMBDATEST").append("Session Started: ").append(sessionId);
+                    emit();
+                }
+                start(event, "TEST").append(event.getMessage());
+                break;
+            case STEP:
+                start(event, "STEP").append(event.getName()).append(": ").append(event.getMessage());
+                break;
+            case STEP_START:
+                start(event, "STEP").append("Starting: ").append(event.getName());
+                break;
+            case STEP_END:
+                ReportFormat.appendDuration(
+                    start(event, "STEP").append("Completed: ").append(event.getName()).append(" (Duration: "),
+                    event.getDurationMillis()).append(')');
+                break;
+            case ERROR:
+                if (sessionId != null) {
+                    start(event, "LAMBDATEST").append("Error in Session: ").append(sessionId);
+                    emit();
+                }
+                start(event, "ERROR").append(event.getMessage());
+                if (event.getError() != null) {
+                    line.append(": ").append(event.getError().getMessage());
+                }
+                break;
+            case RESULT:
+                String outcome = event.isPassed() ? "PASSED" : "FAILED";
+                if (sessionId != null) {
+                    start(event, "LAMBDATEST").append("Session ").append(sessionId).append(": ").append(outcome);
+                    emit();
+                }
+                start(event, "RESULT").append(event.getName()).append(": ").append(outcome)
+                    .append(" - ").append(event.getMessage());
+                break;
+            case PAGE_TRANSITION:
+                start(event, "NAVIGATION").append(event.getMessage());
+                break;
+            case RESET:
+                return;
+            default:
+                start(event, event.getName()).append(event.getMessage());
+                break;
+        }
+        emit();
+    }
+
+    @Override
+    public void flush() {
+        System.out.flush();
+    }
+
+    /**
+     * Reset the line buffer and write the "[time] [device] [type] " prefix
+     */
+    private StringBuilder start(ReportEvent event, String type) {
+        line.setLength(0);
+        appendTime(event.getEpochMillis());
+        String deviceId = event.getDeviceId() == null ? "" : event.getDeviceId();
+        String label = ReportFormat.isLambdaTestDevice(deviceId)
+            ? ReportFormat.formatDeviceId(deviceId, event.getSessionId())
+            : deviceLabels.computeIfAbsent(deviceId, id -> ReportFormat.formatDeviceId(id, null));
+        // Format for LambdaTest
+        if (event.getSessionId() != null) {
+            line.append("] [LambdaTest Session: ").append(event.getSessionId());
+        }
+        return line.append("] [").append(label).append("] [").append(type).append("] ");
+    }
+
+    private void appendTime(long epochMillis) {
+        long second = Math.floorDiv(epochMillis, 1000);
+        if (second != cachedSecond) {
+            secondPrefix = SECOND_FORMAT.format(Instant.ofEpochSecond(second));
+            cachedSecond = second;
+        }
+        int millis = Math.floorMod(epochMillis, 1000);
+        line.append('[').append(secondPrefix);
+        if (millis < 100) {
+            line.append('0');
+        }
+        if (millis < 10) {
+            line.append('0');
+        }
+        line.append(millis);
+    }
+
+    private void emit() throws IOException {
+        line.append(LINE_SEPARATOR);
+        PrintStream current = fixedOut != null ? fixedOut : System.out;
+        if (current != out) {
+            out = current;
+            writer = new BufferedWriter(new OutputStreamWriter(current, Charset.defaultCharset()), 8192);
+        }
+        int length = line.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        line.getChars(0, length, chars, 0);
+        writer.write(chars, 0, length);
+        writer.flush();
+    }
+}
@@ -0,0 +1,382 @@
+package org.fg.utils;
+
+import io.appium.java_client.android.AndroidDriver;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Pool of warm AndroidDriver sessions keyed by device capabilities.
+ * Creating a grid session costs 20-60s, so sessions are handed back to the pool
+ * after each test method and reused by the next checkout for the same device.
+ */
+public class DriverPool {
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final DriverPool instance = new DriverPool();
+
+    private final boolean enabled = config.getBooleanProperty("driver.pool.enabled", true);
+    private final int maxIdlePerKey = config.getIntProperty("driver.pool.max.idle", 1);
+    // Must stay below the grid idleTimeout, otherwise the session is dead when we hand it out
+    private final long maxIdleMillis = config.getLongProperty("driver.pool.max.idle.seconds", 240) * 1000;
+
+    private final Map<DriverKey, Deque<PooledDriver>> idle = new ConcurrentHashMap<>();
+    private final Map<AndroidDriver, PooledDriver> leased = new ConcurrentHashMap<>();
+    private final Map<DriverKey, Long> coldStartMillis = new ConcurrentHashMap<>();
+    private final Map<DriverKey, Deque<CompletableFuture<PooledDriver>>> pending = new ConcurrentHashMap<>();
+    private volatile ExecutorService provisioningExecutor;
+
+    private final AtomicLong warmCheckouts = new AtomicLong();
+    private final AtomicLong coldCheckouts = new AtomicLong();
+    private final AtomicLong retiredSessions = new AtomicLong();
+    private final AtomicLong savedMillis = new AtomicLong();
+    private final AtomicLong prewarmedCheckouts = new AtomicLong();
+
+    private DriverPool() {
+    }
+
+    /**
+     * Get singleton instance of DriverPool
+     */
+    public static DriverPool getInstance() {
+        return instance;
+    }
+
+    /**
+     * Check out a session for the given key. A warm session is reused when one is idle
+     * and healthy, after running the reset hook on it; otherwise the factory creates a new one.
+     */
+    public AndroidDriver checkout(DriverKey key, Callable<AndroidDriver> factory, Consumer<AndroidDriver> resetHook) throws Exception {
+        long start = System.currentTimeMillis();
+        PooledDriver pooled;
+        while ((pooled = pollIdle(key)) != null) {
+            if (!isReusable(pooled)) {
+                retire(pooled, "failed health check");
+                continue;
+            }
+            try {
+                if (resetHook != null) {
+                    resetHook.accept(pooled.driver);
+                }
+            } catch (Exception e) {
+                retire(pooled, "reset hook failed: " + e.getMessage());
+                continue;
+            }
+            pooled.checkouts++;
+            leased.put(pooled.driver, pooled);
+            long checkoutMillis = System.currentTimeMillis() - start;
+            long saved = Math.max(0, coldStartMillis.getOrDefault(key, 0L) - checkoutMillis);
+            warmCheckouts.incrementAndGet();
+            savedMillis.addAndGet(saved);
+            System.out.println(String.format("[DriverPool] Reused warm session %s for %s in %dms (saved ~%dms, checkout #%d)",
+                pooled.driver.getSessionId(), key, checkoutMillis, saved, pooled.checkouts));
+            return pooled.driver;
+        }
+
+        CompletableFuture<PooledDriver> future;
+        while ((future = pollPending(key)) != null) {
+            try {
+                pooled = future.join();
+            } catch (Exception e) {
+                System.err.println("[DriverPool] Pre-warmed session for " + key + " failed: " + e.getMessage());
+                continue;
+            }
+            // Idle since it was created; it may have passed the grid idleTimeout while waiting
+            if (!isReusable(pooled)) {
+                retire(pooled, "pre-warmed session failed health check");
+                continue;
+            }
+            pooled.checkouts++;
+            leased.put(pooled.driver, pooled);
+            long waitedMillis = System.currentTimeMillis() - start;
+            long saved = Math.max(0, pooled.createMillis - waitedMillis);
+            prewarmedCheckouts.incrementAndGet();
+            savedMillis.addAndGet(saved);
+            System.out.println(String.format("[DriverPool] Took pre-warmed session %s for %s after waiting %dms (saved ~%dms)",
+                pooled.driver.getSessionId(), key, waitedMillis, saved));
+            return pooled.driver;
+        }
+
+        AndroidDriver driver = factory.call();
+        long createMillis = System.currentTimeMillis() - start;
+        coldStartMillis.merge(key, createMillis, (previous, current) -> (previous + current) / 2);
+        coldCheckouts.incrementAndGet();
+        pooled = new PooledDriver(key, driver, createMillis);
+        pooled.checkouts++;
+        leased.put(driver, pooled);
+        System.out.println(String.format("[DriverPool] Created new session %s for %s in %dms",
+            driver.getSessionId(), key, createMillis));
+        return driver;
+    }
+
+    /**
+     * Start creating a session for the key on a background thread so that a later
+     * checkout can pick it up instead of paying the session start itself.
+     */
+    public void prewarm(DriverKey key, Callable<AndroidDriver> factory) {
+        Deque<CompletableFuture<PooledDriver>> queue = pending.computeIfAbsent(key, k -> new ArrayDeque<>());
+        // Checked and queued under one lock, so threads finishing at once start a single session
+        synchronized (queue) {
+            if (!queue.isEmpty()) {
+                return;
+            }
+            System.out.println("[DriverPool] Pre-warming session for " + key);
+            queue.add(CompletableFuture.supplyAsync(() -> {
+                long start = System.currentTimeMillis();
+                try {
+                    AndroidDriver driver = factory.call();
+                    long createMillis = System.currentTimeMillis() - start;
+                    coldStartMillis.merge(key, createMillis, (previous, current) -> (previous + current) / 2);
+                    System.out.println(String.format("[DriverPool] Pre-warmed session %s for %s ready in %dms",
+                        driver.getSessionId(), key, createMillis));
+                    return new PooledDriver(key, driver, createMillis);
+                } catch (Exception e) {
+                    throw new IllegalStateException("Failed to pre-warm session for " + key + ": " + e.getMessage(), e);
+                }
+            }, getProvisioningExecutor()));
+        }
+    }
+
+    /**
+     * Number of sessions for the key that are idle or still being created
+     */
+    public int availableCount(DriverKey key) {
+        int count = pendingCount(key);
+        Deque<PooledDriver> queue = idle.get(key);
+        if (queue != null) {
+            synchronized (queue) {
+                count += queue.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Return a session to the pool. Sessions are quit instead when pooling is disabled,
+     * the pool for the key is full, or the session is no longer healthy.
+     */
+    public void release(AndroidDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        PooledDriver pooled = leased.remove(driver);
+        if (pooled == null) {
+            quitQuietly(driver);
+            return;
+        }
+        if (!enabled) {
+            retire(pooled, "pooling disabled");
+            return;
+        }
+        if (!isHealthy(driver)) {
+            retire(pooled, "failed health check on release");
+            return;
+        }
+        Deque<PooledDriver> queue = idle.computeIfAbsent(pooled.key, k -> new ArrayDeque<>());
+        synchronized (queue) {
+            if (queue.size() < maxIdlePerKey) {
+                pooled.idleSince = System.currentTimeMillis();
+                queue.push(pooled);
+                return;
+            }
+        }
+        retire(pooled, "pool full");
+    }
+
+    /**
+     * Quit a leased session without returning it to the pool
+     */
+    public void discard(AndroidDriver driver, String reason) {
+        if (driver == null) {
+            return;
+        }
+        PooledDriver pooled = leased.remove(driver);
+        if (pooled != null) {
+            retire(pooled, reason);
+        } else {
+            quitQuietly(driver);
+        }
+    }
+
+    /**
+     * Quit all pooled and still-leased sessions and print pool statistics
+     */
+    public void shutdown() {
+        for (Deque<PooledDriver> queue : idle.values()) {
+            synchronized (queue) {
+                PooledDriver pooled;
+                while ((pooled = queue.poll()) != null) {
+                    quitQuietly(pooled.driver);
+                }
+            }
+        }
+        idle.clear();
+        for (Deque<CompletableFuture<PooledDriver>> queue : pending.values()) {
+            synchronized (queue) {
+                CompletableFuture<PooledDriver> future;
+                while ((future = queue.poll()) != null) {
+                    try {
+                        quitQuietly(future.join().driver);
+                    } catch (Exception e) {
+                        // Session was never created
+                    }
+                }
+            }
+        }
+        pending.clear();
+        if (provisioningExecutor != null) {
+            provisioningExecutor.shutdownNow();
+            provisioningExecutor = null;
+        }
+        for (AndroidDriver driver : leased.keySet()) {
+            quitQuietly(driver);
+        }
+        leased.clear();
+        System.out.println("[DriverPool] " + getStatistics());
+    }
+
+    /**
+     * Summary of checkouts and time saved by reusing sessions
+     */
+    public String getStatistics() {
+        return String.format("Warm checkouts: %d, pre-warmed checkouts: %d, cold checkouts: %d, retired: %d, time saved: %.1fs",
+            warmCheckouts.get(), prewarmedCheckouts.get(), coldCheckouts.get(), retiredSessions.get(), savedMillis.get() / 1000.0);
+    }
+
+    public long getSavedMillis() {
+        return savedMillis.get();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private PooledDriver pollIdle(DriverKey key) {
+        Deque<PooledDriver> queue = idle.get(key);
+        if (queue == null) {
+            return null;
+        }
+        synchronized (queue) {
+            return queue.poll();
+        }
+    }
+
+    private CompletableFuture<PooledDriver> pollPending(DriverKey key) {
+        Deque<CompletableFuture<PooledDriver>> queue = pending.get(key);
+        if (queue == null) {
+            return null;
+        }
+        synchronized (queue) {
+            return queue.poll();
+        }
+    }
+
+    private int pendingCount(DriverKey key) {
+        Deque<CompletableFuture<PooledDriver>> queue = pending.get(key);
+        if (queue == null) {
+            return 0;
+        }
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    private synchronized ExecutorService getProvisioningExecutor() {
+        if (provisioningExecutor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            provisioningExecutor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "session-provisioner-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return provisioningExecutor;
+    }
+
+    private boolean isReusable(PooledDriver pooled) {
+        if (System.currentTimeMillis() - pooled.idleSince > maxIdleMillis) {
+            return false;
+        }
+        return isHealthy(pooled.driver);
+    }
+
+    private boolean isHealthy(AndroidDriver driver) {
+        try {
+            return driver.getSessionId() != null && driver.getCurrentPackage() != null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void retire(PooledDriver pooled, String reason) {
+        retiredSessions.incrementAndGet();
+        System.out.println(String.format("[DriverPool] Retiring session for %s: %s", pooled.key, reason));
+        quitQuietly(pooled.driver);
+    }
+
+    private void quitQuietly(AndroidDriver driver) {
+        WaitFactory.release(driver);
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.err.println("[DriverPool] Failed to quit driver: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Capabilities that decide whether two tests can share a session
+     */
+    public static final class DriverKey {
+        private final String deviceName;
+        private final String platformVersion;
+        private final String app;
+
+        public DriverKey(String deviceName, String platformVersion, String app) {
+            this.deviceName = deviceName;
+            this.platformVersion = platformVersion;
+            this.app = app;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DriverKey)) return false;
+            DriverKey other = (DriverKey) o;
+            return Objects.equals(deviceName, other.deviceName)
+                && Objects.equals(platformVersion, other.platformVersion)
+                && Objects.equals(app, other.app);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(deviceName, platformVersion, app);
+        }
+
+        @Override
+        public String toString() {
+            return deviceName + " (Android " + platformVersion + ")";
+        }
+    }
+
+    private static final class PooledDriver {
+        private final DriverKey key;
+        private final AndroidDriver driver;
+        private final long createMillis;
+        private long idleSince = System.currentTimeMillis();
+        private int checkouts;
+
+        private PooledDriver(DriverKey key, AndroidDriver driver, long createMillis) {
+            this.key = key;
+            this.driver = driver;
+            this.createMillis = createMillis;
+        }
+    }
+}
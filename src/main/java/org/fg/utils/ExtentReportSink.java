@@ -0,0 +1,258 @@
+package org.fg.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.ExtentColor;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.model.Test;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.configuration.Theme;
+import com.aventstack.extentreports.reporter.configuration.ViewName;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the Extent report from report events: one Extent test per ReportContext, started by
+ * TEST_START. Steps become nested nodes, so actions, errors and page transitions land under
+ * the step they happened in; parallel tests on different devices (or threads) each keep their
+ * own node tree. Only the node stacks of the most recently started tests are kept
+ * (report.extent.open.tests); events for an evicted test are dropped. Events that arrive
+ * before their context's TEST_START (setUp logs before the listener starts the test) are
+ * held, up to report.extent.pending.events per context, and replayed once it starts.
+ */
+public class ExtentReportSink implements ReportSink {
+    private static final int MAX_OPEN_TESTS = Math.max(1,
+        ConfigManager.getInstance().getIntProperty("report.extent.open.tests", 32));
+    private static final int MAX_PENDING_EVENTS = Math.max(0,
+        ConfigManager.getInstance().getIntProperty("report.extent.pending.events", 200));
+
+    private final ExtentReports extent;
+    // Only used from the bus consumer thread
+    private final Map<Long, Deque<Node>> nodes = new LinkedHashMap<Long, Deque<Node>>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Deque<Node>> eldest) {
+            return size() > MAX_OPEN_TESTS;
+        }
+    };
+    // Events of contexts whose TEST_START has not arrived yet; only used from the bus consumer thread
+    private final Map<Long, List<ReportEvent>> pending = new LinkedHashMap<Long, List<ReportEvent>>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, List<ReportEvent>> eldest) {
+            return size() > MAX_OPEN_TESTS;
+        }
+    };
+    private final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+
+    public ExtentReportSink(ExtentReports extent) {
+        this.extent = extent;
+    }
+
+    /**
+     * Spark reporter with the project's look, used for the live report and by ReportRegenerator
+     */
+    static ExtentSparkReporter createSparkReporter(String reportFile) {
+        ExtentSparkReporter reporter = new ExtentSparkReporter(reportFile);
+
+        // Configure reporter
+        reporter.config().setReportName("Paytm First Games - Test Automation Report");
+        reporter.config().setDocumentTitle("Test Results");
+        reporter.config().setTheme(Theme.DARK);
+        reporter.config().setTimeStampFormat("MMM dd, yyyy HH:mm:ss");
+        reporter.config().setCss(".badge-primary { background-color: #7045af; }");
+        reporter.config().setJs("document.getElementsByClassName('logo')[0].style.display='none';");
+        
+        // Configure screenshot handling
+        reporter.config().setOfflineMode(true);
+        reporter.config().setTimelineEnabled(true);
+        reporter.config().setResourceCDN("https://cdn.jsdelivr.net/gh/extent-framework/extent-github-cdn@b00a2d0486596e73dd7326beacf352c639623a0e/");
+
+        // Set view order
+        reporter.viewConfigurer()
+            .viewOrder()
+            .as(new ViewName[] {
+                ViewName.DASHBOARD,
+                ViewName.TEST,
+                ViewName.EXCEPTION
+            });
+        return reporter;
+    }
+
+    static void addSystemInfo(ExtentReports extent) {
+        // Set base path for screenshots to be relative to the report
+        extent.setSystemInfo("Screenshots Directory", "screenshots");
+
+        // Add system info
+        extent.setSystemInfo("Project", "Paytm First Games");
+        extent.setSystemInfo("Environment", System.getProperty("test.environment", "QA"));
+        extent.setSystemInfo("Platform", "Android");
+        extent.setSystemInfo("Java Version", System.getProperty("java.version"));
+        extent.setSystemInfo("OS", System.getProperty("os.name") + " " + System.getProperty("os.version"));
+        extent.setSystemInfo("Appium Version", "2.0");
+        extent.setSystemInfo("Report Generated", new SimpleDateFormat("dd MMM yyyy, HH:mm:ss").format(new Date()));
+        extent.setSystemInfo("Working Directory", System.getProperty("user.dir"));
+    }
+
+    @Override
+    public String getName() {
+        return "extent";
+    }
+
+    @Override
+    public void accept(ReportEvent event) {
+        if (event.getType() == ReportEvent.Type.TEST_START) {
+            ExtentTest test = extent.createTest(event.getName());
+            test.assignCategory("Android");
+            test.assignDevice(ReportFormat.formatDeviceId(event.getDeviceId(), event.getSessionId()));
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(new Node(event.getName(), test));
+            nodes.put(event.getContextId(), stack);
+            stamp(test, event);
+            List<ReportEvent> early = pending.remove(event.getContextId());
+            if (early != null) {
+                early.forEach(this::accept);
+            }
+            return;
+        }
+        if (event.getType() == ReportEvent.Type.RESET) {
+            nodes.clear();
+            pending.clear();
+            return;
+        }
+
+        Deque<Node> stack = nodes.get(event.getContextId());
+        if (stack == null) {
+            List<ReportEvent> early = pending.computeIfAbsent(event.getContextId(), k -> new ArrayList<>());
+            if (early.size() < MAX_PENDING_EVENTS) {
+                early.add(event);
+            }
+            return;
+        }
+        ExtentTest current = stack.peek().test;
+        ExtentTest changed = current;
+        switch (event.getType()) {
+            case STEP:
+                current.log(Status.INFO, MarkupHelper.createLabel(
+                    String.format("%s: %s", event.getName(), event.getMessage()), ExtentColor.BLUE));
+                break;
+            case STEP_START:
+                changed = current.createNode(event.getName());
+                stack.push(new Node(event.getName(), changed));
+                break;
+            case STEP_END:
+                changed = endStep(stack, event);
+                break;
+            case ACTION:
+                changed = logAction(current, event);
+                break;
+            case ERROR:
+                current.log(Status.FAIL, MarkupHelper.createLabel(event.getMessage(), ExtentColor.RED));
+                if (event.getError() != null) {
+                    current.log(Status.FAIL, event.getError());
+                }
+                break;
+            case RESULT:
+                // Results belong to the test itself, whatever step is still open
+                changed = stack.peekLast().test;
+                changed.log(event.isPassed() ? Status.PASS : Status.FAIL, event.getMessage());
+                break;
+            case PAGE_TRANSITION:
+                current.log(Status.INFO, MarkupHelper.createLabel(event.getMessage(), ExtentColor.PURPLE));
+                break;
+            default:
+                break;
+        }
+        if (changed != null) {
+            stamp(changed, event);
+        }
+    }
+
+    @Override
+    public void flush() {
+        extent.flush();
+    }
+
+    private ExtentTest logAction(ExtentTest test, ReportEvent event) {
+        ExtentTest actionNode = test.createNode(event.getName());
+        String timestamp = timeFormat.format(new Date(event.getEpochMillis()));
+        // Even ERROR actions are only warnings here: whether the test failed is up to its result
+        Status status = event.getLevel().ordinal() >= LogLevel.WARN.ordinal() ? Status.WARNING : Status.INFO;
+        actionNode.log(status, MarkupHelper.createLabel(
+            String.format("[%s] %s: %s", timestamp, event.getName(), event.getMessage()), ExtentColor.BLUE));
+        if (event.getScreenshotPath() != null) {
+            attachScreenshot(actionNode, event.getScreenshotPath());
+        }
+        return actionNode;
+    }
+
+    /**
+     * Close the innermost node of the step, and any nodes left open inside it
+     */
+    private static ExtentTest endStep(Deque<Node> stack, ReportEvent event) {
+        boolean open = false;
+        for (Node node : stack) {
+            if (node != stack.peekLast() && node.name.equals(event.getName())) {
+                open = true;
+                break;
+            }
+        }
+        if (!open) {
+            return null;
+        }
+        Node node;
+        do {
+            node = stack.pop();
+        } while (!node.name.equals(event.getName()));
+        node.test.log(Status.INFO, MarkupHelper.createLabel(
+            String.format("Completed step: %s (Duration: %s)", event.getName(),
+                ReportFormat.formatDuration(event.getDurationMillis())), ExtentColor.GREEN));
+        return node.test;
+    }
+
+    /**
+     * Date the node's new logs, and its start and end times up the tree, with the time of the
+     * event instead of the time the sink processed it. This keeps durations right when the
+     * report is rebuilt from an event log after the run.
+     */
+    private static void stamp(ExtentTest node, ReportEvent event) {
+        Date time = new Date(event.getEpochMillis());
+        List<Log> logs = node.getModel().getLogs();
+        for (int i = logs.size() - 1; i >= 0 && logs.get(i).getTimestamp().after(time); i--) {
+            logs.get(i).setTimestamp(time);
+        }
+        for (Test test = node.getModel(); test != null; test = test.getParent()) {
+            if (test.getStartTime().after(time)) {
+                test.setStartTime(time);
+            }
+            test.setEndTime(time);
+        }
+    }
+
+    private static void attachScreenshot(ExtentTest node, String screenshotPath) {
+        String fullSizePath = ScreenshotProfile.fullSizePathFor(screenshotPath);
+        if (fullSizePath == null) {
+            node.addScreenCaptureFromPath(screenshotPath);
+            return;
+        }
+        // Thumbnail profile: small inline image, full-resolution PNG on click
+        node.info(String.format("<a href='%s' target='_blank'><img src='%s' style='max-width:240px'/></a>",
+            fullSizePath, screenshotPath));
+    }
+
+    private static final class Node {
+        private final String name;
+        private final ExtentTest test;
+
+        private Node(String name, ExtentTest test) {
+            this.name = name;
+            this.test = test;
+        }
+    }
+}
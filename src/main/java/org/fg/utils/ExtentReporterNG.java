@@ -2,17 +2,17 @@ package org.fg.utils;
 
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
-import com.aventstack.extentreports.reporter.configuration.Theme;
-import com.aventstack.extentreports.reporter.configuration.ViewName;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.io.File;
 import java.nio.file.*;
 import java.io.IOException;
 import java.util.stream.Stream;
-import java.nio.file.FileVisitResult;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
 
 public class ExtentReporterNG {
     private static ExtentReports extent;
@@ -25,8 +25,8 @@ public class ExtentReporterNG {
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy.MM.dd.HH.mm.ss");
     private static final SimpleDateFormat DATE_FOLDER_FORMAT = new SimpleDateFormat("yyyy-MM-dd");
     private static final SimpleDateFormat HOUR_FOLDER_FORMAT = new SimpleDateFormat("HH");
-    private static final long MAX_REPORT_AGE_HOURS = 48; // Keep reports for 48 hours
-    private static final long MAX_SCREENSHOT_AGE_DAYS = 7;
+    private static final String ARCHIVE_INDEX = "index.tsv";
+    private static final RetentionManager retention = new RetentionManager(Paths.get(ARCHIVE_PATH));
     private static String currentReportPath;
     private static boolean directoriesCreated = false;
 
@@ -70,7 +70,7 @@ public class ExtentReporterNG {
                 dir.setWritable(true, false);
             }
 
-            // Move old reports to old_reports directory if they exist
+            // Move old reports to old_reports directory if they exist (in the background)
             moveOldReports();
 
             directoriesCreated = true;
@@ -82,69 +82,77 @@ public class ExtentReporterNG {
         }
     }
 
+    /**
+     * Archive the previous runs' screenshots and logs on a background thread, so startup does
+     * not wait for it
+     */
     private static void moveOldReports() {
-        try {
-            // Move old reports to old_reports directory
-            Path oldReportsPath = Paths.get(OLD_REPORTS_PATH);
-            if (!Files.exists(oldReportsPath)) {
-                Files.createDirectories(oldReportsPath);
-            }
-
-            // Move old screenshots with device-specific organization
-            Path oldScreenshotsPath = Paths.get(SCREENSHOTS_PATH);
-            if (Files.exists(oldScreenshotsPath)) {
-                Path newScreenshotsPath = oldReportsPath.resolve("screenshots");
-                if (!Files.exists(newScreenshotsPath)) {
-                    Files.createDirectories(newScreenshotsPath);
-                }
+        Thread archiver = new Thread(ExtentReporterNG::archiveOldReports, "report-archiver");
+        archiver.start();
+    }
 
-                // Group screenshots by device
-                Files.walk(oldScreenshotsPath)
-                    .filter(Files::isRegularFile)
-                    .forEach(path -> {
-                        try {
-                            String fileName = path.getFileName().toString();
-                            // Extract device name from filename
-                            String deviceName = fileName.split("_")[0];
-                            Path devicePath = newScreenshotsPath.resolve(deviceName);
-                            if (!Files.exists(devicePath)) {
-                                Files.createDirectories(devicePath);
-                            }
-                            // Copy instead of move to preserve original paths
-                            Files.copy(path, devicePath.resolve(fileName),
-                                StandardCopyOption.REPLACE_EXISTING);
-                        } catch (IOException e) {
-                            System.err.println("Failed to copy old screenshot: " + path);
-                        }
-                    });
+    /**
+     * Each non-empty directory is renamed into old_reports as one batch and recreated empty;
+     * only the files of the new batch are listed in old_reports/index.tsv, so the cost does
+     * not grow with the history.
+     */
+    private static void archiveOldReports() {
+        String batch = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy.MM.dd.HH.mm.ss.SSS"));
+        Path oldReportsPath = Paths.get(OLD_REPORTS_PATH);
+        try {
+            Path screenshots = archiveDirectory(Paths.get(SCREENSHOTS_PATH), oldReportsPath.resolve("screenshots").resolve(batch));
+            Path logs = archiveDirectory(Paths.get(LOGS_PATH), oldReportsPath.resolve("logs").resolve(batch));
+            if (screenshots == null && logs == null) {
+                return;
             }
+            List<String> lines = new ArrayList<>();
+            indexBatch(screenshots, batch, "screenshots", lines);
+            indexBatch(logs, batch, "logs", lines);
+            Files.write(oldReportsPath.resolve(ARCHIVE_INDEX), lines, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            System.out.println("Old reports archived in: " + oldReportsPath + " (batch " + batch + ", " + lines.size() + " files)");
+        } catch (IOException e) {
+            System.err.println("Failed to archive old reports: " + e.getMessage());
+        }
+    }
 
-            // Move old logs
-            Path oldLogsPath = Paths.get(LOGS_PATH);
-            if (Files.exists(oldLogsPath)) {
-                Path newLogsPath = oldReportsPath.resolve("logs");
-                if (!Files.exists(newLogsPath)) {
-                    Files.createDirectories(newLogsPath);
-                }
-                Files.walk(oldLogsPath)
-                    .filter(Files::isRegularFile)
-                    .forEach(path -> {
-                        try {
-                            Files.copy(path, newLogsPath.resolve(path.getFileName()),
-                                StandardCopyOption.REPLACE_EXISTING);
-                        } catch (IOException e) {
-                            System.err.println("Failed to copy old log: " + path);
-                        }
-                    });
+    /**
+     * Rename source to target and recreate source empty.
+     * @return the archived directory, or null if source was empty
+     */
+    private static Path archiveDirectory(Path source, Path target) throws IOException {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(source)) {
+            if (!entries.iterator().hasNext()) {
+                return null;
             }
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target);
+        }
+        Files.createDirectories(source);
+        return target;
+    }
 
-            System.out.println("Old reports preserved in: " + oldReportsPath);
-        } catch (IOException e) {
-            System.err.println("Failed to preserve old reports: " + e.getMessage());
+    /** Index lines: batch, kind, device (screenshot file name prefix) and path relative to old_reports */
+    private static void indexBatch(Path dir, String batch, String kind, List<String> lines) throws IOException {
+        if (dir == null) {
+            return;
+        }
+        Path oldReportsPath = Paths.get(OLD_REPORTS_PATH);
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.filter(Files::isRegularFile).forEach(path -> {
+                String fileName = path.getFileName().toString();
+                String device = "screenshots".equals(kind) ? fileName.split("_")[0] : "-";
+                lines.add(String.join("\t", batch, kind, device,
+                    oldReportsPath.relativize(path).toString()));
+            });
         }
     }
 
-    public static ExtentReports getReporterObject() {
+    public static synchronized ExtentReports getReporterObject() {
         if (extent == null) {
             // Generate timestamped report path with date and hour folders
             String timestamp = DATE_FORMAT.format(new Date());
@@ -162,20 +170,7 @@ public class ExtentReporterNG {
             }
 
             String reportFile = currentReportPath + "/index.html";
-            ExtentSparkReporter reporter = new ExtentSparkReporter(reportFile);
-
-            // Configure reporter
-            reporter.config().setReportName("Paytm First Games - Test Automation Report");
-            reporter.config().setDocumentTitle("Test Results");
-            reporter.config().setTheme(Theme.DARK);
-            reporter.config().setTimeStampFormat("MMM dd, yyyy HH:mm:ss");
-            reporter.config().setCss(".badge-primary { background-color: #7045af; }");
-            reporter.config().setJs("document.getElementsByClassName('logo')[0].style.display='none';");
-            
-            // Configure screenshot handling
-            reporter.config().setOfflineMode(true);
-            reporter.config().setTimelineEnabled(true);
-            reporter.config().setResourceCDN("https://cdn.jsdelivr.net/gh/extent-framework/extent-github-cdn@b00a2d0486596e73dd7326beacf352c639623a0e/");
+            ExtentSparkReporter reporter = ExtentReportSink.createSparkReporter(reportFile);
             
             // Create screenshots directory in report folder
             String screenshotsDir = currentReportPath + "/screenshots";
@@ -184,28 +179,7 @@ public class ExtentReporterNG {
             // Initialize extent reports
             extent = new ExtentReports();
             extent.attachReporter(reporter);
-            
-            // Set base path for screenshots to be relative to the report
-            extent.setSystemInfo("Screenshots Directory", "screenshots");
-            
-            // Set view order
-            reporter.viewConfigurer()
-                .viewOrder()
-                .as(new ViewName[] {
-                    ViewName.DASHBOARD,
-                    ViewName.TEST,
-                    ViewName.EXCEPTION
-                });
-
-            // Add system info
-            extent.setSystemInfo("Project", "Paytm First Games");
-            extent.setSystemInfo("Environment", System.getProperty("test.environment", "QA"));
-            extent.setSystemInfo("Platform", "Android");
-            extent.setSystemInfo("Java Version", System.getProperty("java.version"));
-            extent.setSystemInfo("OS", System.getProperty("os.name") + " " + System.getProperty("os.version"));
-            extent.setSystemInfo("Appium Version", "2.0");
-            extent.setSystemInfo("Report Generated", new SimpleDateFormat("dd MMM yyyy, HH:mm:ss").format(new Date()));
-            extent.setSystemInfo("Working Directory", System.getProperty("user.dir"));
+            ExtentReportSink.addSystemInfo(extent);
 
             // Create a symbolic link to the latest report
             try {
@@ -234,76 +208,22 @@ public class ExtentReporterNG {
         return currentReportPath;
     }
 
+    /**
+     * Apply the retention policies to the archive in the background, keeping the current run
+     */
     private static void cleanupOldReports() {
-        try {
-            Path archivePath = Paths.get(ARCHIVE_PATH);
-            if (!Files.exists(archivePath)) {
-                return;
-            }
-
-            // Calculate cutoff time (48 hours ago)
-            long cutoffTime = System.currentTimeMillis() - (MAX_REPORT_AGE_HOURS * 60 * 60 * 1000);
-
-            // Walk through the archive directory
-            Files.walk(archivePath)
-                .filter(Files::isDirectory)
-                .filter(path -> {
-                    try {
-                        return Files.getLastModifiedTime(path).toMillis() < cutoffTime;
-                    } catch (IOException e) {
-                        return false;
-                    }
-                })
-                .forEach(path -> {
-                    try {
-                        Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
-                            @Override
-                            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                                Files.delete(file);
-                                return FileVisitResult.CONTINUE;
-                            }
-
-                            @Override
-                            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
-                                Files.delete(dir);
-                                return FileVisitResult.CONTINUE;
-                            }
-                        });
-                    } catch (IOException e) {
-                        System.err.println("Failed to delete old report: " + path);
-                    }
-                });
-        } catch (IOException e) {
-            System.err.println("Failed to cleanup old reports: " + e.getMessage());
-        }
-    }
-
-    private static void cleanupOldScreenshots() {
-        try (Stream<Path> paths = Files.list(Paths.get(SCREENSHOTS_PATH))) {
-            paths.filter(path -> {
-                try {
-                    // Delete screenshots older than MAX_SCREENSHOT_AGE_DAYS
-                    return Files.getLastModifiedTime(path).toMillis() <
-                           System.currentTimeMillis() - (MAX_SCREENSHOT_AGE_DAYS * 24 * 60 * 60 * 1000);
-                } catch (IOException e) {
-                    return false;
-                }
-            }).forEach(path -> {
-                try {
-                    Files.delete(path);
-                    System.out.println("Deleted old screenshot: " + path);
-                } catch (IOException e) {
-                    System.err.println("Failed to delete screenshot: " + path);
-                }
-            });
-        } catch (IOException e) {
-            System.err.println("Failed to cleanup old screenshots: " + e.getMessage());
-        }
+        Path runDir = Paths.get(currentReportPath);
+        retention.registerRun(runDir);
+        Thread cleaner = new Thread(() -> System.out.println(retention.apply(runDir)), "report-retention");
+        cleaner.setDaemon(true);
+        cleaner.start();
     }
 
     public static void flushReport() {
         if (extent != null) {
-            extent.flush();
+            // The Extent sink owns the report; flush through the event bus
+            TestReporter.saveReports();
+            retention.completeRun(Paths.get(currentReportPath));
             System.out.println("\n===============================================");
             System.out.println("Test Report has been generated at:");
             System.out.println("file://" + new File(currentReportPath + "/index.html").getAbsolutePath());
@@ -0,0 +1,133 @@
+package org.fg.utils;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes every report event as one JSON object per line (events.jsonl next to the HTML
+ * report). Lines are encoded into a reused buffer and written to a FileChannel in large
+ * chunks; the file is complete up to the last flush, so runs can be analysed offline without
+ * scraping the HTML.
+ */
+public class JsonlReportSink implements ReportSink {
+    public static final String FILE_NAME = "events.jsonl";
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    // Only used from the bus consumer thread
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream(512);
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public JsonlReportSink(Path file, int bufferSize) throws IOException {
+        this.file = file;
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.buffer = ByteBuffer.allocateDirect(Math.max(4096, bufferSize));
+    }
+
+    @Override
+    public String getName() {
+        return "jsonl";
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void accept(ReportEvent event) throws IOException {
+        line.reset();
+        try (JsonGenerator json = jsonFactory.createGenerator(line, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeStringField("type", event.getType().name());
+            json.writeStringField("level", event.getLevel().name());
+            json.writeNumberField("epochMillis", event.getEpochMillis());
+            json.writeNumberField("nanoTime", event.getNanoTime());
+            json.writeStringField("thread", event.getThreadName());
+            if (event.getContextId() != 0) {
+                json.writeNumberField("context", event.getContextId());
+                json.writeNumberField("depth", event.getDepth());
+            }
+            writeOptional(json, "device", event.getDeviceId());
+            writeOptional(json, "session", event.getSessionId());
+            writeOptional(json, "name", event.getName());
+            writeOptional(json, "message", event.getMessage());
+            writeOptional(json, "screenshot", event.getScreenshotPath());
+            if (event.getDurationMillis() >= 0) {
+                json.writeNumberField("durationMillis", event.getDurationMillis());
+            }
+            if (event.getType() == ReportEvent.Type.RESULT) {
+                json.writeBooleanField("passed", event.isPassed());
+            }
+            if (event.getError() != null) {
+                json.writeStringField("errorClass", event.getError().getClass().getName());
+                writeOptional(json, "errorMessage", event.getError().getMessage());
+                json.writeStringField("stackTrace", stackTrace(event.getError()));
+            }
+            json.writeEndObject();
+        }
+        line.write('\n');
+        append(line.toByteArray());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel.isOpen()) {
+            try {
+                drain();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private void append(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.remaining()) {
+            drain();
+        }
+        if (bytes.length > buffer.capacity()) {
+            ByteBuffer large = ByteBuffer.wrap(bytes);
+            while (large.hasRemaining()) {
+                channel.write(large);
+            }
+            return;
+        }
+        buffer.put(bytes);
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void writeOptional(JsonGenerator json, String field, String value) throws IOException {
+        if (value != null) {
+            json.writeStringField(field, value);
+        }
+    }
+
+    private static String stackTrace(Throwable error) {
+        StringWriter writer = new StringWriter();
+        error.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+}
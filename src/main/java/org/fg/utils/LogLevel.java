@@ -0,0 +1,57 @@
+package org.fg.utils;
+
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Severity of report output, lowest first. A threshold lets through its own level and above.
+ */
+public enum LogLevel {
+    TRACE,
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    /** Threshold only: nothing is logged */
+    OFF;
+
+    /** Whether output at the given level passes this threshold */
+    public boolean allows(LogLevel level) {
+        return level.ordinal() >= ordinal();
+    }
+
+    /**
+     * Threshold configured for a logger name: logging.level.<name>, else the nearest configured
+     * parent (logging.level.org.fg for org.fg.report), else logging.level.root
+     */
+    public static LogLevel forLogger(String name, LogLevel defaultLevel) {
+        Properties properties = ConfigManager.getInstance().getAllProperties();
+        for (String prefix = name; !prefix.isEmpty(); ) {
+            String value = properties.getProperty("logging.level." + prefix);
+            if (value != null) {
+                return parse(value, defaultLevel);
+            }
+            int dot = prefix.lastIndexOf('.');
+            prefix = dot < 0 ? "" : prefix.substring(0, dot);
+        }
+        return parse(properties.getProperty("logging.level.root"), defaultLevel);
+    }
+
+    /**
+     * Parse a configured level name (case-insensitive, WARNING accepted for WARN)
+     */
+    public static LogLevel parse(String value, LogLevel defaultLevel) {
+        if (value == null || value.trim().isEmpty()) {
+            return defaultLevel;
+        }
+        String name = value.trim().toUpperCase(Locale.ROOT);
+        if ("WARNING".equals(name)) {
+            return WARN;
+        }
+        try {
+            return valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return defaultLevel;
+        }
+    }
+}
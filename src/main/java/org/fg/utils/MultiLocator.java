@@ -0,0 +1,221 @@
+package org.fg.utils;
+
+import io.appium.java_client.android.AndroidDriver;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * A set of alternative locators for the same element. All alternatives are checked in a
+ * single polling loop - one combined XPath query per poll instead of a full wait per
+ * alternative - and the alternative that matched is recorded, so the locator that wins
+ * most often is tried first in later runs.
+ */
+public class MultiLocator {
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final String STATS_FILE = config.getProperty("locator.stats.file",
+        System.getProperty("user.dir") + "/test-history/locator-stats.properties");
+
+    private static final Map<String, AtomicLong> hits = new ConcurrentHashMap<>();
+    private static volatile boolean dirty;
+
+    static {
+        loadStatistics();
+        Runtime.getRuntime().addShutdownHook(new Thread(MultiLocator::saveStatistics, "locator-stats-writer"));
+    }
+
+    private final String name;
+    private final List<By> alternatives;
+    private final By combined;
+
+    public MultiLocator(String name, By... alternatives) {
+        if (alternatives.length == 0) {
+            throw new IllegalArgumentException("MultiLocator '" + name + "' needs at least one locator");
+        }
+        this.name = name;
+        this.alternatives = Collections.unmodifiableList(Arrays.asList(alternatives));
+        this.combined = combine(alternatives);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Alternatives ordered by how often they matched in this and previous runs
+     */
+    public List<By> getAlternatives() {
+        List<By> ordered = new ArrayList<>(alternatives);
+        // Stable sort keeps declaration order for ties
+        ordered.sort(Comparator.comparingLong((By by) -> hitCount(by)).reversed());
+        return ordered;
+    }
+
+    /**
+     * Wait until any alternative matches a displayed and enabled element.
+     * @return the element found by the highest-ranked matching alternative
+     * @throws TimeoutException if none matched within the timeout
+     */
+    public WebElement findClickable(AndroidDriver driver, String deviceId, Duration timeout) {
+        return SmartWait.until(driver, deviceId, name + " clickable", this::firstClickable, timeout, 0);
+    }
+
+    /**
+     * One poll: a single combined query, then resolve which alternative it was
+     */
+    private WebElement firstClickable(WebDriver driver) {
+        if (combined != null) {
+            List<WebElement> matches = driver.findElements(combined);
+            return matches.isEmpty() ? null : resolve(driver, matches);
+        }
+        for (By locator : getAlternatives()) {
+            for (WebElement element : driver.findElements(locator)) {
+                if (element.isDisplayed() && element.isEnabled()) {
+                    recordHit(locator);
+                    return element;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Pick the element of the combined query's result from one page-source snapshot: the
+     * attributes of the matched nodes tell which alternative each one is and whether it can
+     * be clicked, without a query or isDisplayed/isEnabled call per element.
+     * @return null if nothing is clickable yet, or the screen changed since the query
+     */
+    private WebElement resolve(WebDriver driver, List<WebElement> matches) {
+        UiSnapshot snapshot = UiSnapshot.capture(driver);
+        List<UiSnapshot.UiNode> nodes = snapshot.findAll(combined);
+        if (nodes.size() != matches.size()) {
+            return null;
+        }
+        for (By locator : getAlternatives()) {
+            for (UiSnapshot.UiNode node : snapshot.findAll(locator)) {
+                if (node.isDisplayed() && node.isEnabled()) {
+                    recordHit(locator);
+                    // Both lists are the union in document order
+                    return matches.get(nodes.indexOf(node));
+                }
+            }
+        }
+        return null;
+    }
+
+    private void recordHit(By locator) {
+        hits.computeIfAbsent(statKey(locator), k -> new AtomicLong()).incrementAndGet();
+        dirty = true;
+    }
+
+    private long hitCount(By locator) {
+        AtomicLong count = hits.get(statKey(locator));
+        return count == null ? 0 : count.get();
+    }
+
+    private String statKey(By locator) {
+        return name + " | " + locator;
+    }
+
+    /**
+     * Union XPath of all alternatives, or null if one of them cannot be expressed as XPath
+     */
+    private static By combine(By[] alternatives) {
+        StringBuilder union = new StringBuilder();
+        for (By locator : alternatives) {
+            String xpath = toXPath(locator);
+            if (xpath == null) {
+                return null;
+            }
+            if (union.length() > 0) {
+                union.append(" | ");
+            }
+            union.append(xpath);
+        }
+        return By.xpath(union.toString());
+    }
+
+    private static String toXPath(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        String value = String.valueOf(parameters.value());
+        switch (parameters.using()) {
+            case "xpath":
+                return value;
+            case "id":
+                // UiAutomator2 matches ids against the resource-id attribute
+                if (value.contains("'")) {
+                    return null;
+                }
+                if (value.contains(":id/")) {
+                    return "//*[@resource-id='" + value + "']";
+                }
+                // A short id is qualified with the app's package by the server; XPath 1.0 has no
+                // ends-with, so compare the attribute's tail
+                String suffix = ":id/" + value;
+                return "//*[substring(@resource-id, string-length(@resource-id) - " + (suffix.length() - 1)
+                    + ") = '" + suffix + "']";
+            default:
+                return null;
+        }
+    }
+
+    private static void loadStatistics() {
+        File file = new File(STATS_FILE);
+        if (!file.isFile()) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+            for (String key : properties.stringPropertyNames()) {
+                hits.put(key, new AtomicLong(Long.parseLong(properties.getProperty(key).trim())));
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("[MultiLocator] Ignoring unreadable locator statistics " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Persist hit statistics so the next run starts with the best locator
+     */
+    public static synchronized void saveStatistics() {
+        if (!dirty) {
+            return;
+        }
+        File file = new File(STATS_FILE);
+        Properties properties = new Properties();
+        hits.forEach((key, count) -> properties.setProperty(key, String.valueOf(count.get())));
+        try {
+            File dir = file.getAbsoluteFile().getParentFile();
+            if (dir != null) {
+                dir.mkdirs();
+            }
+            try (OutputStream out = new FileOutputStream(file)) {
+                properties.store(out, "Locator hit counts, used to order MultiLocator alternatives");
+            }
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("[MultiLocator] Failed to save locator statistics: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package org.fg.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reporting state of one test on one device: its identity in the report, the stack of open
+ * steps and the page it is on. Contexts are held per thread and device, so tests running in
+ * parallel (parallel="tests") never share step timings or Extent nodes. A context is only
+ * touched by the thread that owns it.
+ */
+public final class ReportContext {
+    private static final AtomicLong ids = new AtomicLong();
+    private static final ThreadLocal<Map<String, ReportContext>> contexts = ThreadLocal.withInitial(HashMap::new);
+
+    private final long id;
+    private final String deviceId;
+    private final String testName;
+    private final Deque<Step> steps = new ArrayDeque<>();
+    private String sessionId;
+    private String currentPage;
+    private int screenshotsTaken;
+    private Map<String, Integer> sampled;
+
+    private ReportContext(long id, String deviceId, String testName) {
+        this.id = id;
+        this.deviceId = deviceId;
+        this.testName = testName;
+    }
+
+    /**
+     * Start a new context for this thread and device, replacing any previous one. An implicit
+     * context in its place keeps its id, so what was logged before the test started (in
+     * setUp, say) is reported under the test. The driver session carries over, as the thread
+     * keeps driving the same device.
+     */
+    public static ReportContext begin(String deviceId, String testName) {
+        ReportContext previous = contexts.get().get(key(deviceId));
+        long id = previous != null && previous.testName == null ? previous.id : ids.incrementAndGet();
+        ReportContext context = new ReportContext(id, deviceId, testName);
+        if (previous != null) {
+            context.sessionId = previous.sessionId;
+        }
+        contexts.get().put(key(deviceId), context);
+        return context;
+    }
+
+    /**
+     * The context of this thread for the device; an implicit one (no test) if none was begun
+     */
+    public static ReportContext current(String deviceId) {
+        return contexts.get().computeIfAbsent(key(deviceId), k -> new ReportContext(ids.incrementAndGet(), deviceId, null));
+    }
+
+    /**
+     * Forget every context of this thread
+     */
+    public static void clear() {
+        contexts.get().clear();
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getDeviceId() {
+        return deviceId;
+    }
+
+    /** Test name, or null for an implicit context created before startTest */
+    public String getTestName() {
+        return testName;
+    }
+
+    /** Grid session driving the device, or null if none was set */
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public int getDepth() {
+        return steps.size();
+    }
+
+    void pushStep(String stepName) {
+        steps.push(new Step(stepName, System.nanoTime()));
+    }
+
+    /**
+     * Close the innermost open step with this name, and any steps opened inside it that were
+     * never ended.
+     * @return duration of the step in milliseconds, or -1 if no such step was open
+     */
+    long popStep(String stepName) {
+        boolean open = false;
+        for (Step step : steps) {
+            if (step.name.equals(stepName)) {
+                open = true;
+                break;
+            }
+        }
+        if (!open) {
+            return -1;
+        }
+        Step step;
+        do {
+            step = steps.pop();
+        } while (!step.name.equals(stepName));
+        return (System.nanoTime() - step.startNanos) / 1_000_000;
+    }
+
+    /** Names of the open steps, innermost first */
+    public List<String> getStepNames() {
+        List<String> names = new ArrayList<>(steps.size());
+        for (Iterator<Step> it = steps.iterator(); it.hasNext(); ) {
+            names.add(it.next().name);
+        }
+        return names;
+    }
+
+    public String getCurrentPage() {
+        return currentPage;
+    }
+
+    void setCurrentPage(String page) {
+        this.currentPage = page;
+    }
+
+    public int getScreenshotsTaken() {
+        return screenshotsTaken;
+    }
+
+    void screenshotTaken() {
+        screenshotsTaken++;
+    }
+
+    /**
+     * Count an occurrence of a sampled action
+     * @return true for the first occurrence and every n-th after it
+     */
+    boolean sample(String action, int every) {
+        if (sampled == null) {
+            sampled = new HashMap<>();
+        }
+        int seen = sampled.merge(action, 1, Integer::sum);
+        return (seen - 1) % every == 0;
+    }
+
+    private static String key(String deviceId) {
+        return deviceId == null ? "UNKNOWN" : deviceId;
+    }
+
+    private static final class Step {
+        private final String name;
+        private final long startNanos;
+
+        private Step(String name, long startNanos) {
+            this.name = name;
+            this.startNanos = startNanos;
+        }
+    }
+}
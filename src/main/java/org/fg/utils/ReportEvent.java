@@ -0,0 +1,191 @@
+package org.fg.utils;
+
+/**
+ * Immutable reporting event published by TestReporter and consumed by the report sinks.
+ * Timestamps and thread are taken when the event is created on the test thread, so sinks
+ * report when something happened, not when they got round to processing it. Test events carry
+ * the id of their ReportContext, so parallel tests on the same device never mix, and the step
+ * depth at the time of the event. Actions carry the LogLevel they were reported at.
+ */
+public final class ReportEvent {
+
+    public enum Type {
+        TEST_START,
+        STEP,
+        STEP_START,
+        STEP_END,
+        ACTION,
+        ERROR,
+        RESULT,
+        PAGE_TRANSITION,
+        /** Control event: sinks forget per-test state */
+        RESET,
+        /** Control event: sinks flush their output */
+        FLUSH
+    }
+
+    private final Type type;
+    private final LogLevel level;
+    private final long contextId;
+    private final int depth;
+    private final String deviceId;
+    private final String name;
+    private final String message;
+    private final String screenshotPath;
+    private final Throwable error;
+    private final boolean passed;
+    private final long durationMillis;
+    private final long epochMillis;
+    private final long nanoTime;
+    private final String threadName;
+    private final String sessionId;
+
+    private ReportEvent(Type type, LogLevel level, ReportContext context, String name, String message,
+                        String screenshotPath, Throwable error, boolean passed, long durationMillis) {
+        this(type, level, context != null ? context.getId() : 0, context != null ? context.getDepth() : 0,
+            context != null ? context.getDeviceId() : null, name, message, screenshotPath, error, passed,
+            durationMillis, System.currentTimeMillis(), System.nanoTime(), Thread.currentThread().getName(),
+            context != null ? context.getSessionId() : null);
+    }
+
+    private ReportEvent(Type type, LogLevel level, long contextId, int depth, String deviceId, String name,
+                        String message, String screenshotPath, Throwable error, boolean passed, long durationMillis,
+                        long epochMillis, long nanoTime, String threadName, String sessionId) {
+        this.type = type;
+        this.level = level;
+        this.contextId = contextId;
+        this.depth = depth;
+        this.deviceId = deviceId;
+        this.name = name;
+        this.message = message;
+        this.screenshotPath = screenshotPath;
+        this.error = error;
+        this.passed = passed;
+        this.durationMillis = durationMillis;
+        this.epochMillis = epochMillis;
+        this.nanoTime = nanoTime;
+        this.threadName = threadName;
+        this.sessionId = sessionId;
+    }
+
+    /**
+     * Rebuild an event read back from an event log, with its original timestamps and thread
+     */
+    static ReportEvent restore(Type type, LogLevel level, long contextId, int depth, String deviceId, String name,
+                               String message, String screenshotPath, Throwable error, boolean passed,
+                               long durationMillis, long epochMillis, long nanoTime, String threadName,
+                               String sessionId) {
+        return new ReportEvent(type, level, contextId, depth, deviceId, name, message, screenshotPath, error, passed,
+            durationMillis, epochMillis, nanoTime, threadName, sessionId);
+    }
+
+    public static ReportEvent testStart(ReportContext context, String testName) {
+        return new ReportEvent(Type.TEST_START, LogLevel.INFO, context, testName, "Starting test: " + testName,
+            null, null, false, -1);
+    }
+
+    public static ReportEvent step(ReportContext context, String stepName, String description) {
+        return new ReportEvent(Type.STEP, LogLevel.INFO, context, stepName, description, null, null, false, -1);
+    }
+
+    public static ReportEvent stepStart(ReportContext context, String stepName) {
+        return new ReportEvent(Type.STEP_START, LogLevel.INFO, context, stepName, null, null, null, false, -1);
+    }
+
+    /**
+     * @param durationMillis - Step duration, or -1 if the start of the step was not recorded
+     */
+    public static ReportEvent stepEnd(ReportContext context, String stepName, long durationMillis) {
+        return new ReportEvent(Type.STEP_END, LogLevel.INFO, context, stepName, null, null, null, false, durationMillis);
+    }
+
+    public static ReportEvent action(ReportContext context, LogLevel level, String action, String details,
+                                     String screenshotPath) {
+        return new ReportEvent(Type.ACTION, level, context, action, details, screenshotPath, null, false, -1);
+    }
+
+    public static ReportEvent error(ReportContext context, String message, Throwable error) {
+        return new ReportEvent(Type.ERROR, LogLevel.ERROR, context, "ERROR", message, null, error, false, -1);
+    }
+
+    public static ReportEvent result(ReportContext context, String testName, boolean passed, String message) {
+        return new ReportEvent(Type.RESULT, LogLevel.INFO, context, testName, message, null, null, passed, -1);
+    }
+
+    public static ReportEvent pageTransition(ReportContext context, String fromPage, String toPage) {
+        return new ReportEvent(Type.PAGE_TRANSITION, LogLevel.INFO, context, toPage,
+            String.format("Page Transition: %s -> %s", fromPage, toPage), null, null, false, -1);
+    }
+
+    static ReportEvent reset() {
+        return new ReportEvent(Type.RESET, LogLevel.INFO, null, null, null, null, null, false, -1);
+    }
+
+    static ReportEvent flush() {
+        return new ReportEvent(Type.FLUSH, LogLevel.INFO, null, null, null, null, null, false, -1);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /** ERROR for errors, the reported level for actions, INFO otherwise */
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    /** Id of the ReportContext the event belongs to, 0 for control events */
+    public long getContextId() {
+        return contextId;
+    }
+
+    /** Number of steps open in the context when the event was created */
+    public int getDepth() {
+        return depth;
+    }
+
+    public String getDeviceId() {
+        return deviceId;
+    }
+
+    /** Action, step, test or target page name, depending on the type */
+    public String getName() {
+        return name;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getScreenshotPath() {
+        return screenshotPath;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isPassed() {
+        return passed;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public long getEpochMillis() {
+        return epochMillis;
+    }
+
+    public long getNanoTime() {
+        return nanoTime;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+}
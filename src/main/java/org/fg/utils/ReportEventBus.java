@@ -0,0 +1,255 @@
+package org.fg.utils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free multi-producer, single-consumer ring buffer between TestReporter and the report
+ * sinks. Test threads claim a slot with a CAS on the tail sequence and return immediately;
+ * one consumer thread drains the buffer in order and hands every event to each sink.
+ * The consumer also flushes sinks periodically, after a time interval, so a killed run still
+ * leaves a recent report behind. Every Extent flush rewrites the whole report, so flushing
+ * after a number of events (report.flush.events) is off unless configured. A sink with
+ * nothing new since its last flush is not flushed again.
+ */
+public class ReportEventBus {
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final ReportEventBus instance = new ReportEventBus();
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final int capacity = roundUpToPowerOfTwo(config.getIntProperty("report.bus.capacity", 8192));
+    private final int mask = capacity - 1;
+    // WAIT parks the publisher until there is room; DROP discards the event and counts it
+    private final boolean dropWhenFull = "DROP".equalsIgnoreCase(config.getProperty("report.bus.overflow", "WAIT").trim());
+    private final long flushTimeoutMillis = config.getLongProperty("report.bus.flush.timeout.ms", 30000);
+    // 0 disables the respective trigger
+    private final long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(config.getLongProperty("report.flush.interval.ms", 30000));
+    private final long flushEvents = config.getLongProperty("report.flush.events", 0);
+
+    private final AtomicReferenceArray<ReportEvent> slots = new AtomicReferenceArray<>(capacity);
+    // Next sequence to claim (producers) and next sequence to consume (consumer only writes it)
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    private final List<SinkStats> sinks = new CopyOnWriteArrayList<>();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong fullWaits = new AtomicLong();
+    private final AtomicLong maxDepth = new AtomicLong();
+    private final AtomicLong periodicFlushes = new AtomicLong();
+    private final Thread consumer;
+    // Consumer thread only
+    private long lastFlushNanos = System.nanoTime();
+
+    private ReportEventBus() {
+        consumer = new Thread(this::consumeLoop, "report-event-consumer");
+        consumer.setDaemon(true);
+        consumer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "report-event-drain"));
+    }
+
+    /**
+     * Get singleton instance of ReportEventBus
+     */
+    public static ReportEventBus getInstance() {
+        return instance;
+    }
+
+    public void addSink(ReportSink sink) {
+        sinks.add(new SinkStats(sink));
+    }
+
+    /**
+     * Publish an event without blocking on any sink I/O.
+     * @return false if the event was dropped because the buffer was full
+     */
+    public boolean publish(ReportEvent event) {
+        while (true) {
+            long sequence = tail.get();
+            long depth = sequence - head.get();
+            if (depth >= capacity) {
+                if (dropWhenFull && event.getType() != ReportEvent.Type.FLUSH) {
+                    dropped.incrementAndGet();
+                    return false;
+                }
+                fullWaits.incrementAndGet();
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+                continue;
+            }
+            if (tail.compareAndSet(sequence, sequence + 1)) {
+                slots.lazySet(index(sequence), event);
+                published.incrementAndGet();
+                if (depth + 1 > maxDepth.get()) {
+                    maxDepth.accumulateAndGet(depth + 1, Math::max);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Process everything published so far and flush every sink. Blocks the caller.
+     */
+    public void flush() {
+        publish(ReportEvent.flush());
+        awaitDrained();
+    }
+
+    /**
+     * Drain and flush, then close every sink
+     */
+    private void shutdown() {
+        flush();
+        for (SinkStats stats : sinks) {
+            try {
+                stats.sink.close();
+            } catch (Exception e) {
+                System.err.println("[ReportEventBus] " + stats.sink.getName() + " sink close failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Wait until the consumer has processed every event published before this call
+     */
+    public void awaitDrained() {
+        if (Thread.currentThread() == consumer) {
+            return;
+        }
+        long target = tail.get();
+        long deadline = System.currentTimeMillis() + flushTimeoutMillis;
+        while (head.get() < target) {
+            if (System.currentTimeMillis() > deadline) {
+                System.err.println("[ReportEventBus] Timed out with " + (target - head.get()) + " events pending");
+                return;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    /** Number of events published but not yet processed */
+    public long getQueueDepth() {
+        return tail.get() - head.get();
+    }
+
+    public String getStatistics() {
+        StringBuilder stats = new StringBuilder(String.format(
+            "Events published: %d, dropped: %d, waits on full buffer: %d, max queue depth: %d/%d, periodic flushes: %d",
+            published.get(), dropped.get(), fullWaits.get(), maxDepth.get(), capacity, periodicFlushes.get()));
+        for (SinkStats sink : sinks) {
+            stats.append(String.format("; %s sink: %d events, avg %.3fms, max %.1fms, errors %d, flushes %d (%.1fms total)",
+                sink.sink.getName(), sink.events.get(),
+                sink.events.get() == 0 ? 0.0 : sink.nanos.get() / 1e6 / sink.events.get(),
+                sink.maxNanos.get() / 1e6, sink.errors.get(), sink.flushes.get(), sink.flushNanos.get() / 1e6));
+        }
+        return stats.toString();
+    }
+
+    private void consumeLoop() {
+        long sinceFlush = 0;
+        while (true) {
+            long sequence = head.get();
+            ReportEvent event = slots.get(index(sequence));
+            if (event == null) {
+                // Either empty, or a producer has claimed the slot and is about to store into it
+                if (sinceFlush > 0 && flushIntervalNanos > 0 && System.nanoTime() - lastFlushNanos >= flushIntervalNanos) {
+                    periodicFlushes.incrementAndGet();
+                    flushSinks();
+                    sinceFlush = 0;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            if (event.getType() == ReportEvent.Type.FLUSH) {
+                flushSinks();
+                sinceFlush = 0;
+            } else {
+                dispatch(event);
+                if (++sinceFlush >= flushEvents && flushEvents > 0) {
+                    periodicFlushes.incrementAndGet();
+                    flushSinks();
+                    sinceFlush = 0;
+                }
+            }
+            slots.lazySet(index(sequence), null);
+            head.lazySet(sequence + 1);
+        }
+    }
+
+    private void dispatch(ReportEvent event) {
+        for (SinkStats stats : sinks) {
+            long start = System.nanoTime();
+            try {
+                stats.sink.accept(event);
+            } catch (Exception e) {
+                stats.errors.incrementAndGet();
+                System.err.println("[ReportEventBus] " + stats.sink.getName() + " sink failed: " + e.getMessage());
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                stats.events.incrementAndGet();
+                stats.nanos.addAndGet(elapsed);
+                if (elapsed > stats.maxNanos.get()) {
+                    stats.maxNanos.set(elapsed);
+                }
+                stats.dirty = true;
+            }
+        }
+    }
+
+    /**
+     * Flush the sinks that accepted events since their last flush
+     */
+    private void flushSinks() {
+        lastFlushNanos = System.nanoTime();
+        for (SinkStats stats : sinks) {
+            if (!stats.dirty) {
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                stats.sink.flush();
+                stats.dirty = false;
+            } catch (Exception e) {
+                stats.errors.incrementAndGet();
+                System.err.println("[ReportEventBus] " + stats.sink.getName() + " sink flush failed: " + e.getMessage());
+            } finally {
+                stats.flushes.incrementAndGet();
+                stats.flushNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    private static int roundUpToPowerOfTwo(int value) {
+        int capacity = 1;
+        while (capacity < Math.max(2, value)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static final class SinkStats {
+        private final ReportSink sink;
+        private final AtomicLong events = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong flushes = new AtomicLong();
+        private final AtomicLong flushNanos = new AtomicLong();
+        // Consumer thread only: accepted events not yet flushed
+        private boolean dirty;
+
+        private SinkStats(ReportSink sink) {
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.fg.utils;
+
+import java.util.regex.Pattern;
+
+/**
+ * Formatting shared by the report sinks.
+ */
+final class ReportFormat {
+    private static final Pattern SESSION_ID = Pattern.compile("^[A-Z0-9]{10,}$");
+
+    private ReportFormat() {
+    }
+
+    static String formatDeviceId(String deviceId, String sessionId) {
+        if (deviceId == null || deviceId.trim().isEmpty()) {
+            return "UNKNOWN";
+        }
+
+        // Handle LambdaTest session IDs
+        if (isLambdaTestDevice(deviceId)) {
+            String deviceName = System.getProperty("deviceName");
+            String platformVersion = System.getProperty("platformVersion");
+
+            if (deviceName != null && platformVersion != null) {
+                return String.format("LambdaTest [%s] - %s (Android %s)",
+                    sessionId != null ? sessionId : "Unknown Session",
+                    deviceName,
+                    platformVersion);
+            }
+            return "LambdaTest Device";
+        }
+
+        return deviceId;
+    }
+
+    /**
+     * Whether the device id is a LambdaTest session, whose label is built from the event's
+     * session and the current deviceName and platformVersion system properties
+     */
+    static boolean isLambdaTestDevice(String deviceId) {
+        return deviceId != null && (deviceId.startsWith("RMAA-AND-") || SESSION_ID.matcher(deviceId).matches());
+    }
+
+    static String formatDuration(long millis) {
+        if (millis < 0) return "0ms";
+        if (millis < 1000) {
+            return millis + "ms";
+        } else {
+            return String.format("%.2fs", millis / 1000.0);
+        }
+    }
+
+    /**
+     * Same text as formatDuration, appended without intermediate strings
+     */
+    static StringBuilder appendDuration(StringBuilder out, long millis) {
+        if (millis < 0) {
+            return out.append("0ms");
+        }
+        if (millis < 1000) {
+            return out.append(millis).append("ms");
+        }
+        long hundredths = (millis + 5) / 10;
+        out.append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) {
+            out.append('0');
+        }
+        return out.append(fraction).append('s');
+    }
+}
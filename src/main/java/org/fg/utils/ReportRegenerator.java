@@ -0,0 +1,244 @@
+package org.fg.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Rebuilds the Spark HTML report and a screenshots index from a recorded events.jsonl after
+ * the run. Tests can then run with only the JSONL sink (report.extent.enabled=false) and CI
+ * renders the report in a separate step, several runs in parallel.
+ *
+ * Usage: ReportRegenerator [--out DIR] EVENTS_JSONL_OR_REPORT_DIR...
+ * Without --out each report is written next to its event log; with several inputs and --out
+ * each gets a subdirectory of DIR named after the run directory.
+ */
+public class ReportRegenerator {
+    public static final String SCREENSHOT_INDEX = "screenshots.html";
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        Path out = null;
+        List<Path> logs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--out".equals(args[i]) && i + 1 < args.length) {
+                out = Paths.get(args[++i]);
+            } else {
+                Path path = Paths.get(args[i]);
+                logs.add(Files.isDirectory(path) ? path.resolve(JsonlReportSink.FILE_NAME) : path);
+            }
+        }
+        if (logs.isEmpty()) {
+            System.err.println("Usage: ReportRegenerator [--out DIR] EVENTS_JSONL_OR_REPORT_DIR...");
+            System.exit(2);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(logs.size(), Runtime.getRuntime().availableProcessors()));
+        Map<Path, Future<Summary>> results = new HashMap<>();
+        for (Path log : logs) {
+            Path target = outputDirFor(log, out, logs.size());
+            results.put(log, pool.submit(() -> regenerate(log, target)));
+        }
+        pool.shutdown();
+
+        int failures = 0;
+        for (Path log : logs) {
+            try {
+                System.out.println("[ReportRegenerator] " + log + ": " + results.get(log).get());
+            } catch (Exception e) {
+                failures++;
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                System.err.println("[ReportRegenerator] " + log + " failed: " + cause.getMessage());
+            }
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * Render the report for one event log into outputDir (index.html and screenshots.html)
+     */
+    public static Summary regenerate(Path eventLog, Path outputDir) throws IOException {
+        long start = System.currentTimeMillis();
+        Path logDir = eventLog.toAbsolutePath().getParent();
+        Files.createDirectories(outputDir);
+
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(ExtentReportSink.createSparkReporter(outputDir.resolve("index.html").toString()));
+        ExtentReportSink.addSystemInfo(extent);
+        ExtentReportSink sink = new ExtentReportSink(extent);
+
+        Summary summary = new Summary();
+        Map<Long, String> testNames = new HashMap<>();
+        List<ReportEvent> screenshots = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(eventLog, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                ReportEvent event;
+                try {
+                    event = toEvent(mapper.readTree(line), logDir, outputDir.toAbsolutePath());
+                } catch (IOException | RuntimeException e) {
+                    // A killed run can leave a truncated last line
+                    summary.skippedLines++;
+                    continue;
+                }
+                if (event.getType() == ReportEvent.Type.TEST_START) {
+                    testNames.put(event.getContextId(), event.getName());
+                    summary.tests++;
+                }
+                if (event.getScreenshotPath() != null) {
+                    screenshots.add(event);
+                }
+                sink.accept(event);
+                summary.events++;
+            }
+        }
+        sink.flush();
+        writeScreenshotIndex(outputDir.resolve(SCREENSHOT_INDEX), screenshots, testNames);
+        summary.screenshots = screenshots.size();
+        summary.millis = System.currentTimeMillis() - start;
+        return summary;
+    }
+
+    private static ReportEvent toEvent(JsonNode json, Path logDir, Path outputDir) {
+        Throwable error = null;
+        if (json.hasNonNull("errorClass")) {
+            error = new RecordedError(json.get("errorClass").asText(), text(json, "errorMessage"), text(json, "stackTrace"));
+        }
+        ReportEvent.Type type = ReportEvent.Type.valueOf(json.get("type").asText());
+        // Logs written before levels were recorded
+        LogLevel defaultLevel = type == ReportEvent.Type.ERROR ? LogLevel.ERROR : LogLevel.INFO;
+        return ReportEvent.restore(
+            type,
+            LogLevel.parse(text(json, "level"), defaultLevel),
+            json.path("context").asLong(0),
+            json.path("depth").asInt(0),
+            text(json, "device"),
+            text(json, "name"),
+            text(json, "message"),
+            relocate(text(json, "screenshot"), logDir, outputDir),
+            error,
+            json.path("passed").asBoolean(false),
+            json.path("durationMillis").asLong(-1),
+            json.get("epochMillis").asLong(),
+            json.path("nanoTime").asLong(0),
+            text(json, "thread"),
+            text(json, "session"));
+    }
+
+    /**
+     * Screenshot paths are relative to the directory of the event log; keep them pointing at
+     * the same files from the output directory
+     */
+    private static String relocate(String screenshotPath, Path logDir, Path outputDir) {
+        if (screenshotPath == null || logDir.equals(outputDir) || Paths.get(screenshotPath).isAbsolute()) {
+            return screenshotPath;
+        }
+        Path file = logDir.resolve(screenshotPath).normalize();
+        return outputDir.relativize(file).toString().replace('\\', '/');
+    }
+
+    private static void writeScreenshotIndex(Path file, List<ReportEvent> screenshots, Map<Long, String> testNames) throws IOException {
+        SimpleDateFormat timeFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html><head><meta charset='utf-8'><title>Screenshots</title>\n")
+            .append("<style>body{font-family:sans-serif;background:#1e1e2f;color:#ddd}")
+            .append("td{padding:4px 8px;vertical-align:top}img{max-width:160px}a{color:#9ecbff}</style>\n")
+            .append("</head><body>\n<h2>Screenshots (").append(screenshots.size()).append(")</h2>\n")
+            .append("<table>\n<tr><th>Time</th><th>Device</th><th>Test</th><th>Action</th><th>Screenshot</th></tr>\n");
+        for (ReportEvent event : screenshots) {
+            String path = event.getScreenshotPath();
+            String fullSizePath = ScreenshotProfile.fullSizePathFor(path);
+            html.append("<tr><td>").append(timeFormat.format(new Date(event.getEpochMillis())))
+                .append("</td><td>").append(escape(ReportFormat.formatDeviceId(event.getDeviceId(), event.getSessionId())))
+                .append("</td><td>").append(escape(testNames.getOrDefault(event.getContextId(), "")))
+                .append("</td><td>").append(escape(event.getName())).append(": ").append(escape(event.getMessage()))
+                .append("</td><td><a href='").append(escape(fullSizePath != null ? fullSizePath : path))
+                .append("' target='_blank'><img src='").append(escape(path)).append("'/></a></td></tr>\n");
+        }
+        html.append("</table>\n</body></html>\n");
+        Files.write(file, html.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Path outputDirFor(Path log, Path out, int inputs) {
+        Path logDir = log.toAbsolutePath().getParent();
+        if (out == null) {
+            return logDir;
+        }
+        return inputs == 1 ? out : out.resolve(logDir.getFileName().toString());
+    }
+
+    private static String text(JsonNode json, String field) {
+        JsonNode value = json.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+            .replace("'", "&#39;").replace("\"", "&quot;");
+    }
+
+    /** Counts for one regenerated report */
+    public static final class Summary {
+        private int tests;
+        private int events;
+        private int screenshots;
+        private int skippedLines;
+        private long millis;
+
+        @Override
+        public String toString() {
+            return String.format("%d tests, %d events, %d screenshots%s in %dms",
+                tests, events, screenshots, skippedLines > 0 ? ", " + skippedLines + " unreadable lines skipped" : "", millis);
+        }
+    }
+
+    /**
+     * Exception recorded in the event log. Extent renders exceptions from printStackTrace, so
+     * this prints the original class, message and trace.
+     */
+    private static final class RecordedError extends Throwable {
+        private static final long serialVersionUID = 1L;
+
+        private final String className;
+        private final String stackTrace;
+
+        private RecordedError(String className, String message, String stackTrace) {
+            super(message, null, false, false);
+            this.className = className;
+            this.stackTrace = stackTrace;
+        }
+
+        @Override
+        public String toString() {
+            return getMessage() == null ? className : className + ": " + getMessage();
+        }
+
+        @Override
+        public void printStackTrace(PrintWriter writer) {
+            writer.print(stackTrace != null ? stackTrace : toString());
+        }
+    }
+}
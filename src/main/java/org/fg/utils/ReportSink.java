@@ -0,0 +1,24 @@
+package org.fg.utils;
+
+/**
+ * Destination for report events. Sinks are only ever called from the event bus consumer
+ * thread, so implementations need no synchronization of their own.
+ */
+public interface ReportSink {
+
+    /** Short name used in bus statistics */
+    String getName();
+
+    void accept(ReportEvent event) throws Exception;
+
+    /** Write out anything buffered; called for FLUSH events and periodically by the bus */
+    default void flush() throws Exception {
+    }
+
+    /**
+     * Release files and other resources. Called once at JVM shutdown, after the bus has been
+     * drained and flushed, so no other call runs concurrently.
+     */
+    default void close() throws Exception {
+    }
+}
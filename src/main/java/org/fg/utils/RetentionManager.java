@@ -0,0 +1,411 @@
+package org.fg.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Housekeeping for reports/archive. Every run is recorded in a manifest (runs.tsv: path,
+ * start time, size), so deciding what to delete needs no walk over the archive; only expired
+ * runs are touched. Runs expire by age (report.retention.max.age.hours) and, oldest first,
+ * when the archive exceeds report.retention.max.total.mb. All expired runs are deleted
+ * together on a ForkJoinPool, split by directory and into batches of files; the screenshot
+ * store blobs their reference files listed are then released, and deleted once no folder
+ * references them. With report.retention.dry.run only the reclaimable bytes are reported.
+ * Sizes only count files with a single link, since a screenshot hard-linked from the store is
+ * not freed by deleting one run. A run that fails to delete stays in the manifest for next time.
+ * The manifest is read and written under a file lock, as parallel runs share the archive.
+ */
+public class RetentionManager {
+    public static final String MANIFEST = "runs.tsv";
+    // Serializes manifest updates within the JVM; a file lock does it across JVMs
+    private static final Object MANIFEST_LOCK = new Object();
+    // Files deleted by one subtask; a directory with more is split
+    private static final int FILE_BATCH = 64;
+
+    private static final ConfigManager config = ConfigManager.getInstance();
+
+    private final Path archive;
+    private final Path manifest;
+    private final long maxAgeMillis = TimeUnit.HOURS.toMillis(config.getLongProperty("report.retention.max.age.hours", 48));
+    private final long maxTotalBytes = config.getLongProperty("report.retention.max.total.mb", 0) * 1024 * 1024;
+    private final boolean dryRun;
+    private final int parallelism = Math.max(1, config.getIntProperty("report.retention.parallelism",
+        Runtime.getRuntime().availableProcessors()));
+
+    public RetentionManager(Path archive) {
+        this(archive, config.getBooleanProperty("report.retention.dry.run", false));
+    }
+
+    public RetentionManager(Path archive, boolean dryRun) {
+        this.archive = archive;
+        this.manifest = archive.resolve(MANIFEST);
+        this.dryRun = dryRun;
+    }
+
+    /**
+     * Record a run directory in the manifest; its size is filled in by completeRun
+     */
+    public void registerRun(Path runDir) {
+        try {
+            withManifest(runs -> {
+                String key = key(runDir);
+                runs.putIfAbsent(key, new Run(key, System.currentTimeMillis(), 0));
+                save(runs);
+                return null;
+            });
+        } catch (IOException e) {
+            System.err.println("Failed to register report run: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Update the recorded size of a finished run. Only walks that run's directory.
+     */
+    public void completeRun(Path runDir) {
+        try {
+            long bytes = sizeOf(runDir);
+            withManifest(runs -> {
+                String key = key(runDir);
+                Run run = runs.get(key);
+                long started = run != null ? run.started : System.currentTimeMillis();
+                runs.put(key, new Run(key, started, bytes));
+                save(runs);
+                return null;
+            });
+        } catch (IOException e) {
+            System.err.println("Failed to record report run size: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Apply the age and size policies, never touching the runs in keep. Holds the manifest
+     * lock while deleting, so another run's registerRun waits for it.
+     * @return summary of what was (or, in dry-run mode, would be) deleted
+     */
+    public String apply(Path... keep) {
+        try {
+            return withManifest(runs -> apply(runs, keep));
+        } catch (IOException | UncheckedIOException e) {
+            return "Retention failed: " + e.getMessage();
+        }
+    }
+
+    private String apply(Map<String, Run> runs, Path... keep) throws IOException {
+        long start = System.currentTimeMillis();
+        List<String> kept = new ArrayList<>();
+        for (Path path : keep) {
+            kept.add(key(path));
+        }
+
+        List<Run> byAge = new ArrayList<>(runs.values());
+        byAge.sort(Comparator.comparingLong(run -> run.started));
+        long total = byAge.stream().mapToLong(run -> run.bytes).sum();
+        long cutoff = System.currentTimeMillis() - maxAgeMillis;
+
+        List<Run> expired = new ArrayList<>();
+        for (Run run : byAge) {
+            if (kept.contains(run.path)) {
+                continue;
+            }
+            boolean tooOld = maxAgeMillis > 0 && run.started < cutoff;
+            boolean overBudget = maxTotalBytes > 0 && total > maxTotalBytes;
+            if (tooOld || overBudget) {
+                expired.add(run);
+                total -= run.bytes;
+            }
+        }
+        if (expired.isEmpty()) {
+            return String.format("Retention: %d runs, nothing expired", runs.size());
+        }
+
+        long reclaimed = expired.stream().mapToLong(run -> run.bytes).sum();
+        if (dryRun) {
+            return String.format("Retention (dry run): %d of %d runs would be deleted, %.1f MB reclaimable",
+                expired.size(), runs.size(), reclaimed / 1048576.0);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        int runCount = runs.size();
+        int failed = 0;
+        Queue<String> released = new ConcurrentLinkedQueue<>();
+        try {
+            // Submitted together, so small runs do not wait behind a large one
+            List<ForkJoinTask<Long>> deletions = new ArrayList<>(expired.size());
+            for (Run run : expired) {
+                Path dir = archive.resolve(run.path);
+                deletions.add(Files.isDirectory(dir) ? pool.submit(new DeleteTask(dir, released)) : null);
+            }
+            reclaimed = 0;
+            for (int i = 0; i < expired.size(); i++) {
+                Run run = expired.get(i);
+                ForkJoinTask<Long> deletion = deletions.get(i);
+                try {
+                    if (deletion != null) {
+                        reclaimed += deletion.join();
+                        deleteEmptyParents(archive.resolve(run.path).getParent());
+                    }
+                    runs.remove(run.path);
+                } catch (IOException | UncheckedIOException e) {
+                    // Kept in the manifest, so the next pass retries it
+                    failed++;
+                    System.err.println("Failed to delete report run " + run.path + ": " + e.getMessage());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        save(runs);
+        int blobs = new ScreenshotStore(archive.resolveSibling("cas")).release(released);
+        return String.format("Retention: deleted %d of %d runs (%d failed), %.1f MB reclaimed, %d unreferenced screenshot blobs in %dms",
+            expired.size() - failed, runCount, failed, reclaimed / 1048576.0, blobs, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Run an update on the manifest while holding its lock
+     */
+    private <T> T withManifest(ManifestUpdate<T> update) throws IOException {
+        synchronized (MANIFEST_LOCK) {
+            Files.createDirectories(archive);
+            try (FileChannel lockChannel = FileChannel.open(archive.resolve(MANIFEST + ".lock"),
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // Released when the channel is closed
+                lockChannel.lock();
+                return update.apply(load());
+            }
+        }
+    }
+
+    private interface ManifestUpdate<T> {
+        T apply(Map<String, Run> runs) throws IOException;
+    }
+
+    private Map<String, Run> load() throws IOException {
+        Map<String, Run> runs = new LinkedHashMap<>();
+        if (!Files.exists(manifest)) {
+            // First use on an existing archive: index it once, run directories are three levels down
+            for (Path runDir : listRunDirectories()) {
+                String key = key(runDir);
+                runs.put(key, new Run(key, Files.getLastModifiedTime(runDir).toMillis(), sizeOf(runDir)));
+            }
+            return runs;
+        }
+        for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t");
+            if (fields.length == 3) {
+                runs.put(fields[0], new Run(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2])));
+            }
+        }
+        return runs;
+    }
+
+    private void save(Map<String, Run> runs) throws IOException {
+        List<String> lines = new ArrayList<>(runs.size() + 1);
+        lines.add("# run\tstarted\tbytes");
+        for (Run run : runs.values()) {
+            lines.add(run.path + "\t" + run.started + "\t" + run.bytes);
+        }
+        Files.createDirectories(archive);
+        Path temp = archive.resolve(MANIFEST + ".tmp");
+        Files.write(temp, lines, StandardCharsets.UTF_8);
+        try {
+            Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /** archive/<date>/<hour>/<run> */
+    private List<Path> listRunDirectories() throws IOException {
+        List<Path> runDirs = new ArrayList<>();
+        if (!Files.isDirectory(archive)) {
+            return runDirs;
+        }
+        for (Path date : directories(archive)) {
+            for (Path hour : directories(date)) {
+                runDirs.addAll(directories(hour));
+            }
+        }
+        return runDirs;
+    }
+
+    private static List<Path> directories(Path dir) throws IOException {
+        List<Path> dirs = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir, Files::isDirectory)) {
+            entries.forEach(dirs::add);
+        }
+        return dirs;
+    }
+
+    private void deleteEmptyParents(Path dir) throws IOException {
+        while (dir != null && dir.startsWith(archive) && !dir.equals(archive)) {
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                if (entries.iterator().hasNext()) {
+                    return;
+                }
+            }
+            Files.delete(dir);
+            dir = dir.getParent();
+        }
+    }
+
+    private String key(Path runDir) {
+        return archive.toAbsolutePath().normalize().relativize(runDir.toAbsolutePath().normalize())
+            .toString().replace('\\', '/');
+    }
+
+    private static long sizeOf(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).mapToLong(RetentionManager::ownBytes).sum();
+        }
+    }
+
+    /**
+     * Size of a file, or 0 if it has other hard links (a screenshot shared through the store)
+     */
+    private static long ownBytes(Path file) {
+        try {
+            Object links = Files.getAttribute(file, "unix:nlink", LinkOption.NOFOLLOW_LINKS);
+            if (links instanceof Integer && (Integer) links > 1) {
+                return 0;
+            }
+        } catch (IOException | UnsupportedOperationException e) {
+            // No link count on this file system: count the file
+        }
+        return file.toFile().length();
+    }
+
+    /**
+     * Deletes a directory tree, forking one subtask per subdirectory and per full batch of
+     * files, and collects the blob names of the screenshot reference files it deleted.
+     * Returns the number of bytes freed.
+     */
+    private static final class DeleteTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Path dir;
+        private final transient Queue<String> released;
+
+        private DeleteTask(Path dir, Queue<String> released) {
+            this.dir = dir;
+            this.released = released;
+        }
+
+        @Override
+        protected Long compute() {
+            List<ForkJoinTask<Long>> subtasks = new ArrayList<>();
+            List<Path> files = new ArrayList<>();
+            try {
+                try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                    for (Path entry : entries) {
+                        if (Files.isDirectory(entry) && !Files.isSymbolicLink(entry)) {
+                            subtasks.add(new DeleteTask(entry, released).fork());
+                        } else {
+                            files.add(entry);
+                            if (files.size() == FILE_BATCH) {
+                                subtasks.add(new FileBatchTask(files, released).fork());
+                                files = new ArrayList<>();
+                            }
+                        }
+                    }
+                }
+                // The last, partial batch is deleted on this thread
+                long bytes = deleteFiles(files, released);
+                for (ForkJoinTask<Long> subtask : subtasks) {
+                    bytes += subtask.join();
+                }
+                Files.delete(dir);
+                return bytes;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Deletes a batch of files from one directory; returns the number of bytes freed
+     */
+    private static final class FileBatchTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Path> files;
+        private final transient Queue<String> released;
+
+        private FileBatchTask(List<Path> files, Queue<String> released) {
+            this.files = files;
+            this.released = released;
+        }
+
+        @Override
+        protected Long compute() {
+            try {
+                return deleteFiles(files, released);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static long deleteFiles(List<Path> files, Queue<String> released) throws IOException {
+        long bytes = 0;
+        for (Path file : files) {
+            bytes += ownBytes(file);
+            if (file.getFileName().toString().equals(ScreenshotStore.REFS_FILE)) {
+                List<String> blobNames = ScreenshotStore.readReferences(file);
+                Files.delete(file);
+                released.addAll(blobNames);
+            } else {
+                Files.delete(file);
+            }
+        }
+        return bytes;
+    }
+
+    private static final class Run {
+        private final String path;
+        private final long started;
+        private final long bytes;
+
+        private Run(String path, long started, long bytes) {
+            this.path = path;
+            this.started = started;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Apply the retention policies to ./reports/archive; pass --dry-run to only report
+     */
+    public static void main(String[] args) {
+        boolean dryRun = args.length > 0 && "--dry-run".equals(args[0]);
+        Path archive = Paths.get(System.getProperty("user.dir"), "reports", "archive");
+        System.out.println(new RetentionManager(archive, dryRun).apply());
+    }
+}
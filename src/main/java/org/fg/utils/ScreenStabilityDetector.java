@@ -0,0 +1,120 @@
+package org.fg.utils;
+
+import io.appium.java_client.android.AndroidDriver;
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Detects when the screen has settled (animations and transitions finished) by hashing the
+ * page source and waiting for a number of identical consecutive hashes. Page objects call
+ * awaitSettled() where they used to sleep to "let the animation finish".
+ */
+public class ScreenStabilityDetector {
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final int DEFAULT_SAMPLES = config.getIntProperty("screen.stable.samples", 3);
+    private static final long DEFAULT_TIMEOUT_MILLIS = config.getLongProperty("screen.stable.timeout.ms", 5000);
+    // Expected round-trip of one page-source poll, used to fit the samples into a timeout
+    private static final long SAMPLE_MILLIS = Math.max(1, config.getLongProperty("screen.stable.sample.ms", 500));
+
+    // Whitespace between tags and attributes that flip without any visible change
+    private static final Pattern WHITESPACE_BETWEEN_TAGS = Pattern.compile(">\\s+<");
+    private static final Pattern VOLATILE_ATTRIBUTES = Pattern.compile(
+        "\\s(?:" + config.getProperty("screen.stable.ignore.attributes", "focused").replace(",", "|") + ")=\"[^\"]*\"");
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AndroidDriver driver;
+    private final String deviceId;
+    private final int requiredSamples;
+
+    public ScreenStabilityDetector(AndroidDriver driver, String deviceId) {
+        this(driver, deviceId, DEFAULT_SAMPLES);
+    }
+
+    public ScreenStabilityDetector(AndroidDriver driver, String deviceId, int requiredSamples) {
+        this.driver = driver;
+        this.deviceId = deviceId;
+        this.requiredSamples = Math.max(2, requiredSamples);
+    }
+
+    /**
+     * Wait until the screen is settled, using the configured default timeout
+     */
+    public boolean awaitSettled() {
+        return awaitSettled(Duration.ofMillis(DEFAULT_TIMEOUT_MILLIS));
+    }
+
+    /**
+     * Wait until the screen is settled. Never fails: returns false if the screen was still
+     * changing when the timeout expired, which is what the fixed sleep it replaces did too.
+     * Only as many identical samples are required as fit into the timeout at
+     * screen.stable.sample.ms each; a timeout too short for two samples is a plain pause
+     * that returns true.
+     * @param timeout - Upper bound, the length of the sleep being replaced
+     */
+    public boolean awaitSettled(Duration timeout) {
+        int samples = (int) Math.min(requiredSamples, timeout.toMillis() / SAMPLE_MILLIS);
+        if (samples < 2) {
+            try {
+                Thread.sleep(timeout.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        }
+        return SmartWait.await(driver, deviceId, "Screen settled", settled(samples), timeout, timeout.toMillis());
+    }
+
+    /**
+     * Condition that holds once the given number of consecutive polls produced the same digest
+     */
+    public static Function<WebDriver, Boolean> settled(int requiredSamples) {
+        long[] lastDigest = new long[1];
+        int[] identical = new int[1];
+        return driver -> {
+            long digest = digest(driver.getPageSource());
+            if (identical[0] > 0 && digest == lastDigest[0]) {
+                identical[0]++;
+            } else {
+                lastDigest[0] = digest;
+                identical[0] = 1;
+            }
+            return identical[0] >= requiredSamples;
+        };
+    }
+
+    /**
+     * Condition that holds once the digest has not changed for the given quiet period
+     */
+    public static Function<WebDriver, Boolean> unchangedFor(Duration quietPeriod) {
+        long[] lastDigest = new long[1];
+        long[] unchangedSince = new long[] { -1 };
+        return driver -> {
+            long digest = digest(driver.getPageSource());
+            long now = System.currentTimeMillis();
+            if (unchangedSince[0] < 0 || digest != lastDigest[0]) {
+                lastDigest[0] = digest;
+                unchangedSince[0] = now;
+                return false;
+            }
+            return now - unchangedSince[0] >= quietPeriod.toMillis();
+        };
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the normalized page source
+     */
+    static long digest(String pageSource) {
+        String normalized = VOLATILE_ATTRIBUTES.matcher(
+            WHITESPACE_BETWEEN_TAGS.matcher(pageSource).replaceAll("><")).replaceAll("");
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < normalized.length(); i++) {
+            hash ^= normalized.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,433 @@
+package org.fg.utils;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Asynchronous screenshot writer. The test thread only fetches the base64 payload from the
+ * device and enqueues it; a background writer decodes, encodes (see ScreenshotProfile) and
+ * persists the file. The queue is bounded, and the configured policy decides what happens
+ * when the writer falls behind.
+ * Frames whose pixels are identical to a recent frame of the same device are stored once and
+ * hard-linked under the new name, so the report keeps one reference per step. Failure
+ * evidence is always stored as captured. Files are
+ * stored through the content-addressed ScreenshotStore, so identical files are kept once
+ * across runs as well.
+ */
+public class ScreenshotPipeline {
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final ScreenshotPipeline instance = new ScreenshotPipeline();
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    /** What to do when the queue is full */
+    public enum OverflowPolicy {
+        /** Wait up to screenshot.queue.offer.timeout.ms for space, then drop the new screenshot */
+        BLOCK,
+        /** Drop the screenshot being captured */
+        DROP_NEWEST,
+        /** Drop the oldest queued screenshot to make room */
+        DROP_OLDEST
+    }
+
+    private final int capacity = config.getIntProperty("screenshot.queue.capacity", 32);
+    private final OverflowPolicy policy = OverflowPolicy.valueOf(
+        config.getProperty("screenshot.queue.policy", OverflowPolicy.BLOCK.name()).trim().toUpperCase());
+    private final long offerTimeoutMillis = config.getLongProperty("screenshot.queue.offer.timeout.ms", 2000);
+    private final long flushTimeoutMillis = config.getLongProperty("screenshot.flush.timeout.ms", 30000);
+    private final boolean dedupEnabled = config.getBooleanProperty("screenshot.dedup.enabled", true);
+    private final int dedupWindow = config.getIntProperty("screenshot.dedup.window", 4);
+    private final double routineScale = Double.parseDouble(config.getProperty("screenshot.routine.scale", "0.5"));
+    private final float jpegQuality = Float.parseFloat(config.getProperty("screenshot.jpeg.quality", "0.7"));
+    private final int thumbnailWidth = config.getIntProperty("screenshot.thumbnail.width", 240);
+    private final boolean casEnabled = config.getBooleanProperty("screenshot.cas.enabled", true);
+    private final ScreenshotStore store = ScreenshotStore.getInstance();
+
+    private final BlockingQueue<Job> queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    private final Object drained = new Object();
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger sequence = new AtomicInteger();
+    // Only touched by the writer thread
+    private final Map<String, Deque<Frame>> recentFrames = new HashMap<>();
+    // Blob of each recently written output, so linked duplicates are counted as references
+    private final Map<Path, String> recentBlobs = new LinkedHashMap<Path, String>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, String> eldest) {
+            return size() > 1024;
+        }
+    };
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong captureMillis = new AtomicLong();
+    private final AtomicLong writeMillis = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    private ScreenshotPipeline() {
+        Thread writer = new Thread(this::writeLoop, "screenshot-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "screenshot-flush"));
+    }
+
+    /**
+     * Get singleton instance of ScreenshotPipeline
+     */
+    public static ScreenshotPipeline getInstance() {
+        return instance;
+    }
+
+    /**
+     * Capture a screenshot into the current report's screenshots folder, with the failure
+     * profile for steps named like an error and the routine profile otherwise.
+     * @return path relative to the report (for Extent), or null if it was not captured
+     */
+    public String capture(WebDriver driver, String deviceId, String name) {
+        return capture(driver, deviceId, name, ScreenshotProfile.forStep(name));
+    }
+
+    /**
+     * Capture a screenshot into the current report's screenshots folder.
+     * @return path relative to the report (for Extent), or null if it was not captured
+     */
+    public String capture(WebDriver driver, String deviceId, String name, ScreenshotProfile profile) {
+        File directory = new File(ExtentReporterNG.getCurrentReportPath(), "screenshots");
+        File target = capture(driver, deviceId, directory, baseName(name), profile);
+        return target == null ? null : "./screenshots/" + target.getName();
+    }
+
+    /**
+     * Capture a screenshot and write it asynchronously to the given directory.
+     * @param baseName - File name without extension; the profile adds it
+     * @return the file the report should show, or null if the screenshot was dropped
+     */
+    public File capture(WebDriver driver, String deviceId, File directory, String baseName, ScreenshotProfile profile) {
+        if (!(driver instanceof TakesScreenshot)) {
+            return null;
+        }
+        long start = System.currentTimeMillis();
+        String base64 = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+        captureMillis.addAndGet(System.currentTimeMillis() - start);
+        submitted.incrementAndGet();
+
+        List<Path> outputs = new ArrayList<>();
+        for (String fileName : profile.fileNames(baseName)) {
+            outputs.add(new File(directory, fileName).toPath());
+        }
+        return enqueue(new Job(deviceId, base64, profile, outputs)) ? outputs.get(0).toFile() : null;
+    }
+
+    /**
+     * Unique base name for a screenshot; the sequence keeps captures within one second apart
+     */
+    public String baseName(String name) {
+        return String.format("%s_%s_%03d",
+            name.replaceAll("[^a-zA-Z0-9.-]", "_"),
+            LocalDateTime.now().format(TIMESTAMP_FORMAT),
+            sequence.incrementAndGet() % 1000);
+    }
+
+    /**
+     * Wait until every queued screenshot is on disk. Call before the report is flushed.
+     */
+    public void flush() {
+        awaitWritten();
+        if (casEnabled) {
+            store.flush();
+        }
+    }
+
+    private void awaitWritten() {
+        long deadline = System.currentTimeMillis() + flushTimeoutMillis;
+        synchronized (drained) {
+            while (outstanding.get() > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    System.err.println("[ScreenshotPipeline] Flush timed out with " + outstanding.get() + " screenshots pending");
+                    return;
+                }
+                try {
+                    drained.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    public String getStatistics() {
+        return String.format("Screenshots submitted: %d, written: %d (%d duplicates linked, %.1f MB saved), dropped: %d, failed: %d, "
+                + "capture time: %.1fs, write time (background): %.1fs, %.1f MB%s",
+            submitted.get(), written.get(), deduplicated.get(), bytesSaved.get() / (1024.0 * 1024.0), dropped.get(), failed.get(),
+            captureMillis.get() / 1000.0, writeMillis.get() / 1000.0, bytesWritten.get() / (1024.0 * 1024.0),
+            casEnabled ? ", store " + store.getStatistics() : "");
+    }
+
+    private boolean enqueue(Job job) {
+        outstanding.incrementAndGet();
+        boolean accepted;
+        try {
+            switch (policy) {
+                case DROP_NEWEST:
+                    accepted = queue.offer(job);
+                    break;
+                case DROP_OLDEST:
+                    while (!(accepted = queue.offer(job))) {
+                        Job oldest = queue.poll();
+                        if (oldest != null) {
+                            drop(oldest);
+                        }
+                    }
+                    break;
+                default:
+                    accepted = queue.offer(job, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+                    break;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            drop(job);
+        }
+        return accepted;
+    }
+
+    private void drop(Job job) {
+        dropped.incrementAndGet();
+        System.err.println("[ScreenshotPipeline] Queue full (" + capacity + "), dropped " + job.outputs.get(0).getFileName());
+        done();
+    }
+
+    private void writeLoop() {
+        while (true) {
+            Job job;
+            try {
+                job = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            try {
+                write(job);
+                written.incrementAndGet();
+            } catch (IOException | RuntimeException e) {
+                failed.incrementAndGet();
+                System.err.println("[ScreenshotPipeline] Failed to save screenshot " + job.outputs.get(0) + ": " + e.getMessage());
+            } finally {
+                writeMillis.addAndGet(System.currentTimeMillis() - start);
+                done();
+            }
+        }
+    }
+
+    private void write(Job job) throws IOException {
+        byte[] png = Base64.getMimeDecoder().decode(job.base64);
+        Path primary = job.outputs.get(0);
+        Files.createDirectories(primary.getParent());
+
+        // A look-alike of an earlier frame may differ in a toast or an amount; never link failure evidence
+        boolean dedup = dedupEnabled && job.profile != ScreenshotProfile.failure();
+        BufferedImage image = null;
+        if (dedup || job.profile != ScreenshotProfile.FULL_PNG) {
+            image = ImageIO.read(new ByteArrayInputStream(png));
+        }
+        if (image == null) {
+            // Undecodable payload - keep the raw bytes rather than lose the evidence
+            writeAtomically(primary, png);
+            return;
+        }
+        if (dedup && linkDuplicate(job, image, png.length)) {
+            return;
+        }
+
+        switch (job.profile) {
+            case ROUTINE:
+                writeAtomically(primary, encodeJpeg(scale(image, routineScale)));
+                break;
+            case THUMBNAIL:
+                writeAtomically(job.outputs.get(1), png);
+                writeAtomically(primary, encodeJpeg(scale(image, Math.min(1.0, (double) thumbnailWidth / image.getWidth()))));
+                break;
+            default:
+                writeAtomically(primary, png);
+                break;
+        }
+    }
+
+    /**
+     * If the frame's pixels equal those of one of the device's recent frames written with the same
+     * profile to the same folder, hard-link the outputs to those files instead of storing the
+     * image again.
+     * @return true if the outputs now exist as links
+     */
+    private boolean linkDuplicate(Job job, BufferedImage image, long size) throws IOException {
+        byte[] digest = pixelDigest(image);
+        String key = job.deviceId + "|" + job.profile + "|" + job.outputs.get(0).getParent();
+        Deque<Frame> frames = recentFrames.computeIfAbsent(key, k -> new ArrayDeque<>());
+        for (Frame frame : frames) {
+            if (MessageDigest.isEqual(frame.digest, digest) && Files.exists(frame.paths.get(0))) {
+                try {
+                    for (int i = 0; i < job.outputs.size(); i++) {
+                        Files.deleteIfExists(job.outputs.get(i));
+                        Files.createLink(job.outputs.get(i), frame.paths.get(i));
+                        String blob = recentBlobs.get(frame.paths.get(i));
+                        if (blob != null) {
+                            store.addReference(job.outputs.get(i), blob);
+                        }
+                    }
+                    deduplicated.incrementAndGet();
+                    bytesSaved.addAndGet(size);
+                    return true;
+                } catch (IOException | UnsupportedOperationException e) {
+                    // File system without hard links - store the image normally
+                    break;
+                }
+            }
+        }
+        frames.addFirst(new Frame(digest, job.outputs));
+        while (frames.size() > dedupWindow) {
+            frames.removeLast();
+        }
+        return false;
+    }
+
+    /**
+     * SHA-256 of the image size and decoded pixels; unlike the PNG bytes it does not depend on
+     * how the device encoded the frame
+     */
+    private static byte[] pixelDigest(BufferedImage image) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] row = new int[width];
+        ByteBuffer bytes = ByteBuffer.allocate(width * 4);
+        bytes.putInt(width).putInt(height);
+        digest.update(bytes.array(), 0, 8);
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            bytes.clear();
+            bytes.asIntBuffer().put(row);
+            digest.update(bytes.array());
+        }
+        return digest.digest();
+    }
+
+    private void writeAtomically(Path target, byte[] data) throws IOException {
+        bytesWritten.addAndGet(data.length);
+        if (casEnabled) {
+            // The blob is written atomically and target becomes a link to it
+            recentBlobs.put(target, store.store(target, data));
+            return;
+        }
+        // Write next to the target and rename, so the report never links a half-written file
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, data);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static BufferedImage scale(BufferedImage image, double factor) {
+        int width = Math.max(1, (int) Math.round(image.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * factor));
+        // JPEG has no alpha channel, so always draw onto an opaque RGB image
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private void done() {
+        if (outstanding.decrementAndGet() == 0) {
+            synchronized (drained) {
+                drained.notifyAll();
+            }
+        }
+    }
+
+    private static final class Frame {
+        private final byte[] digest;
+        private final List<Path> paths;
+
+        private Frame(byte[] digest, List<Path> paths) {
+            this.digest = digest;
+            this.paths = paths;
+        }
+    }
+
+    private static final class Job {
+        private final String deviceId;
+        private final String base64;
+        private final ScreenshotProfile profile;
+        private final List<Path> outputs;
+
+        private Job(String deviceId, String base64, ScreenshotProfile profile, List<Path> outputs) {
+            this.deviceId = deviceId;
+            this.base64 = base64;
+            this.profile = profile;
+            this.outputs = outputs;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.fg.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Decides which logged actions get a screenshot. The rules come from ConfigManager, so a
+ * suite can trade evidence against speed without code changes. Failures are always captured;
+ * every other capture must match an action or keyword rule, pass the step and page filters,
+ * survive sampling and fit in the per-test budget.
+ */
+public class ScreenshotPolicy {
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final ScreenshotPolicy instance = new ScreenshotPolicy();
+
+    // Replaced when the configuration is reloaded
+    private volatile Rules rules = new Rules();
+
+    private final AtomicLong candidates = new AtomicLong();
+
+    private final AtomicLong taken = new AtomicLong();
+    private final AtomicLong captureMillis = new AtomicLong();
+    private final Map<String, AtomicLong> skipped = new ConcurrentHashMap<>();
+
+    private ScreenshotPolicy() {
+        config.addReloadListener(() -> rules = new Rules());
+    }
+
+    /**
+     * Get singleton instance of ScreenshotPolicy
+     */
+    public static ScreenshotPolicy getInstance() {
+        return instance;
+    }
+
+    /**
+     * Whether the action should be captured. Step, page and per-test budget come from the
+     * test's ReportContext; the step filter matches any open step, not just the innermost.
+     * Skips are counted by reason.
+     */
+    public boolean shouldCapture(ReportContext context, String action, String details) {
+        if (ScreenshotProfile.isFailureStep(action)) {
+            return true;
+        }
+        Rules rules = this.rules;
+        if (rules.failureOnly) {
+            return skip("failure-only");
+        }
+        if (!rules.actions.contains(action.toLowerCase(Locale.ROOT)) && !containsKeyword(rules.keywords, details)) {
+            return skip("no matching rule");
+        }
+        if (!rules.steps.isEmpty() && !matchesAny(rules.steps, context.getStepNames())) {
+            return skip("step filter");
+        }
+        if (!rules.pages.isEmpty() && !matches(rules.pages, context.getCurrentPage())) {
+            return skip("page filter");
+        }
+        if (rules.sampleRate < 1.0 && !sampled(rules.sampleRate)) {
+            return skip("sampling");
+        }
+        if (rules.maxPerTest > 0 && context.getScreenshotsTaken() >= rules.maxPerTest) {
+            return skip("budget");
+        }
+        return true;
+    }
+
+    /** Record a capture that was taken and how long the test thread spent on it */
+    public void recordCapture(ReportContext context, long millis) {
+        taken.incrementAndGet();
+        captureMillis.addAndGet(millis);
+        context.screenshotTaken();
+    }
+
+    public String getStatistics() {
+        long skippedTotal = skipped.values().stream().mapToLong(AtomicLong::get).sum();
+        String reasons = skipped.entrySet().stream()
+            .map(e -> e.getKey() + "=" + e.getValue().get())
+            .collect(Collectors.joining(", "));
+        return String.format("Screenshots taken: %d (%.1fs on test threads), skipped: %d%s",
+            taken.get(), captureMillis.get() / 1000.0, skippedTotal, reasons.isEmpty() ? "" : " [" + reasons + "]");
+    }
+
+    /**
+     * Deterministic sampling: of every 1/rate candidates, one is captured
+     */
+    private boolean sampled(double sampleRate) {
+        long n = candidates.incrementAndGet();
+        return Math.floor(n * sampleRate) > Math.floor((n - 1) * sampleRate);
+    }
+
+    private static boolean containsKeyword(Set<String> keywords, String details) {
+        if (details == null || keywords.isEmpty()) {
+            return false;
+        }
+        String lowerDetails = details.toLowerCase(Locale.ROOT);
+        for (String keyword : keywords) {
+            if (lowerDetails.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(Set<String> filter, String value) {
+        return value != null && filter.contains(value.toLowerCase(Locale.ROOT));
+    }
+
+    private static boolean matchesAny(Set<String> filter, List<String> values) {
+        for (String value : values) {
+            if (matches(filter, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean skip(String reason) {
+        skipped.computeIfAbsent(reason, k -> new AtomicLong()).incrementAndGet();
+        return false;
+    }
+
+    private static Set<String> csv(String key, String defaultValue) {
+        String value = config.getProperty(key, defaultValue);
+        if (value == null || value.trim().isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<String> items = Arrays.asList(value.split(","));
+        return items.stream()
+            .map(item -> item.trim().toLowerCase(Locale.ROOT))
+            .filter(item -> !item.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /** The configured rules, read together */
+    private static final class Rules {
+        private final Set<String> actions = csv("screenshot.policy.actions", "Verify,Success,Error,Screenshot,Click");
+        private final Set<String> keywords = csv("screenshot.policy.keywords", "login,logout,error,failed,exception,navigation,menu");
+        private final Set<String> steps = csv("screenshot.policy.steps", "");
+        private final Set<String> pages = csv("screenshot.policy.pages", "");
+        private final boolean failureOnly = config.getBooleanProperty("screenshot.policy.failure.only", false);
+        private final double sampleRate = Double.parseDouble(config.getProperty("screenshot.policy.sample.rate", "1.0"));
+        private final int maxPerTest = config.getIntProperty("screenshot.policy.max.per.test", 0);
+    }
+}
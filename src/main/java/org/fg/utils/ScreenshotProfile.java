@@ -0,0 +1,75 @@
+package org.fg.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * How a screenshot is encoded on disk. Failures keep the lossless full-size PNG; routine
+ * steps are downscaled JPEGs, which are roughly ten times smaller.
+ */
+public enum ScreenshotProfile {
+    /** Full-resolution PNG exactly as sent by the device */
+    FULL_PNG,
+    /** Downscaled JPEG (screenshot.routine.scale, screenshot.jpeg.quality) */
+    ROUTINE,
+    /** Small JPEG shown in the report, linking to the full-resolution PNG */
+    THUMBNAIL;
+
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final String THUMBNAIL_SUFFIX = ".thumb.jpg";
+    private static final Pattern FAILURE_STEP = Pattern.compile("(?i).*(error|fail|exception).*");
+
+    /**
+     * Profile for routine steps, screenshot.profile.routine (default ROUTINE)
+     */
+    public static ScreenshotProfile routine() {
+        return ScreenshotProfile.valueOf(config.getProperty("screenshot.profile.routine", ROUTINE.name()).trim().toUpperCase());
+    }
+
+    /**
+     * Profile for failure evidence, screenshot.profile.failure (default FULL_PNG)
+     */
+    public static ScreenshotProfile failure() {
+        return ScreenshotProfile.valueOf(config.getProperty("screenshot.profile.failure", FULL_PNG.name()).trim().toUpperCase());
+    }
+
+    /**
+     * Failure profile for steps named like an error or failure, routine profile otherwise
+     */
+    public static ScreenshotProfile forStep(String stepName) {
+        return isFailureStep(stepName) ? failure() : routine();
+    }
+
+    /**
+     * True for step or action names that describe an error or failure
+     */
+    public static boolean isFailureStep(String stepName) {
+        return stepName != null && FAILURE_STEP.matcher(stepName).matches();
+    }
+
+    /**
+     * File names written for a screenshot, primary (the one the report shows) first
+     */
+    public List<String> fileNames(String baseName) {
+        switch (this) {
+            case ROUTINE:
+                return Collections.singletonList(baseName + ".jpg");
+            case THUMBNAIL:
+                return Arrays.asList(baseName + THUMBNAIL_SUFFIX, baseName + ".png");
+            default:
+                return Collections.singletonList(baseName + ".png");
+        }
+    }
+
+    /**
+     * Full-size image path for a thumbnail path, or null if the path is not a thumbnail
+     */
+    public static String fullSizePathFor(String path) {
+        if (path == null || !path.endsWith(THUMBNAIL_SUFFIX)) {
+            return null;
+        }
+        return path.substring(0, path.length() - THUMBNAIL_SUFFIX.length()) + ".png";
+    }
+}
@@ -0,0 +1,280 @@
+package org.fg.utils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed store for screenshot files shared by all runs (reports/cas). Each distinct
+ * file is kept once as reports/cas/ab/cd/<sha-256>.<ext>; the file a report links to is a hard
+ * link to that blob, so identical splash and lobby screens across runs take no extra space and
+ * report paths stay the same. Every screenshot folder gets a cas-refs.tsv with the number of
+ * references per blob, and reports/cas/refcounts.tsv counts the folders referencing each blob.
+ * When runs are deleted, the blobs their folders referenced are released; only those are
+ * looked at, and the ones no folder references any more are deleted.
+ */
+public class ScreenshotStore {
+    public static final String REFS_FILE = "cas-refs.tsv";
+    public static final String REFCOUNTS_FILE = "refcounts.tsv";
+    // Serializes refcounts.tsv updates within the JVM; a file lock does it across JVMs
+    private static final Object REFCOUNTS_LOCK = new Object();
+    private static final long GC_GRACE_MILLIS = 60 * 60 * 1000;
+
+    private static final ScreenshotStore instance =
+        new ScreenshotStore(Paths.get(System.getProperty("user.dir"), "reports", "cas"));
+
+    private final Path root;
+    // Screenshot folder -> blob name -> references from that folder
+    private final Map<Path, Map<String, AtomicInteger>> refs = new ConcurrentHashMap<>();
+    // Screenshot folder -> blobs already counted for it in refcounts.tsv
+    private final Map<Path, Set<String>> counted = new ConcurrentHashMap<>();
+    private final AtomicLong blobsStored = new AtomicLong();
+    private final AtomicLong blobsReused = new AtomicLong();
+    private final AtomicLong bytesReused = new AtomicLong();
+
+    public ScreenshotStore(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Get singleton instance of ScreenshotStore
+     */
+    public static ScreenshotStore getInstance() {
+        return instance;
+    }
+
+    /**
+     * Store data under its SHA-256 unless that blob exists, and make target a link to it. Falls
+     * back to a copy of the blob where the file system has no hard links.
+     * @return blob name, for addReference
+     */
+    public String store(Path target, byte[] data) throws IOException {
+        String blobName = sha256(data) + extension(target);
+        Path blob = blobPath(blobName);
+        if (Files.exists(blob)) {
+            blobsReused.incrementAndGet();
+            bytesReused.addAndGet(data.length);
+        } else {
+            writeBlob(blob, data);
+        }
+        try {
+            link(target, blob);
+        } catch (NoSuchFileException e) {
+            // Collected by another JVM's retention pass in the meantime
+            writeBlob(blob, data);
+            link(target, blob);
+        }
+        addReference(target, blobName);
+        return blobName;
+    }
+
+    /** Count another reference from target's folder, e.g. for a target linked to an existing output */
+    public void addReference(Path target, String blobName) {
+        refs.computeIfAbsent(target.toAbsolutePath().getParent(), k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(blobName, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    /**
+     * Write the reference counts of every folder written to in this JVM, and count the folders
+     * that reference a blob for the first time in refcounts.tsv
+     */
+    public void flush() {
+        Map<String, Integer> added = new HashMap<>();
+        for (Map.Entry<Path, Map<String, AtomicInteger>> folder : refs.entrySet()) {
+            Set<String> known = counted.computeIfAbsent(folder.getKey(), k -> ConcurrentHashMap.newKeySet());
+            for (String blobName : folder.getValue().keySet()) {
+                if (known.add(blobName)) {
+                    added.merge(blobName, 1, Integer::sum);
+                }
+            }
+            List<String> lines = new ArrayList<>();
+            for (Map.Entry<String, AtomicInteger> ref : folder.getValue().entrySet()) {
+                lines.add(ref.getKey() + "\t" + ref.getValue().get());
+            }
+            try {
+                Path file = folder.getKey().resolve(REFS_FILE);
+                Path temp = folder.getKey().resolve(REFS_FILE + ".tmp");
+                Files.write(temp, lines, StandardCharsets.UTF_8);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                System.err.println("[ScreenshotStore] Failed to write references for " + folder.getKey() + ": " + e.getMessage());
+            }
+        }
+        if (!added.isEmpty()) {
+            try {
+                updateRefcounts(added);
+            } catch (IOException e) {
+                System.err.println("[ScreenshotStore] Failed to update " + REFCOUNTS_FILE + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Blob names listed in a folder's reference file
+     */
+    public static List<String> readReferences(Path refFile) throws IOException {
+        List<String> blobNames = new ArrayList<>();
+        for (String line : Files.readAllLines(refFile, StandardCharsets.UTF_8)) {
+            int tab = line.indexOf('\t');
+            String blobName = tab < 0 ? line : line.substring(0, tab);
+            if (!blobName.isEmpty()) {
+                blobNames.add(blobName);
+            }
+        }
+        return blobNames;
+    }
+
+    /**
+     * Drop one folder reference per name (one name per deleted folder that referenced the
+     * blob) and delete the blobs left with none. Blobs written in the last hour are kept, since
+     * running tests count their references last; they stay at 0 and are looked at again on the
+     * next call. Blobs without a recorded count (stored before refcounts.tsv existed) are never
+     * deleted.
+     * @return number of blobs deleted
+     */
+    public int release(Collection<String> blobNames) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        Map<String, Integer> removed = new HashMap<>();
+        for (String blobName : blobNames) {
+            removed.merge(blobName, -1, Integer::sum);
+        }
+        long graceCutoff = System.currentTimeMillis() - GC_GRACE_MILLIS;
+        Map<String, Integer> forget = new HashMap<>();
+        for (String blobName : updateRefcounts(removed)) {
+            Path blob = blobPath(blobName);
+            if (Files.exists(blob) && blob.toFile().lastModified() >= graceCutoff) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(blob);
+                forget.put(blobName, null);
+            } catch (IOException e) {
+                System.err.println("[ScreenshotStore] Failed to delete blob " + blob + ": " + e.getMessage());
+            }
+        }
+        if (!forget.isEmpty()) {
+            updateRefcounts(forget);
+        }
+        return forget.size();
+    }
+
+    /**
+     * Apply count changes to refcounts.tsv under a lock shared with other JVMs. Blobs missing
+     * from the file only get positive changes; a null change removes the entry if it is still 0.
+     * @return blobs whose count is 0 after the update
+     */
+    private Set<String> updateRefcounts(Map<String, Integer> changes) throws IOException {
+        synchronized (REFCOUNTS_LOCK) {
+            Files.createDirectories(root);
+            try (FileChannel lockChannel = FileChannel.open(root.resolve(REFCOUNTS_FILE + ".lock"),
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // Released when the channel is closed
+                lockChannel.lock();
+                Path file = root.resolve(REFCOUNTS_FILE);
+                Map<String, Integer> counts = new LinkedHashMap<>();
+                if (Files.exists(file)) {
+                    for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                        int tab = line.indexOf('\t');
+                        if (tab > 0) {
+                            counts.put(line.substring(0, tab), Integer.parseInt(line.substring(tab + 1)));
+                        }
+                    }
+                }
+                for (Map.Entry<String, Integer> change : changes.entrySet()) {
+                    String blobName = change.getKey();
+                    if (change.getValue() == null) {
+                        counts.remove(blobName, 0);
+                    } else if (counts.containsKey(blobName) || change.getValue() > 0) {
+                        counts.put(blobName, Math.max(0, counts.getOrDefault(blobName, 0) + change.getValue()));
+                    }
+                }
+                Set<String> unreferenced = new HashSet<>();
+                List<String> lines = new ArrayList<>(counts.size());
+                for (Map.Entry<String, Integer> count : counts.entrySet()) {
+                    lines.add(count.getKey() + "\t" + count.getValue());
+                    if (count.getValue() == 0) {
+                        unreferenced.add(count.getKey());
+                    }
+                }
+                if (!changes.isEmpty()) {
+                    Path temp = root.resolve(REFCOUNTS_FILE + ".tmp");
+                    Files.write(temp, lines, StandardCharsets.UTF_8);
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                return unreferenced;
+            }
+        }
+    }
+
+    public String getStatistics() {
+        return String.format("blobs stored: %d, reused: %d (%.1f MB not stored again)",
+            blobsStored.get(), blobsReused.get(), bytesReused.get() / (1024.0 * 1024.0));
+    }
+
+    private void writeBlob(Path blob, byte[] data) throws IOException {
+        Files.createDirectories(blob.getParent());
+        Path temp = Files.createTempFile(blob.getParent(), blob.getFileName().toString(), ".tmp");
+        Files.write(temp, data);
+        // A concurrent writer of the same content produces the same bytes
+        Files.move(temp, blob, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        blobsStored.incrementAndGet();
+    }
+
+    /** reports/cas/ab/cd/abcd... */
+    private Path blobPath(String blobName) {
+        return root.resolve(blobName.substring(0, 2)).resolve(blobName.substring(2, 4)).resolve(blobName);
+    }
+
+    private static void link(Path target, Path blob) throws IOException {
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Files.deleteIfExists(target);
+        try {
+            Files.createLink(target, blob);
+        } catch (NoSuchFileException e) {
+            throw e;
+        } catch (IOException | UnsupportedOperationException e) {
+            // Different file system or no hard links
+            Files.copy(blob, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String extension(Path target) {
+        String fileName = target.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? "" : fileName.substring(dot);
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
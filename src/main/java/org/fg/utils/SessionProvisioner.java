@@ -0,0 +1,152 @@
+package org.fg.utils;
+
+import io.appium.java_client.android.AndroidDriver;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.testng.IResultMap;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.xml.XmlTest;
+
+/**
+ * Look-ahead session provisioner. When a test method starts, it inspects the methods and
+ * &lt;test&gt; blocks still to run in the suite and asks the DriverPool to start creating the
+ * sessions they will need, so the next session start overlaps the current test's execution.
+ * Methods count as done once TestNG has a result for them (passed, failed or skipped), so
+ * skipped methods and data-provider invocations do not throw the count off; if the last
+ * method never starts, the following &lt;test&gt; blocks are provisioned when the &lt;test&gt;
+ * finishes.
+ */
+public class SessionProvisioner {
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final SessionProvisioner instance = new SessionProvisioner();
+
+    private final int lookAhead = config.getIntProperty("driver.pool.lookahead", 1);
+    // Running <test> -> how to resolve sessions for the blocks after it
+    private final Map<ITestContext, Resolvers> resolvers = new ConcurrentHashMap<>();
+    // <test> blocks whose successors have been provisioned
+    private final Set<ITestContext> provisioned = ConcurrentHashMap.newKeySet();
+
+    private SessionProvisioner() {
+    }
+
+    /**
+     * Get singleton instance of SessionProvisioner
+     */
+    public static SessionProvisioner getInstance() {
+        return instance;
+    }
+
+    /**
+     * Called once per test method after its own session has been checked out.
+     * @param context - Context of the running &lt;test&gt;
+     * @param currentKey - Key of the session the current method is using
+     * @param keyResolver - Resolves the session key for a &lt;test&gt; block, or null if it has none
+     * @param factoryResolver - Builds the session factory for a &lt;test&gt; block from its parameters
+     */
+    public void lookAhead(ITestContext context, DriverPool.DriverKey currentKey,
+                          Function<XmlTest, DriverPool.DriverKey> keyResolver,
+                          Function<XmlTest, Callable<AndroidDriver>> factoryResolver) {
+        if (lookAhead <= 0 || context == null) {
+            return;
+        }
+        DriverPool pool = DriverPool.getInstance();
+        resolvers.put(context, new Resolvers(currentKey, keyResolver, factoryResolver));
+        // The current method has no result yet, so it is among the unfinished ones
+        int remaining = unfinishedMethods(context) - 1;
+
+        try {
+            // Without pooling the current session is quit on release, so the next method in
+            // this <test> needs a fresh one
+            if (remaining > 0) {
+                if (!pool.isEnabled() && pool.availableCount(currentKey) == 0) {
+                    pool.prewarm(currentKey, factoryResolver.apply(context.getCurrentXmlTest()));
+                }
+                return;
+            }
+            provisionFollowing(context);
+        } catch (Exception e) {
+            // Look-ahead is an optimisation only; the next checkout creates the session itself
+            System.err.println("[SessionProvisioner] Look-ahead failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Called when a &lt;test&gt; block finishes (ITestListener.onFinish). Provisions the
+     * following blocks if its last method did not, e.g. because it was skipped.
+     */
+    public void finish(ITestContext context) {
+        if (context == null) {
+            return;
+        }
+        try {
+            provisionFollowing(context);
+        } catch (Exception e) {
+            System.err.println("[SessionProvisioner] Look-ahead failed: " + e.getMessage());
+        } finally {
+            resolvers.remove(context);
+            provisioned.remove(context);
+        }
+    }
+
+    /**
+     * Start the sessions the &lt;test&gt; blocks after this one need, once per block
+     */
+    private void provisionFollowing(ITestContext context) {
+        Resolvers current = resolvers.get(context);
+        if (current == null || !provisioned.add(context)) {
+            return;
+        }
+        DriverPool pool = DriverPool.getInstance();
+        List<XmlTest> tests = context.getSuite().getXmlSuite().getTests();
+        int next = tests.indexOf(context.getCurrentXmlTest()) + 1;
+        int count = 0;
+        for (int i = next; i < tests.size() && count < lookAhead; i++) {
+            XmlTest upcoming = tests.get(i);
+            DriverPool.DriverKey key = current.keyResolver.apply(upcoming);
+            if (key == null) {
+                continue;
+            }
+            count++;
+            boolean reusesCurrent = pool.isEnabled() && key.equals(current.key);
+            if (!reusesCurrent && pool.availableCount(key) == 0) {
+                pool.prewarm(key, current.factoryResolver.apply(upcoming));
+            }
+        }
+    }
+
+    /**
+     * Test methods of the &lt;test&gt; that have no result yet
+     */
+    private static int unfinishedMethods(ITestContext context) {
+        Set<String> unfinished = new HashSet<>();
+        for (ITestNGMethod method : context.getAllTestMethods()) {
+            unfinished.add(method.getQualifiedName());
+        }
+        for (IResultMap results : List.of(context.getPassedTests(), context.getFailedTests(),
+                context.getSkippedTests(), context.getFailedButWithinSuccessPercentageTests())) {
+            for (ITestNGMethod method : results.getAllMethods()) {
+                unfinished.remove(method.getQualifiedName());
+            }
+        }
+        return unfinished.size();
+    }
+
+    private static final class Resolvers {
+        private final DriverPool.DriverKey key;
+        private final Function<XmlTest, DriverPool.DriverKey> keyResolver;
+        private final Function<XmlTest, Callable<AndroidDriver>> factoryResolver;
+
+        private Resolvers(DriverPool.DriverKey key, Function<XmlTest, DriverPool.DriverKey> keyResolver,
+                          Function<XmlTest, Callable<AndroidDriver>> factoryResolver) {
+            this.key = key;
+            this.keyResolver = keyResolver;
+            this.factoryResolver = factoryResolver;
+        }
+    }
+}
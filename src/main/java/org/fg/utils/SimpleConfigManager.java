@@ -1,7 +1,6 @@
 package org.fg.utils;
 
-import java.io.FileInputStream;
-import java.io.IOException;
+import java.util.Collections;
 import java.util.Properties;
 import java.util.logging.Logger;
 
@@ -14,8 +13,8 @@ public class SimpleConfigManager {
     private static SimpleConfigManager instance;
     private Properties properties;
 
-    // Single configuration file
-    private static final String TEST_DATA_FILE = "src/main/java/org/fg/resources/test-data.properties";
+    // Single configuration file, under org/fg/resources on the classpath or in the source tree
+    private static final String TEST_DATA_FILE = "test-data.properties";
 
     private SimpleConfigManager() {
         properties = new Properties();
@@ -36,14 +35,14 @@ public class SimpleConfigManager {
      * Load test data from single file
      */
     private void loadTestData() {
-        try (FileInputStream input = new FileInputStream(TEST_DATA_FILE)) {
-            properties.load(input);
-            logger.info("Loaded test data from: " + TEST_DATA_FILE);
-            logger.info("Total properties loaded: " + properties.size());
-        } catch (IOException e) {
-            logger.severe("Failed to load test data from " + TEST_DATA_FILE + ": " + e.getMessage());
-            throw new RuntimeException("Failed to load test data", e);
+        ConfigLoader loader = new ConfigLoader(Collections.singletonList(TEST_DATA_FILE), Collections.emptyMap());
+        properties = loader.load();
+        if (loader.getSources().isEmpty()) {
+            logger.severe("Failed to load test data: " + TEST_DATA_FILE + " not found");
+            throw new RuntimeException("Failed to load test data: " + TEST_DATA_FILE + " not found");
         }
+        logger.info("Loaded " + properties.size() + " test data properties from " + loader.getSources()
+            + " (" + loader.getStatistics() + ")");
     }
 
     /**
@@ -121,7 +120,6 @@ public class SimpleConfigManager {
      * Reload configuration (useful for testing)
      */
     public void reloadConfiguration() {
-        properties.clear();
         loadTestData();
     }
 } 
\ No newline at end of file
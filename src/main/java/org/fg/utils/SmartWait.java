@@ -0,0 +1,202 @@
+package org.fg.utils;
+
+import io.appium.java_client.android.AndroidDriver;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Condition-based replacement for fixed Thread.sleep calls. Polls a UI condition with a
+ * growing interval and returns as soon as it holds, reporting how much time was saved
+ * compared with the fixed sleep it replaces.
+ */
+public class SmartWait {
+    private static final ConfigManager config = ConfigManager.getInstance();
+    // Replaced when the configuration is reloaded
+    private static volatile Polling polling = new Polling();
+
+    static {
+        config.addReloadListener(() -> polling = new Polling());
+    }
+
+    private static final AtomicLong waitCount = new AtomicLong();
+    private static final AtomicLong timeoutCount = new AtomicLong();
+    private static final AtomicLong savedMillis = new AtomicLong();
+    private static final AtomicLong overrunMillis = new AtomicLong();
+
+    /**
+     * Wait for a condition and fail with TimeoutException if it does not hold in time.
+     * The deadline is checked between polls, so a poll still running when it passes (a
+     * page source over a grid, say) can take the wait past the timeout.
+     * @param replacedSleepMillis - Fixed sleep this wait replaces, used for savings reporting (0 if none)
+     * @return the first non-null, non-false value returned by the condition
+     */
+    public static <T> T until(AndroidDriver driver, String deviceId, String description,
+                              Function<? super AndroidDriver, T> condition, Duration timeout, long replacedSleepMillis) {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeout.toMillis();
+        Polling polling = SmartWait.polling;
+        long interval = polling.initialMillis;
+        RuntimeException lastError = null;
+        waitCount.incrementAndGet();
+
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    report(deviceId, description, System.currentTimeMillis() - start, replacedSleepMillis, true);
+                    return value;
+                }
+            } catch (WebDriverException e) {
+                // Element not there yet, stale or mid-transition - keep polling
+                lastError = e;
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                timeoutCount.incrementAndGet();
+                report(deviceId, description, System.currentTimeMillis() - start, replacedSleepMillis, false);
+                throw new TimeoutException("Timed out after " + timeout.toMillis() + "ms waiting for " + description, lastError);
+            }
+            try {
+                Thread.sleep(Math.min(interval, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for " + description, e);
+            }
+            interval = Math.min(polling.maxMillis, (long) (interval * polling.multiplier));
+        }
+    }
+
+    /**
+     * Wait for a condition without failing
+     * @return true if the condition held before the timeout
+     */
+    public static boolean await(AndroidDriver driver, String deviceId, String description,
+                                Function<? super AndroidDriver, ?> condition, Duration timeout) {
+        return await(driver, deviceId, description, condition, timeout, 0);
+    }
+
+    /**
+     * Wait for a condition without failing; used where a fixed sleep used to be, since a
+     * sleep never failed either.
+     * @param replacedSleepMillis - Fixed sleep this wait replaces, used for savings reporting (0 if none)
+     * @return true if the condition held before the timeout
+     */
+    public static boolean await(AndroidDriver driver, String deviceId, String description,
+                                Function<? super AndroidDriver, ?> condition, Duration timeout, long replacedSleepMillis) {
+        try {
+            until(driver, deviceId, description, condition, timeout, replacedSleepMillis);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Condition: element located by the locator is present and displayed
+     */
+    public static Function<WebDriver, WebElement> visible(By locator) {
+        return driver -> {
+            WebElement element = driver.findElement(locator);
+            return element.isDisplayed() ? element : null;
+        };
+    }
+
+    /**
+     * Condition: any of the locators matches a displayed element
+     */
+    public static Function<WebDriver, WebElement> anyVisible(By... locators) {
+        return driver -> {
+            for (By locator : locators) {
+                for (WebElement element : driver.findElements(locator)) {
+                    if (element.isDisplayed()) {
+                        return element;
+                    }
+                }
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Condition: no element matches the locator any more
+     */
+    public static Function<WebDriver, Boolean> gone(By locator) {
+        return driver -> driver.findElements(locator).isEmpty();
+    }
+
+    /**
+     * Condition: the element's text contains the expected value
+     */
+    public static Function<WebDriver, Boolean> textContains(WebElement element, String expected) {
+        return driver -> {
+            String text = element.getText();
+            return text != null && text.contains(expected);
+        };
+    }
+
+    /**
+     * Condition: the foreground activity differs from the given one
+     */
+    public static Function<AndroidDriver, Boolean> activityChangedFrom(String activity) {
+        return driver -> !Objects.equals(activity, driver.currentActivity());
+    }
+
+    /**
+     * Condition: the on-screen keyboard is shown (or hidden)
+     */
+    public static Function<AndroidDriver, Boolean> keyboardShown(boolean shown) {
+        return driver -> driver.isKeyboardShown() == shown;
+    }
+
+    /**
+     * Condition: the page source did not change between two consecutive polls
+     */
+    public static Function<WebDriver, Boolean> pageSourceStable() {
+        return ScreenStabilityDetector.settled(2);
+    }
+
+    /**
+     * Condition: the page source has not changed for at least the given quiet period
+     */
+    public static Function<WebDriver, Boolean> pageSourceStableFor(Duration quietPeriod) {
+        return ScreenStabilityDetector.unchangedFor(quietPeriod);
+    }
+
+    /**
+     * Summary of waits performed and time saved (or lost) against the fixed sleeps they replaced
+     */
+    public static String getStatistics() {
+        return String.format("Smart waits: %d, timed out: %d, time saved vs fixed sleeps: %.1fs, overrun past them: %.1fs",
+            waitCount.get(), timeoutCount.get(), savedMillis.get() / 1000.0, overrunMillis.get() / 1000.0);
+    }
+
+    private static void report(String deviceId, String description, long elapsedMillis, long replacedSleepMillis, boolean met) {
+        String outcome = met ? "met" : "not met";
+        String message = String.format("%s %s in %dms", description, outcome, elapsedMillis);
+        if (replacedSleepMillis > 0) {
+            long saved = replacedSleepMillis - elapsedMillis;
+            if (saved >= 0) {
+                savedMillis.addAndGet(saved);
+                message += String.format(" (saved %dms vs fixed %dms sleep)", saved, replacedSleepMillis);
+            } else {
+                overrunMillis.addAndGet(-saved);
+                message += String.format(" (%dms over fixed %dms sleep)", -saved, replacedSleepMillis);
+            }
+        }
+        TestReporter.logStep(deviceId, "SmartWait", message);
+    }
+
+    private static final class Polling {
+        private final long initialMillis = config.getLongProperty("smartwait.poll.initial.ms", 100);
+        private final long maxMillis = config.getLongProperty("smartwait.poll.max.ms", 1000);
+        private final double multiplier = Double.parseDouble(config.getProperty("smartwait.poll.multiplier", "1.5"));
+    }
+}
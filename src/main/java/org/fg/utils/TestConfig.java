@@ -0,0 +1,265 @@
+package org.fg.utils;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * Typed, immutable snapshot of the settings tests read on every run: credentials, app,
+ * timeouts and test data. Built once from ConfigManager, with defaults applied and values
+ * validated, so reads are plain field accesses without lookups, parsing or logging.
+ * Malformed values fail the build of the snapshot with every problem listed; missing
+ * credentials are only reported, since local runs may not need them. When the configuration
+ * is reloaded a new snapshot replaces this one (a malformed reload keeps the old one), so
+ * read getInstance() where the value is used to pick up live changes.
+ */
+public final class TestConfig {
+    private static final Logger logger = Logger.getLogger(TestConfig.class.getName());
+    private static volatile TestConfig instance = load();
+
+    static {
+        ConfigManager.getInstance().addReloadListener(TestConfig::reload);
+    }
+
+    private final String environment;
+    private final String ltUsername;
+    private final String ltAccessKey;
+    private final String ltAppId;
+    private final URL ltGridUrl;
+    private final String appPackage;
+    private final String appActivity;
+    private final int testTimeoutSeconds;
+    private final Duration waitShort;
+    private final Duration waitMedium;
+    private final Duration waitLong;
+    private final Duration waitVeryLong;
+    private final String screenshotPath;
+    private final String phoneNumber;
+    private final String otp;
+    private final String withdrawAmount;
+    private final String depositAmount;
+
+    private TestConfig(ConfigManager config, List<String> errors) {
+        environment = config.getEnvironment();
+        ltUsername = config.getProperty("lt.username");
+        ltAccessKey = config.getProperty("lt.access.key");
+        ltAppId = config.getProperty("lt.app.id");
+        ltGridUrl = url(config, "lt.grid.url", "https://mobile-hub.lambdatest.com/wd/hub", errors);
+        appPackage = config.getProperty("device.app.package", "com.paytm.paytmplay");
+        appActivity = config.getProperty("device.app.activity", "com.gamepind.login.ui.LoginActivity");
+        testTimeoutSeconds = positiveInt(config, "test.timeout", 300, errors);
+        waitShort = Duration.ofSeconds(positiveInt(config, "wait.timeout.short", 5, errors));
+        waitMedium = Duration.ofSeconds(positiveInt(config, "wait.timeout.medium", 15, errors));
+        waitLong = Duration.ofSeconds(positiveInt(config, "wait.timeout.long", 30, errors));
+        waitVeryLong = Duration.ofSeconds(positiveInt(config, "wait.timeout.very.long", 60, errors));
+        screenshotPath = config.getProperty("screenshot.path", "test-output/screenshots/");
+        phoneNumber = config.getProperty("test.phone.number");
+        otp = config.getProperty("test.otp");
+        withdrawAmount = config.getProperty("test.withdraw.amount");
+        depositAmount = config.getProperty("test.deposit.amount");
+    }
+
+    /** Copy with the test data replaced by a device overlay */
+    private TestConfig(TestConfig base, Properties overlay) {
+        environment = base.environment;
+        ltUsername = base.ltUsername;
+        ltAccessKey = base.ltAccessKey;
+        ltAppId = base.ltAppId;
+        ltGridUrl = base.ltGridUrl;
+        appPackage = base.appPackage;
+        appActivity = base.appActivity;
+        testTimeoutSeconds = base.testTimeoutSeconds;
+        waitShort = base.waitShort;
+        waitMedium = base.waitMedium;
+        waitLong = base.waitLong;
+        waitVeryLong = base.waitVeryLong;
+        screenshotPath = base.screenshotPath;
+        phoneNumber = overlay.getProperty("test.phone.number", base.phoneNumber);
+        otp = overlay.getProperty("test.otp", base.otp);
+        withdrawAmount = overlay.getProperty("test.withdraw.amount", base.withdrawAmount);
+        depositAmount = overlay.getProperty("test.deposit.amount", base.depositAmount);
+    }
+
+    /**
+     * Get singleton instance of TestConfig
+     */
+    public static TestConfig getInstance() {
+        return instance;
+    }
+
+    /**
+     * Build and validate a snapshot of the current ConfigManager properties
+     * @throws IllegalStateException listing every malformed value
+     */
+    public static TestConfig from(ConfigManager config) {
+        List<String> errors = new ArrayList<>();
+        TestConfig snapshot = new TestConfig(config, errors);
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Invalid configuration: " + String.join("; ", errors));
+        }
+        return snapshot;
+    }
+
+    /**
+     * This snapshot with the test data of a device from multi_device_data.properties, e.g.
+     * ("Android", 2) for android_phone_2; this snapshot itself if there is none
+     */
+    public TestConfig forDevice(String platformName, int index) {
+        Properties overlay = ConfigManager.getInstance().getDeviceOverlay(platformName, index);
+        return overlay.isEmpty() ? this : new TestConfig(this, overlay);
+    }
+
+    private static TestConfig load() {
+        TestConfig snapshot = from(ConfigManager.getInstance());
+        logger.info(snapshot.toString());
+        for (String warning : snapshot.warnings()) {
+            logger.warning(warning);
+        }
+        return snapshot;
+    }
+
+    private static void reload() {
+        try {
+            TestConfig snapshot = from(ConfigManager.getInstance());
+            instance = snapshot;
+            logger.info("Reloaded " + snapshot);
+        } catch (IllegalStateException e) {
+            logger.warning(e.getMessage() + "; keeping the previous settings");
+        }
+    }
+
+    /** Settings that are valid but probably not what a remote run needs */
+    public List<String> warnings() {
+        List<String> warnings = new ArrayList<>();
+        if (!"local".equals(environment)) {
+            if (ltUsername == null || ltAccessKey == null) {
+                warnings.add("lt.username / lt.access.key not set; LambdaTest sessions will be rejected");
+            }
+            if (ltAppId == null) {
+                warnings.add("lt.app.id not set");
+            }
+        }
+        if (phoneNumber == null || otp == null) {
+            warnings.add("test.phone.number / test.otp not set; login flows will fail");
+        }
+        return warnings;
+    }
+
+    public String getEnvironment() {
+        return environment;
+    }
+
+    public String getLtUsername() {
+        return ltUsername;
+    }
+
+    public String getLtAccessKey() {
+        return ltAccessKey;
+    }
+
+    public String getLtAppId() {
+        return ltAppId;
+    }
+
+    public URL getLtGridUrl() {
+        return ltGridUrl;
+    }
+
+    public String getAppPackage() {
+        return appPackage;
+    }
+
+    public String getAppActivity() {
+        return appActivity;
+    }
+
+    /** LambdaTest idle and new-command timeout */
+    public int getTestTimeoutSeconds() {
+        return testTimeoutSeconds;
+    }
+
+    public Duration getWaitShort() {
+        return waitShort;
+    }
+
+    public Duration getWaitMedium() {
+        return waitMedium;
+    }
+
+    public Duration getWaitLong() {
+        return waitLong;
+    }
+
+    public Duration getWaitVeryLong() {
+        return waitVeryLong;
+    }
+
+    public String getScreenshotPath() {
+        return screenshotPath;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public String getOtp() {
+        return otp;
+    }
+
+    public String getWithdrawAmount() {
+        return withdrawAmount;
+    }
+
+    public String getDepositAmount() {
+        return depositAmount;
+    }
+
+    /** One-line summary with credentials masked */
+    @Override
+    public String toString() {
+        return "TestConfig{environment=" + environment
+            + ", lt.username=" + ltUsername
+            + ", lt.access.key=" + (ltAccessKey != null ? "***MASKED***" : null)
+            + ", lt.app.id=" + ltAppId
+            + ", lt.grid.url=" + ltGridUrl
+            + ", app=" + appPackage + "/" + appActivity
+            + ", test.timeout=" + testTimeoutSeconds + "s"
+            + ", wait.timeout=" + waitShort.getSeconds() + "/" + waitMedium.getSeconds() + "/"
+            + waitLong.getSeconds() + "/" + waitVeryLong.getSeconds() + "s"
+            + ", screenshot.path=" + screenshotPath
+            + ", test.phone.number=" + phoneNumber
+            + ", test.withdraw.amount=" + withdrawAmount
+            + ", test.deposit.amount=" + depositAmount + "}";
+    }
+
+    private static int positiveInt(ConfigManager config, String key, int defaultValue, List<String> errors) {
+        String value = config.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        errors.add(key + " must be a positive integer, was '" + value + "'");
+        return defaultValue;
+    }
+
+    private static URL url(ConfigManager config, String key, String defaultValue, List<String> errors) {
+        String value = config.getProperty(key, defaultValue);
+        try {
+            return new URL(value);
+        } catch (MalformedURLException e) {
+            errors.add(key + " is not a valid URL: '" + value + "'");
+            return null;
+        }
+    }
+}
@@ -1,205 +1,202 @@
 package org.fg.utils;
 
 import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
-import com.aventstack.extentreports.Status;
-import com.aventstack.extentreports.markuputils.ExtentColor;
-import com.aventstack.extentreports.markuputils.MarkupHelper;
-import java.io.File;
-import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.time.Instant;
-import java.time.Duration;
 import io.appium.java_client.android.AndroidDriver;
-import org.fg.utils.AppiumUtils;
-import java.util.concurrent.ConcurrentHashMap;
-
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.openqa.selenium.remote.SessionId;
+
+/**
+ * Static reporting API used by tests and page objects. Every call publishes an immutable
+ * ReportEvent onto the ReportEventBus and returns; console output, the Extent report and the
+ * JSON-lines event log are produced by sinks on the bus consumer thread. Only screenshots are
+ * taken on the calling thread, because they have to show the screen at the moment of the action. Step timings,
+ * the current page and the screenshot budget live in the calling thread's ReportContext for
+ * the device, so tests can run in parallel.
+ *
+ * Actions have a LogLevel, from the logging.actions.* lists or given explicitly. Actions below
+ * logging.level.org.fg.report (falling back to logging.level.org.fg, then logging.level.root)
+ * are dropped on the calling thread before their message is built, a screenshot is considered
+ * or an event is published. TRACE and DEBUG actions can be sampled with logging.sample.every.
+ */
 public class TestReporter {
-    private static final ExtentReports extent = ExtentReporterNG.getReporterObject();
-    private static final ConcurrentHashMap<String, Instant> actionStartTimes = new ConcurrentHashMap<>();
-    private static final SimpleDateFormat TIME_FORMAT = new SimpleDateFormat("HH:mm:ss.SSS");
-    private static ExtentTest currentTest = null;
-
-    private static String formatDeviceId(String deviceId) {
-        if (deviceId == null || deviceId.trim().isEmpty()) {
-            return "UNKNOWN";
+    private static final ReportEventBus bus = ReportEventBus.getInstance();
+    // Replaced when the configuration is reloaded
+    private static volatile LogLevel threshold;
+    private static volatile Map<String, LogLevel> actionLevels;
+    private static volatile int sampleEvery;
+
+    static {
+        configureLevels();
+        ConfigManager.getInstance().addReloadListener(TestReporter::configureLevels);
+        bus.addSink(new ConsoleReportSink());
+        // Also creates the run's report directory
+        ExtentReports extent = ExtentReporterNG.getReporterObject();
+        // Off: render the HTML after the run with ReportRegenerator
+        if (ConfigManager.getInstance().getBooleanProperty("report.extent.enabled", true)) {
+            bus.addSink(new ExtentReportSink(extent));
         }
-        
-        // Handle LambdaTest session IDs
-        if (deviceId.startsWith("RMAA-AND-") || deviceId.matches("^[A-Z0-9]{10,}$")) {
-            String deviceName = System.getProperty("deviceName");
-            String platformVersion = System.getProperty("platformVersion");
-            String sessionId = System.getProperty("sessionId");
-            
-            if (deviceName != null && platformVersion != null) {
-                return String.format("LambdaTest [%s] - %s (Android %s)", 
-                    sessionId != null ? sessionId : "Unknown Session",
-                    deviceName,
-                    platformVersion);
-            }
-            return "LambdaTest Device";
+        addJsonlSink();
+    }
+
+    private static void addJsonlSink() {
+        ConfigManager config = ConfigManager.getInstance();
+        if (!config.getBooleanProperty("report.jsonl.enabled", true)) {
+            return;
         }
-        
-        return deviceId;
-    }
-
-    private static void logToConsole(String deviceId, String type, String message) {
-        String timestamp = TIME_FORMAT.format(new Date());
-        String formattedDeviceId = formatDeviceId(deviceId);
-        String sessionId = System.getProperty("sessionId");
-        
-        // Format for LambdaTest
-        if (sessionId != null) {
-            System.out.printf("[%s] [LambdaTest Session: %s] [%s] [%s] %s%n", 
-                timestamp, sessionId, formattedDeviceId, type, message);
-        } else {
-            System.out.printf("[%s] [%s] [%s] %s%n", 
-                timestamp, formattedDeviceId, type, message);
+        try {
+            bus.addSink(new JsonlReportSink(
+                Paths.get(ExtentReporterNG.getCurrentReportPath(), JsonlReportSink.FILE_NAME),
+                config.getIntProperty("report.jsonl.buffer.kb", 64) * 1024));
+        } catch (IOException e) {
+            System.err.println("Failed to open JSONL event log: " + e.getMessage());
         }
     }
 
-    public static void startTest(String deviceId, String testName) {
-        String sessionId = System.getProperty("sessionId");
-        if (sessionId != null) {
-            logToConsole(deviceId, "LAMBDATEST", "Session Started: " + sessionId);
+    private static void configureLevels() {
+        actionLevels = actionLevels();
+        sampleEvery = Math.max(1, ConfigManager.getInstance().getIntProperty("logging.sample.every", 1));
+        threshold = LogLevel.forLogger("org.fg.report", LogLevel.INFO);
+    }
+
+    private static Map<String, LogLevel> actionLevels() {
+        ConfigManager config = ConfigManager.getInstance();
+        Map<String, LogLevel> levels = new HashMap<>();
+        addActions(levels, config.getProperty("logging.actions.trace", ""), LogLevel.TRACE);
+        addActions(levels, config.getProperty("logging.actions.debug",
+            "Debug,Wait,Clear,Field Clear,Input,Input Complete,Focus,Keyboard,Found,Not Found,Elements,Check,Scroll"),
+            LogLevel.DEBUG);
+        addActions(levels, config.getProperty("logging.actions.warn", "Warning"), LogLevel.WARN);
+        addActions(levels, config.getProperty("logging.actions.error", "Error"), LogLevel.ERROR);
+        return levels;
+    }
+
+    private static void addActions(Map<String, LogLevel> levels, String actions, LogLevel level) {
+        for (String action : actions.split(",")) {
+            if (!action.trim().isEmpty()) {
+                levels.put(action.trim().toLowerCase(Locale.ROOT), level);
+            }
         }
-        logToConsole(deviceId, "TEST", "Starting test: " + testName);
-        currentTest = null;
+    }
+
+    /** Level of an action name; INFO unless listed in logging.actions.* */
+    public static LogLevel levelOf(String action) {
+        return actionLevels.getOrDefault(action.toLowerCase(Locale.ROOT), LogLevel.INFO);
+    }
+
+    /** Whether actions at this level are reported; guard expensive debug-only work with it */
+    public static boolean isEnabled(LogLevel level) {
+        return threshold.allows(level);
+    }
+
+    /**
+     * Tag what this thread reports for the device with the driver's grid session id
+     */
+    public static void setSession(String deviceId, SessionId sessionId) {
+        ReportContext.current(deviceId).setSessionId(sessionId != null ? sessionId.toString() : null);
+    }
+
+    public static void startTest(String deviceId, String testName) {
+        bus.publish(ReportEvent.testStart(ReportContext.begin(deviceId, testName), testName));
     }
 
     public static void logStep(String deviceId, String stepName, String description) {
-        logToConsole(deviceId, "STEP", stepName + ": " + description);
+        bus.publish(ReportEvent.step(ReportContext.current(deviceId), stepName, description));
     }
 
     public static void startStep(String deviceId, String stepName) {
-        actionStartTimes.put(deviceId, Instant.now());
-        logToConsole(deviceId, "STEP", "Starting: " + stepName);
+        ReportContext context = ReportContext.current(deviceId);
+        bus.publish(ReportEvent.stepStart(context, stepName));
+        context.pushStep(stepName);
     }
 
     public static void endStep(String deviceId, String stepName) {
-        Instant startTime = actionStartTimes.get(deviceId);
-        String duration = getDuration(startTime);
-        logToConsole(deviceId, "STEP", "Completed: " + stepName + " (Duration: " + duration + ")");
-    }
-
-    private static String getDuration(Instant startTime) {
-        if (startTime == null) return "0ms";
-        Duration duration = Duration.between(startTime, Instant.now());
-        long millis = duration.toMillis();
-        if (millis < 1000) {
-            return millis + "ms";
-        } else {
-            return String.format("%.2fs", millis / 1000.0);
-        }
+        ReportContext context = ReportContext.current(deviceId);
+        long duration = context.popStep(stepName);
+        bus.publish(ReportEvent.stepEnd(context, stepName, duration));
     }
 
     public static void logAction(String deviceId, String action, String details, AndroidDriver driver) {
-        // Log to console with LambdaTest session info
-        logToConsole(deviceId, action, details);
-
-        // Log to extent report
-        if (currentTest == null) {
-            String formattedDeviceId = formatDeviceId(deviceId);
-            String sessionId = System.getProperty("sessionId");
-            String testName = sessionId != null ? 
-                "LambdaTest Session: " + sessionId : 
-                "Menu Navigation Test";
-            currentTest = extent.createTest(formattedDeviceId + " - " + testName);
-            currentTest.assignCategory("Android");
+        LogLevel level = levelOf(action);
+        if (threshold.allows(level)) {
+            publishAction(level, deviceId, action, details, driver);
         }
+    }
 
-        ExtentTest actionNode = currentTest.createNode(action);
-        actionNode.log(Status.INFO, MarkupHelper.createLabel(details, ExtentColor.BLUE));
-
-        // Capture screenshots for LambdaTest
-        if (driver != null && (action.equals("Success") || action.equals("Error") || 
-            action.equals("Screenshot") || action.equals("Click"))) {
-            try {
-                String screenshotPath = AppiumUtils.captureScreenshot(driver, deviceId, action);
-                if (screenshotPath != null) {
-                    actionNode.addScreenCaptureFromPath(screenshotPath);
-                }
-            } catch (Exception e) {
-                actionNode.log(Status.WARNING, "Failed to capture screenshot: " + e.getMessage());
-            }
+    /**
+     * Log an action at the level of its name; details are only built if it is reported
+     */
+    public static void logAction(String deviceId, String action, Supplier<String> details, AndroidDriver driver) {
+        log(levelOf(action), deviceId, action, details, driver);
+    }
+
+    public static void trace(String deviceId, String action, Supplier<String> details, AndroidDriver driver) {
+        log(LogLevel.TRACE, deviceId, action, details, driver);
+    }
+
+    public static void debug(String deviceId, String action, Supplier<String> details, AndroidDriver driver) {
+        log(LogLevel.DEBUG, deviceId, action, details, driver);
+    }
+
+    /**
+     * Log an action at an explicit level; details are only built if it is reported
+     */
+    public static void log(LogLevel level, String deviceId, String action, Supplier<String> details, AndroidDriver driver) {
+        if (threshold.allows(level)) {
+            publishAction(level, deviceId, action, details.get(), driver);
         }
     }
 
-    private static boolean shouldCaptureScreenshot(String action, String details) {
-        if (action.equals("Verify")) {
-            return true;
+    private static void publishAction(LogLevel level, String deviceId, String action, String details, AndroidDriver driver) {
+        ReportContext context = ReportContext.current(deviceId);
+        if (sampleEvery > 1 && level.ordinal() <= LogLevel.DEBUG.ordinal() && !context.sample(action, sampleEvery)) {
+            return;
         }
-        
-        if (action.equals("Success") || action.equals("Error")) {
-            return true;
+        String screenshotPath = null;
+        if (driver != null && ScreenshotPolicy.getInstance().shouldCapture(context, action, details)) {
+            screenshotPath = capture(context, action, driver);
+        }
+        bus.publish(ReportEvent.action(context, level, action, details, screenshotPath));
+    }
+
+    private static String capture(ReportContext context, String action, AndroidDriver driver) {
+        long start = System.currentTimeMillis();
+        try {
+            return AppiumUtils.captureScreenshot(driver, context.getDeviceId(), action);
+        } catch (Exception e) {
+            System.err.println("Failed to capture screenshot: " + e.getMessage());
+            return null;
+        } finally {
+            ScreenshotPolicy.getInstance().recordCapture(context, System.currentTimeMillis() - start);
         }
-        
-        String lowerDetails = details.toLowerCase();
-        return lowerDetails.contains("login") ||
-               lowerDetails.contains("logout") ||
-               lowerDetails.contains("error") ||
-               lowerDetails.contains("failed") ||
-               lowerDetails.contains("exception") ||
-               lowerDetails.contains("navigation") ||
-               lowerDetails.contains("menu");
-    }
-
-    private static boolean isSignificantAction(String actionType) {
-        return actionType.equals("Click") || 
-               actionType.equals("Input") || 
-               actionType.equals("Verify") || 
-               actionType.equals("Navigation") ||
-               actionType.equals("Test Start") ||
-               actionType.equals("Test Success") ||
-               actionType.equals("Test Failure");
     }
 
     public static void logError(String deviceId, String message, Throwable error) {
-        String sessionId = System.getProperty("sessionId");
-        if (sessionId != null) {
-            logToConsole(deviceId, "LAMBDATEST", "Error in Session: " + sessionId);
-        }
-        logToConsole(deviceId, "ERROR", message + (error != null ? ": " + error.getMessage() : ""));
-
-        if (currentTest != null) {
-            currentTest.log(Status.FAIL, MarkupHelper.createLabel(message, ExtentColor.RED));
-            if (error != null) {
-                currentTest.log(Status.FAIL, error);
-            }
-        }
+        bus.publish(ReportEvent.error(ReportContext.current(deviceId), message, error));
     }
 
     public static void logTestResult(String deviceId, String testName, boolean passed, String message) {
-        String sessionId = System.getProperty("sessionId");
-        if (sessionId != null) {
-            logToConsole(deviceId, "LAMBDATEST", 
-                String.format("Session %s: %s", sessionId, passed ? "PASSED" : "FAILED"));
-        }
-        logToConsole(deviceId, "RESULT", testName + ": " + (passed ? "PASSED" : "FAILED") + " - " + message);
+        bus.publish(ReportEvent.result(ReportContext.current(deviceId), testName, passed, message));
     }
 
     public static void logPageTransition(String deviceId, String fromPage, String toPage) {
-        logToConsole(deviceId, "NAVIGATION", String.format("Page Transition: %s -> %s", fromPage, toPage));
-    }
-
-    private static ExtentTest ensureDeviceReport(String deviceId) {
-        if (currentTest == null) {
-            String formattedDeviceId = formatDeviceId(deviceId);
-            currentTest = extent.createTest(formattedDeviceId + " - Login to Logout Flow");
-            currentTest.assignCategory("Android");
-        }
-        return currentTest;
+        ReportContext context = ReportContext.current(deviceId);
+        context.setCurrentPage(toPage);
+        bus.publish(ReportEvent.pageTransition(context, fromPage, toPage));
     }
 
     public static void saveReports() {
-        if (extent != null) {
-            extent.flush();
-        }
+        // Screenshots are written in the background; the report must not link missing files
+        ScreenshotPipeline.getInstance().flush();
+        bus.flush();
     }
 
     public static void clearReports() {
-        actionStartTimes.clear();
-        currentTest = null;
+        ReportContext.clear();
+        bus.publish(ReportEvent.reset());
     }
-} 
\ No newline at end of file
+}
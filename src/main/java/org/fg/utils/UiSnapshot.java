@@ -0,0 +1,223 @@
+package org.fg.utils;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Point-in-time copy of the UI hierarchy. The page source is fetched once and parsed locally,
+ * so checking many By.id / By.xpath locators costs one round-trip instead of one per locator.
+ * Nodes are plain attribute maps - use the driver to interact with an element.
+ */
+public final class UiSnapshot {
+    private static final ThreadLocal<DocumentBuilder> builders = ThreadLocal.withInitial(UiSnapshot::newDocumentBuilder);
+    private static final ThreadLocal<XPath> xpaths = ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+    private static final ThreadLocal<Map<String, XPathExpression>> compiled = ThreadLocal.withInitial(HashMap::new);
+
+    private final Document document;
+    private final Map<Element, UiNode> nodes = new HashMap<>();
+    private final Map<String, List<UiNode>> byResourceId = new HashMap<>();
+    // Name after ":id/", for short ids such as By.id("login_button")
+    private final Map<String, List<UiNode>> byShortId = new HashMap<>();
+
+    private UiSnapshot(Document document) {
+        this.document = document;
+        index(document.getDocumentElement());
+    }
+
+    /**
+     * Fetch the page source once and parse it
+     */
+    public static UiSnapshot capture(WebDriver driver) {
+        return parse(driver.getPageSource());
+    }
+
+    /**
+     * Parse a page source captured earlier
+     */
+    public static UiSnapshot parse(String pageSource) {
+        try {
+            DocumentBuilder builder = builders.get();
+            builder.reset();
+            return new UiSnapshot(builder.parse(new InputSource(new StringReader(pageSource))));
+        } catch (SAXException | IOException e) {
+            throw new WebDriverException("Could not parse page source: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * All nodes matching the locator, in document order
+     */
+    public List<UiNode> findAll(By locator) {
+        By.Remotable.Parameters parameters = remoteParameters(locator);
+        String value = String.valueOf(parameters.value());
+        switch (parameters.using()) {
+            case "id":
+                Map<String, List<UiNode>> index = value.contains(":id/") ? byResourceId : byShortId;
+                return index.getOrDefault(value, Collections.emptyList());
+            case "xpath":
+                return evaluate(value);
+            default:
+                throw new InvalidSelectorException("UiSnapshot supports By.id and By.xpath only, got " + locator);
+        }
+    }
+
+    /**
+     * First node matching the locator, or null
+     */
+    public UiNode find(By locator) {
+        List<UiNode> matches = findAll(locator);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    /**
+     * True if any of the locators matches a displayed node
+     */
+    public boolean anyDisplayed(List<By> locators) {
+        for (By locator : locators) {
+            for (UiNode node : findAll(locator)) {
+                if (node.isDisplayed()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private List<UiNode> evaluate(String expression) {
+        try {
+            XPathExpression xpath = compiled.get().get(expression);
+            if (xpath == null) {
+                xpath = xpaths.get().compile(expression);
+                compiled.get().put(expression, xpath);
+            }
+            NodeList result = (NodeList) xpath.evaluate(document, XPathConstants.NODESET);
+            List<UiNode> matches = new ArrayList<>(result.getLength());
+            for (int i = 0; i < result.getLength(); i++) {
+                UiNode node = nodes.get(result.item(i));
+                if (node != null) {
+                    matches.add(node);
+                }
+            }
+            return matches;
+        } catch (XPathExpressionException e) {
+            throw new InvalidSelectorException("Invalid XPath '" + expression + "': " + e.getMessage());
+        }
+    }
+
+    private void index(Element root) {
+        List<Element> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            Element element = stack.remove(stack.size() - 1);
+            UiNode node = new UiNode(element);
+            nodes.put(element, node);
+            String resourceId = node.get("resource-id");
+            if (resourceId != null && !resourceId.isEmpty()) {
+                byResourceId.computeIfAbsent(resourceId, k -> new ArrayList<>()).add(node);
+                int separator = resourceId.indexOf(":id/");
+                if (separator >= 0) {
+                    byShortId.computeIfAbsent(resourceId.substring(separator + 4), k -> new ArrayList<>()).add(node);
+                }
+            }
+            NodeList children = element.getChildNodes();
+            // Push in reverse so the id index stays in document order
+            for (int i = children.getLength() - 1; i >= 0; i--) {
+                if (children.item(i).getNodeType() == Node.ELEMENT_NODE) {
+                    stack.add((Element) children.item(i));
+                }
+            }
+        }
+    }
+
+    private static By.Remotable.Parameters remoteParameters(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            throw new InvalidSelectorException("UiSnapshot supports By.id and By.xpath only, got " + locator);
+        }
+        return ((By.Remotable) locator).getRemoteParameters();
+    }
+
+    private static DocumentBuilder newDocumentBuilder() {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+            factory.setExpandEntityReferences(false);
+            return factory.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("No XML parser available", e);
+        }
+    }
+
+    /**
+     * One element of the hierarchy with its UiAutomator2 attributes (text, resource-id, class, ...)
+     */
+    public static final class UiNode {
+        private final Map<String, String> attributes;
+
+        private UiNode(Element element) {
+            NamedNodeMap map = element.getAttributes();
+            Map<String, String> values = new HashMap<>(map.getLength() * 2);
+            for (int i = 0; i < map.getLength(); i++) {
+                Node attribute = map.item(i);
+                values.put(attribute.getNodeName(), attribute.getNodeValue());
+            }
+            this.attributes = values;
+        }
+
+        public String get(String attribute) {
+            return attributes.get(attribute);
+        }
+
+        public String getText() {
+            String text = attributes.get("text");
+            return text == null ? "" : text;
+        }
+
+        public String getResourceId() {
+            return attributes.get("resource-id");
+        }
+
+        public String getClassName() {
+            return attributes.get("class");
+        }
+
+        public boolean isDisplayed() {
+            // Older server versions omit the attribute for visible nodes
+            return !"false".equals(attributes.get("displayed"));
+        }
+
+        public boolean isEnabled() {
+            return !"false".equals(attributes.get("enabled"));
+        }
+
+        @Override
+        public String toString() {
+            return getClassName() + "[resource-id=" + getResourceId() + ", text=" + getText() + "]";
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package org.fg.utils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Wait;
+
+/**
+ * Shared wait objects per driver session. A wait for a timeout and set of ignored exceptions
+ * is built once and reused by every page object and helper, instead of a new WebDriverWait
+ * per call or per page. By default waits poll every 500ms like WebDriverWait. Adaptive
+ * polling is opt-in (wait.poll.*): a multiplier above 1 grows the interval from
+ * wait.poll.initial.ms, and an initial interval of 0 starts at the measured round-trip of a
+ * poll on the session, so a slow grid is not polled faster than it can answer. Polls are
+ * counted per wait and in total.
+ */
+public class WaitFactory {
+    private static final ConfigManager config = ConfigManager.getInstance();
+    // Lower bound for a first interval taken from the measured round-trip
+    private static final long MIN_MEASURED_INTERVAL_MILLIS = 50;
+    private static final List<Class<? extends Throwable>> DEFAULT_IGNORED =
+        Arrays.asList(NotFoundException.class, StaleElementReferenceException.class);
+
+    private static final Map<WebDriver, WaitFactory> factories = new ConcurrentHashMap<>();
+    // Replaced when the configuration is reloaded
+    private static volatile Polling polling = new Polling();
+
+    private static final AtomicLong requests = new AtomicLong();
+    private static final AtomicLong created = new AtomicLong();
+    private static final AtomicLong waitCount = new AtomicLong();
+    private static final AtomicLong pollCount = new AtomicLong();
+    private static final AtomicLong timeoutCount = new AtomicLong();
+
+    static {
+        config.addReloadListener(() -> polling = new Polling());
+    }
+
+    private final WebDriver driver;
+    private final Map<String, PollingWait> waits = new ConcurrentHashMap<>();
+    // Running average of one poll's duration on this session, -1 until measured
+    private volatile long roundTripMillis = -1;
+
+    private WaitFactory(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Get the WaitFactory of a driver session
+     */
+    public static WaitFactory forDriver(WebDriver driver) {
+        return factories.computeIfAbsent(driver, WaitFactory::new);
+    }
+
+    /**
+     * Drop the cached waits of a session that is quit
+     */
+    public static void release(WebDriver driver) {
+        factories.remove(driver);
+    }
+
+    /**
+     * Wait with the given timeout, ignoring NotFoundException and StaleElementReferenceException
+     */
+    public PollingWait wait(Duration timeout) {
+        return wait(timeout, DEFAULT_IGNORED);
+    }
+
+    /**
+     * Wait with the given timeout that keeps polling on the given exceptions
+     */
+    public PollingWait wait(Duration timeout, List<Class<? extends Throwable>> ignored) {
+        requests.incrementAndGet();
+        return waits.computeIfAbsent(timeout.toMillis() + " " + ignored, k -> {
+            created.incrementAndGet();
+            return new PollingWait(this, timeout, ignored);
+        });
+    }
+
+    private void recordRoundTrip(long millis) {
+        long average = roundTripMillis;
+        roundTripMillis = average < 0 ? millis : (average * 7 + millis) / 8;
+    }
+
+    /**
+     * Summary of waits, poll round-trips and wait objects reused
+     */
+    public static String getStatistics() {
+        long waits = waitCount.get();
+        return String.format("Waits: %d, polls: %d (%.1f per wait), timed out: %d, wait objects: %d created for %d uses",
+            waits, pollCount.get(), waits > 0 ? (double) pollCount.get() / waits : 0.0, timeoutCount.get(),
+            created.get(), requests.get());
+    }
+
+    /**
+     * A reusable wait on one driver. Holds no per-call state, so page objects and threads
+     * can share it.
+     */
+    public static final class PollingWait implements Wait<WebDriver> {
+        private final WaitFactory factory;
+        private final Duration timeout;
+        private final List<Class<? extends Throwable>> ignored;
+        private final AtomicLong waits = new AtomicLong();
+        private final AtomicLong polls = new AtomicLong();
+
+        private PollingWait(WaitFactory factory, Duration timeout, List<Class<? extends Throwable>> ignored) {
+            this.factory = factory;
+            this.timeout = timeout;
+            this.ignored = Collections.unmodifiableList(ignored);
+        }
+
+        /**
+         * Poll the condition until it returns a non-null, non-false value.
+         * @throws TimeoutException if it did not within the timeout; other exceptions than the
+         *         ignored ones are thrown right away
+         */
+        @Override
+        public <T> T until(Function<? super WebDriver, T> condition) {
+            Polling current = polling;
+            long start = System.currentTimeMillis();
+            long deadline = start + timeout.toMillis();
+            long interval = current.initialMillis;
+            RuntimeException lastError = null;
+            int count = 0;
+            waits.incrementAndGet();
+            waitCount.incrementAndGet();
+            try {
+                while (true) {
+                    count++;
+                    long pollStart = System.currentTimeMillis();
+                    try {
+                        T value = condition.apply(factory.driver);
+                        if (value != null && !Boolean.FALSE.equals(value)) {
+                            return value;
+                        }
+                        lastError = null;
+                    } catch (RuntimeException e) {
+                        if (!isIgnored(e)) {
+                            throw e;
+                        }
+                        lastError = e;
+                    } finally {
+                        factory.recordRoundTrip(System.currentTimeMillis() - pollStart);
+                    }
+
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        timeoutCount.incrementAndGet();
+                        throw new TimeoutException(String.format("Expected condition failed: waiting for %s (tried for %dms with %d polls)",
+                            condition, System.currentTimeMillis() - start, count), lastError);
+                    }
+                    if (interval <= 0) {
+                        interval = Math.min(current.maxMillis, Math.max(MIN_MEASURED_INTERVAL_MILLIS, factory.roundTripMillis));
+                    }
+                    try {
+                        Thread.sleep(Math.min(interval, remaining));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new WebDriverException(e);
+                    }
+                    interval = Math.min(current.maxMillis, (long) (interval * current.multiplier));
+                }
+            } finally {
+                polls.addAndGet(count);
+                pollCount.addAndGet(count);
+            }
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        /** Times until() was called on this wait */
+        public long getWaitCount() {
+            return waits.get();
+        }
+
+        /** Condition evaluations (device round-trips) over all calls of this wait */
+        public long getPollCount() {
+            return polls.get();
+        }
+
+        private boolean isIgnored(Throwable error) {
+            for (Class<? extends Throwable> type : ignored) {
+                if (type.isInstance(error)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Polling {
+        // 0: start at the session's measured poll round-trip
+        private final long initialMillis = config.getLongProperty("wait.poll.initial.ms", 500);
+        private final long maxMillis = config.getLongProperty("wait.poll.max.ms", 500);
+        private final double multiplier = Double.parseDouble(config.getProperty("wait.poll.multiplier", "1.0"));
+    }
+}
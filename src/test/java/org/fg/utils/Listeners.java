@@ -38,8 +38,8 @@ public class Listeners extends BaseTest implements ITestListener {
         TestReporter.startTest(deviceId, testName);
         TestReporter.logAction(deviceId, "Test Start", "Starting test: " + testName, getDriverFromResult(result));
         
-        // Store test start time
-        testStartTimes.put(testName, Instant.now());
+        // Store test start time; the same method runs on several devices in parallel suites
+        testStartTimes.put(deviceId + ":" + testName, Instant.now());
     }
     
     @Override
@@ -53,7 +53,7 @@ public class Listeners extends BaseTest implements ITestListener {
         TestReporter.logAction(deviceId, "Test Success", "Test passed: " + testName, getDriverFromResult(result));
         
         // Calculate and log test duration
-        Instant startTime = testStartTimes.get(testName);
+        Instant startTime = testStartTimes.remove(deviceId + ":" + testName);
         if (startTime != null) {
             Duration duration = Duration.between(startTime, Instant.now());
             TestReporter.logAction(deviceId, "Test Duration", 
@@ -110,6 +110,7 @@ public class Listeners extends BaseTest implements ITestListener {
     
     @Override
     public void onFinish(ITestContext context) {
+        SessionProvisioner.getInstance().finish(context);
         if (extent != null) {
             // Flush the report
             TestReporter.saveReports();
@@ -3,31 +3,42 @@ package org.pfg;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.android.options.UiAutomator2Options;
 import org.fg.pageObjects.android.LoginScreenGetStarted;
+import org.fg.utils.AdaptiveTimeouts;
 import org.fg.utils.ConfigManager;
+import org.fg.utils.ConfigReloader;
+import org.fg.utils.DriverPool;
+import org.fg.utils.ReportEventBus;
+import org.fg.utils.ScreenshotPipeline;
+import org.fg.utils.ScreenshotPolicy;
+import org.fg.utils.SessionProvisioner;
+import org.fg.utils.SmartWait;
+import org.fg.utils.TestConfig;
 import org.fg.utils.TestReporter;
+import org.fg.utils.WaitFactory;
+import org.openqa.selenium.WebDriverException;
 import org.testng.annotations.*;
 
 import java.net.URL;
 import java.net.MalformedURLException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import org.testng.ITestContext;
+import org.testng.xml.XmlTest;
 
 public class BaseTest {
     // Configuration manager instance
     private static final ConfigManager config = ConfigManager.getInstance();
-    
-    // LambdaTest configuration
-    private static final String USERNAME = config.getProperty("lt.username");
-    private static final String ACCESS_KEY = config.getProperty("lt.access.key");
-    private static final String APP_ID = config.getProperty("lt.app.id");
-    private static final String GRID_URL = config.getProperty("lt.grid.url", "https://mobile-hub.lambdatest.com/wd/hub");
 
     protected AndroidDriver driver;
     protected LoginScreenGetStarted getStarted;
     protected String deviceId;
+    // Settings with the test data of the XML test's deviceIndex, if it has one
+    protected TestConfig deviceConfig = TestConfig.getInstance();
     protected Map<String, Object> additionalCapabilities = new HashMap<>();
+    private XmlTest currentXmlTest;
 
     private void initializeDeviceId(String deviceName, String platformVersion) {
         deviceId = String.format("%s_%s", deviceName, platformVersion);
@@ -37,6 +48,13 @@ public class BaseTest {
      * Generate a unique build name based on test context and class
      */
     private String generateBuildName(ITestContext context) {
+        return generateBuildName(context.getCurrentXmlTest());
+    }
+
+    /**
+     * Generate a unique build name based on the XML test block and class
+     */
+    private String generateBuildName(XmlTest xmlTest) {
         // Priority 1: Use BUILD_NAME system property if set
         String buildName = System.getProperty("BUILD_NAME");
         if (buildName != null && !buildName.trim().isEmpty()) {
@@ -44,7 +62,7 @@ public class BaseTest {
         }
         
         // Priority 2: Use test name from XML
-        String testName = context.getCurrentXmlTest().getName();
+        String testName = xmlTest.getName();
         if (testName != null && !testName.trim().isEmpty()) {
             return testName.replace("_", " ").replace("-", " ");
         }
@@ -59,14 +77,135 @@ public class BaseTest {
         return "PFG Automation Test";
     }
 
+    /**
+     * Build UiAutomator2 options with LambdaTest capabilities for the given device
+     * @param extraCapabilities - Capabilities added on top of the XML parameters
+     */
+    private UiAutomator2Options buildOptions(Map<String, String> xmlParams, Map<String, Object> extraCapabilities,
+                                             String platformName, String deviceName, String platformVersion,
+                                             String buildName) {
+        // Current settings; a reloaded configuration applies to the next session
+        TestConfig testConfig = TestConfig.getInstance();
+        Map<String, Object> ltOptions = new HashMap<>();
+        ltOptions.put("username", testConfig.getLtUsername());
+        ltOptions.put("accessKey", testConfig.getLtAccessKey());
+        ltOptions.put("platformName", platformName);
+        ltOptions.put("deviceName", deviceName);
+        ltOptions.put("platformVersion", platformVersion);
+        ltOptions.put("app", testConfig.getLtAppId());
+        ltOptions.put("project", "PFG Automation");
+        ltOptions.put("build", buildName);
+        ltOptions.put("isRealMobile", true);
+        ltOptions.put("network", true);
+        ltOptions.put("visual", true);
+        ltOptions.put("video", true);
+        ltOptions.put("console", true);
+        ltOptions.put("w3c", true);
+        ltOptions.put("autoGrantPermissions", true);
+        ltOptions.put("autoAcceptAlerts", true);
+        ltOptions.put("browserName", "chrome");
+        ltOptions.put("gpsEnabled", true);
+        ltOptions.put("enableNetworkInformation", true);
+        ltOptions.put("autoAcceptPermissions", true);
+        ltOptions.put("locationServicesEnabled", true);
+        ltOptions.put("enableLocation", true);
+        ltOptions.put("devicelog", true);
+        ltOptions.put("terminalLog", true);
+        ltOptions.put("networkLog", true);
+        ltOptions.put("visualLog", true);
+        ltOptions.put("deviceOrientation", "PORTRAIT");
+        ltOptions.put("idleTimeout", testConfig.getTestTimeoutSeconds());
+        ltOptions.put("newCommandTimeout", testConfig.getTestTimeoutSeconds());
+
+        for (Map.Entry<String, String> entry : xmlParams.entrySet()) {
+            String key = entry.getKey();
+            String value = entry.getValue();
+
+            if (key.equals("platformName") || key.equals("deviceName") || key.equals("platformVersion")) {
+                continue;
+            }
+
+            try {
+                if (value.contains(".")) {
+                    ltOptions.put(key, Double.parseDouble(value));
+                } else {
+                    ltOptions.put(key, Integer.parseInt(value));
+                }
+            } catch (NumberFormatException e) {
+                ltOptions.put(key, value);
+            }
+        }
+
+        ltOptions.putAll(extraCapabilities);
+
+        UiAutomator2Options options = new UiAutomator2Options();
+        options.setCapability("lt:options", ltOptions);
+
+        // Set app-specific capabilities from configuration
+        String appPackage = testConfig.getAppPackage();
+        String appActivity = testConfig.getAppActivity();
+        
+        System.out.println("[DEBUG] App Package: " + appPackage);
+        System.out.println("[DEBUG] App Activity: " + appActivity);
+        
+        options.setAppPackage(appPackage);
+        options.setAppActivity(appActivity);
+        options.setNoReset(true);
+        options.setFullReset(false);
+        return options;
+    }
+
+    /**
+     * Session pool key for an XML test block, or null if it does not name a device
+     */
+    private DriverPool.DriverKey driverKeyFor(XmlTest xmlTest) {
+        Map<String, String> params = xmlTest.getAllParameters();
+        if (params.get("deviceName") == null || params.get("platformVersion") == null) {
+            return null;
+        }
+        return new DriverPool.DriverKey(params.get("deviceName"), params.get("platformVersion"),
+            TestConfig.getInstance().getLtAppId());
+    }
+
+    /**
+     * Session factory for an XML test block, used to pre-warm sessions for upcoming tests.
+     * Another block is built from its parameters only: this instance's additionalCapabilities
+     * belong to the current test class, not to the one that will run there.
+     */
+    private Callable<AndroidDriver> driverFactoryFor(XmlTest xmlTest) {
+        Map<String, String> params = xmlTest.getAllParameters();
+        Map<String, Object> extraCapabilities = xmlTest == currentXmlTest ? additionalCapabilities : Map.of();
+        UiAutomator2Options options = buildOptions(params, extraCapabilities, params.get("platformName"),
+            params.get("deviceName"), params.get("platformVersion"), generateBuildName(xmlTest));
+        URL gridUrl = TestConfig.getInstance().getLtGridUrl();
+        return () -> new AndroidDriver(gridUrl, options);
+    }
+
+    /**
+     * Bring a reused session back to the app's launch state before the next test. App data
+     * (login, settings, cached game state) is cleared so the test starts as it would on a
+     * fresh session; if that fails the exception makes the pool retire the session.
+     */
+    protected void resetSession(AndroidDriver pooledDriver) {
+        String appPackage = TestConfig.getInstance().getAppPackage();
+        pooledDriver.terminateApp(appPackage);
+        try {
+            pooledDriver.executeScript("mobile: clearApp", Map.of("appId", appPackage));
+        } catch (WebDriverException e) {
+            // Older UiAutomator2 drivers lack clearApp; needs adb_shell on the grid
+            pooledDriver.executeScript("mobile: shell", Map.of("command", "pm", "args", List.of("clear", appPackage)));
+        }
+        pooledDriver.activateApp(appPackage);
+    }
+
     @BeforeMethod
     public void setUp(ITestContext context) throws MalformedURLException {
         try {
-            // Log configuration for debugging
             System.out.println("[DEBUG] === Starting Test Setup ===");
-            config.printConfiguration();
+            TestConfig testConfig = TestConfig.getInstance();
             
-            Map<String, String> xmlParams = context.getCurrentXmlTest().getAllParameters();
+            currentXmlTest = context.getCurrentXmlTest();
+            Map<String, String> xmlParams = currentXmlTest.getAllParameters();
             System.out.println("[DEBUG] XML Params: " + xmlParams);
 
             String platformName = xmlParams.get("platformName");
@@ -77,17 +216,15 @@ public class BaseTest {
             System.out.println("[DEBUG] Device Name: " + deviceName);
             System.out.println("[DEBUG] Platform Version: " + platformVersion);
 
-            // Debug test data loading
-            System.out.println("[DEBUG] Test Phone Number from config: " + config.getProperty("test.phone.number"));
-            System.out.println("[DEBUG] Test OTP from config: " + config.getProperty("test.otp"));
-            System.out.println("[DEBUG] Withdraw Amount from config: " + config.getProperty("test.withdraw.amount"));
-            System.out.println("[DEBUG] Deposit Amount from config: " + config.getProperty("test.deposit.amount"));
-
             if (deviceName == null || platformVersion == null) {
                 throw new IllegalArgumentException("deviceName and platformVersion must be provided in the test XML");
             }
 
             initializeDeviceId(deviceName, platformVersion);
+            String deviceIndex = xmlParams.get("deviceIndex");
+            deviceConfig = deviceIndex != null
+                ? testConfig.forDevice(platformName != null ? platformName : "Android", Integer.parseInt(deviceIndex.trim()))
+                : testConfig;
 
             System.setProperty("webdriver.http.factory", "jdk-http-client");
 
@@ -95,81 +232,24 @@ public class BaseTest {
             String buildName = generateBuildName(context);
 
             // Debug LambdaTest credentials
-            System.out.println("[DEBUG] USERNAME: " + USERNAME);
-            System.out.println("[DEBUG] ACCESS_KEY: " + (ACCESS_KEY != null ? "***SET***" : "***NULL***"));
-            System.out.println("[DEBUG] APP_ID: " + APP_ID);
-            System.out.println("[DEBUG] GRID_URL: " + GRID_URL);
-
-            Map<String, Object> ltOptions = new HashMap<>();
-            ltOptions.put("username", USERNAME);
-            ltOptions.put("accessKey", ACCESS_KEY);
-            ltOptions.put("platformName", platformName);
-            ltOptions.put("deviceName", deviceName);
-            ltOptions.put("platformVersion", platformVersion);
-            ltOptions.put("app", APP_ID);
-            ltOptions.put("project", "PFG Automation");
-            ltOptions.put("build", buildName);
-            ltOptions.put("isRealMobile", true);
-            ltOptions.put("network", true);
-            ltOptions.put("visual", true);
-            ltOptions.put("video", true);
-            ltOptions.put("console", true);
-            ltOptions.put("w3c", true);
-            ltOptions.put("autoGrantPermissions", true);
-            ltOptions.put("autoAcceptAlerts", true);
-            ltOptions.put("browserName", "chrome");
-            ltOptions.put("gpsEnabled", true);
-            ltOptions.put("enableNetworkInformation", true);
-            ltOptions.put("autoAcceptPermissions", true);
-            ltOptions.put("locationServicesEnabled", true);
-            ltOptions.put("enableLocation", true);
-            ltOptions.put("devicelog", true);
-            ltOptions.put("terminalLog", true);
-            ltOptions.put("networkLog", true);
-            ltOptions.put("visualLog", true);
-            ltOptions.put("deviceOrientation", "PORTRAIT");
-            ltOptions.put("idleTimeout", config.getIntProperty("test.timeout", 300));
-            ltOptions.put("newCommandTimeout", config.getIntProperty("test.timeout", 300));
-
-            for (Map.Entry<String, String> entry : xmlParams.entrySet()) {
-                String key = entry.getKey();
-                String value = entry.getValue();
-
-                if (key.equals("platformName") || key.equals("deviceName") || key.equals("platformVersion")) {
-                    continue;
-                }
-
-                try {
-                    if (value.contains(".")) {
-                        ltOptions.put(key, Double.parseDouble(value));
-                    } else {
-                        ltOptions.put(key, Integer.parseInt(value));
-                    }
-                } catch (NumberFormatException e) {
-                    ltOptions.put(key, value);
-                }
-            }
+            URL gridUrl = testConfig.getLtGridUrl();
+            String appId = testConfig.getLtAppId();
+            System.out.println("[DEBUG] USERNAME: " + testConfig.getLtUsername());
+            System.out.println("[DEBUG] ACCESS_KEY: " + (testConfig.getLtAccessKey() != null ? "***SET***" : "***NULL***"));
+            System.out.println("[DEBUG] APP_ID: " + appId);
+            System.out.println("[DEBUG] GRID_URL: " + gridUrl);
 
-            ltOptions.putAll(additionalCapabilities);
+            UiAutomator2Options options = buildOptions(xmlParams, additionalCapabilities, platformName, deviceName, platformVersion, buildName);
 
-            UiAutomator2Options options = new UiAutomator2Options();
-            options.setCapability("lt:options", ltOptions);
+            System.out.println("[DEBUG] Checking out AndroidDriver from pool for URL: " + gridUrl);
+            DriverPool.DriverKey driverKey = new DriverPool.DriverKey(deviceName, platformVersion, appId);
+            driver = DriverPool.getInstance().checkout(driverKey,
+                () -> new AndroidDriver(gridUrl, options), this::resetSession);
+            System.out.println("[DEBUG] AndroidDriver ready: " + driver.getSessionId());
+            TestReporter.setSession(deviceId, driver.getSessionId());
 
-            // Set app-specific capabilities from configuration
-            String appPackage = config.getProperty("device.app.package", "com.paytm.paytmplay");
-            String appActivity = config.getProperty("device.app.activity", "com.gamepind.login.ui.LoginActivity");
-            
-            System.out.println("[DEBUG] App Package: " + appPackage);
-            System.out.println("[DEBUG] App Activity: " + appActivity);
-            
-            options.setAppPackage(appPackage);
-            options.setAppActivity(appActivity);
-            options.setNoReset(true);
-            options.setFullReset(false);
-
-            System.out.println("[DEBUG] About to create AndroidDriver with URL: " + GRID_URL);
-            driver = new AndroidDriver(new URL(GRID_URL), options);
-            System.out.println("[DEBUG] AndroidDriver created successfully");
+            // Start the next session in the background while this test runs
+            SessionProvisioner.getInstance().lookAhead(context, driverKey, this::driverKeyFor, this::driverFactoryFor);
             
             getStarted = new LoginScreenGetStarted(driver);
             System.out.println("[DEBUG] LoginScreenGetStarted initialized");
@@ -177,7 +257,7 @@ public class BaseTest {
             TestReporter.startStep(deviceId, "Test Setup");
             TestReporter.logAction(deviceId, "Setup", "Driver initialized successfully", driver);
             TestReporter.logAction(deviceId, "Parameters", "XML Parameters: " + xmlParams.toString(), driver);
-            TestReporter.logAction(deviceId, "Configuration", "Environment: " + config.getEnvironment(), driver);
+            TestReporter.logAction(deviceId, "Configuration", "Environment: " + testConfig.getEnvironment(), driver);
             TestReporter.logAction(deviceId, "Build Name", "Using build name: " + buildName, driver);
             TestReporter.endStep(deviceId, "Test Setup");
             
@@ -192,21 +272,36 @@ public class BaseTest {
         }
     }
 
-    @AfterClass
-    public void tearDown() {
+    @AfterMethod(alwaysRun = true)
+    public void releaseDriver() {
         if (driver != null) {
             try {
                 TestReporter.startStep(deviceId, "Test Cleanup");
-                driver.quit();
-                TestReporter.logAction(deviceId, "Success", "Driver quit successfully", driver);
+                DriverPool.getInstance().release(driver);
+                TestReporter.logAction(deviceId, "Success", "Driver released to pool", null);
             } catch (Exception e) {
-                TestReporter.logError(deviceId, "Failed to quit driver", e);
+                TestReporter.logError(deviceId, "Failed to release driver", e);
             } finally {
+                driver = null;
                 TestReporter.endStep(deviceId, "Test Cleanup");
             }
         }
     }
 
+    @AfterSuite(alwaysRun = true)
+    public void shutdownDriverPool() {
+        DriverPool.getInstance().shutdown();
+        System.out.println("[SmartWait] " + SmartWait.getStatistics());
+        System.out.println("[AdaptiveTimeouts] " + AdaptiveTimeouts.getInstance().getStatistics());
+        System.out.println("[WaitFactory] " + WaitFactory.getStatistics());
+        System.out.println("[ScreenshotPipeline] " + ScreenshotPipeline.getInstance().getStatistics());
+        System.out.println("[ScreenshotPolicy] " + ScreenshotPolicy.getInstance().getStatistics());
+        System.out.println("[ReportEventBus] " + ReportEventBus.getInstance().getStatistics());
+        if (ConfigReloader.getInstance() != null) {
+            System.out.println("[ConfigReloader] " + ConfigReloader.getInstance().getStatistics());
+        }
+    }
+
     public AndroidDriver getDriver() {
         return driver;
     }
@@ -5,7 +5,9 @@ import org.fg.pageObjects.android.LoginScreenGetStarted;
 import org.fg.pageObjects.android.LoginScreen;
 import org.fg.pageObjects.android.OtpScreen;
 import org.fg.utils.AppiumUtils;
-import org.fg.utils.ConfigManager;
+import org.fg.utils.TestConfig;
+import org.fg.utils.ScreenStabilityDetector;
+import org.fg.utils.SmartWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.Assert;
@@ -13,23 +15,25 @@ import org.testng.ITestContext;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.time.Duration;
+
 public class DeepLinkNavigationTest extends BaseTest {
     private static final Logger logger = LoggerFactory.getLogger(DeepLinkNavigationTest.class);
     
-    // Configuration manager instance
-    private static final ConfigManager config = ConfigManager.getInstance();
-    
     // Test data
     private String testPhoneNumber;
     private String testOtp;
     private String ludoDeepLink = "https://paytmfirstgames.com/pro?type=ludo";
+    // Foreground activity before the deep link; the Ludo game runs in its own activity
+    private String lobbyActivity;
 
     /**
      * Initialize test data from configuration
      */
     private void initializeTestData() {
-        testPhoneNumber = config.getProperty("test.phone.number");
-        testOtp = config.getProperty("test.otp");
+        TestConfig config = TestConfig.getInstance();
+        testPhoneNumber = config.getPhoneNumber();
+        testOtp = config.getOtp();
         
         logger.info("Test data initialized - Phone: {}, OTP: {}", testPhoneNumber, testOtp);
     }
@@ -97,7 +101,7 @@ public class DeepLinkNavigationTest extends BaseTest {
             CallbreakLobby lobby = otpScreen.verifyButton();
             
             // Wait for lobby to load
-            Thread.sleep(5000);
+            new ScreenStabilityDetector(driver, deviceId).awaitSettled(Duration.ofMillis(5000));
             
             logger.info("Login process completed successfully");
             
@@ -118,7 +122,7 @@ public class DeepLinkNavigationTest extends BaseTest {
             CallbreakLobby lobby = new CallbreakLobby(driver);
             
             // Wait additional time for lobby to stabilize
-            Thread.sleep(3000);
+            new ScreenStabilityDetector(driver, deviceId).awaitSettled(Duration.ofMillis(3000));
             logger.info("Lobby load wait completed");
             
         } catch (Exception e) {
@@ -134,6 +138,8 @@ public class DeepLinkNavigationTest extends BaseTest {
         try {
             logger.info("Opening Ludo game via deep link");
             
+            lobbyActivity = driver.currentActivity();
+
             // Open deep link using AppiumUtils
             AppiumUtils.openDeepLink(driver, ludoDeepLink, deviceId);
             
@@ -155,8 +161,10 @@ public class DeepLinkNavigationTest extends BaseTest {
             // Wait for initial app load after deep link
             AppiumUtils.waitForAppLoadAfterDeepLink(driver, deviceId, 10);
             
-            // Additional wait for Ludo game to download and load
-            Thread.sleep(30000);
+            // Wait for the Ludo game to download and start; its Cocos surface exposes no
+            // elements, so a quiet page source says nothing about whether it has loaded
+            SmartWait.until(driver, deviceId, "Ludo game activity started",
+                SmartWait.activityChangedFrom(lobbyActivity), Duration.ofSeconds(30), 30000);
             
             logger.info("Ludo lobby load wait completed");
             
@@ -13,14 +13,11 @@ import org.fg.pageObjects.android.MyBalancePage;
 import org.fg.pageObjects.android.AddCashPage;
 import org.fg.pageObjects.android.PaymentMethodPage;
 import org.fg.pageObjects.android.AddCashResultPage;
-import org.fg.utils.ConfigManager;
+import org.fg.utils.TestConfig;
 
 public class DepositMoneyTest extends BaseTest {
     private static final Logger logger = LoggerFactory.getLogger(DepositMoneyTest.class);
     
-    // Configuration manager instance
-    private static final ConfigManager config = ConfigManager.getInstance();
-    
     // Test data from configuration - will be initialized at runtime
     private String testPhoneNumber;
     private String testOtp;
@@ -30,9 +27,10 @@ public class DepositMoneyTest extends BaseTest {
      * Initialize test data from configuration
      */
     private void initializeTestData() {
-        testPhoneNumber = config.getProperty("test.phone.number");
-        testOtp = config.getProperty("test.otp");
-        depositAmount = config.getProperty("test.deposit.amount");
+        TestConfig config = TestConfig.getInstance();
+        testPhoneNumber = config.getPhoneNumber();
+        testOtp = config.getOtp();
+        depositAmount = config.getDepositAmount();
         
         logger.info("Test data initialized - Phone: {}, OTP: {}, Amount: {}", 
                    testPhoneNumber, testOtp, depositAmount);
@@ -8,9 +8,9 @@ import org.fg.pageObjects.android.CallbreakLobby;
 import org.fg.pageObjects.android.SettingPage;
 import org.fg.pageObjects.android.HamburgerMenuCallbreak;
 import org.fg.utils.TestReporter;
-import org.fg.utils.ConfigManager;
+import org.fg.utils.TestConfig;
+import org.fg.utils.ScreenStabilityDetector;
 import org.openqa.selenium.By;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.AfterClass;
@@ -21,17 +21,10 @@ import java.util.List;
 import org.testng.Assert;
 
 public class HamburgerMenuNavigationTest extends BaseTest {
-    private WebDriverWait wait;
-    private WebDriverWait longWait;
     private LoginScreen loginScreen;
     private CallbreakLobby lobbyScreen;
     private HamburgerMenuCallbreak menu;
     
-    // Get test data from configuration
-    private static final ConfigManager config = ConfigManager.getInstance();
-    private static final String TEST_PHONE_NUMBER = config.getProperty("test.phone.number");
-    private static final String TEST_OTP = config.getProperty("test.otp");
-    
     // Hamburger Menu Button Elements
     private static final By INITIAL_HAMBURGER_MENU = By.xpath("//android.view.View[@resource-id='com.paytm.paytmplay:id/v_hamburg_bg']");
     private static final By SUBSEQUENT_HAMBURGER_MENU = By.xpath("//android.widget.ImageView[@resource-id='com.paytm.paytmplay:id/iv_head_hamburg']");
@@ -69,8 +62,6 @@ public class HamburgerMenuNavigationTest extends BaseTest {
     @BeforeMethod
     public void setup() {
         // Use the driver from BaseTest
-        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        longWait = new WebDriverWait(driver, Duration.ofSeconds(30));
         try {
             // Initialize Get Started screen
             LoginScreenGetStarted getStarted = new LoginScreenGetStarted(driver);
@@ -89,9 +80,10 @@ public class HamburgerMenuNavigationTest extends BaseTest {
     public void testHamburgerMenuNavigation() throws InterruptedException {
         try {
             // STEP 1: Login to the app using configuration values
-            loginScreen.setNumberfield(TEST_PHONE_NUMBER);
+            TestConfig config = TestConfig.getInstance();
+            loginScreen.setNumberfield(config.getPhoneNumber());
             OtpScreen otpScreen = loginScreen.loginButton();
-            otpScreen.enterOTP(TEST_OTP);
+            otpScreen.enterOTP(config.getOtp());
             lobbyScreen = otpScreen.verifyButton();
             
             // STEP 2: Verify lobby is loaded
@@ -122,90 +114,90 @@ public class HamburgerMenuNavigationTest extends BaseTest {
 
     private void testProfileNavigation() throws InterruptedException {
         menu.navigateToProfile();
-        Thread.sleep(2000); // Wait for page to stabilize
+        awaitSettled(2000); // Wait for page to stabilize
         menu.navigateBack();
-        Thread.sleep(1000);
+        awaitSettled(1000);
     }
 
     private void testMyBalanceNavigation() throws InterruptedException {
         // Reopen hamburger menu since it was closed after Profile navigation
         menu = lobbyScreen.openHamburgerMenu();
         menu.navigateToMyBalance();
-        Thread.sleep(2000);
+        awaitSettled(2000);
         menu.navigateBack();
-        Thread.sleep(1000);
+        awaitSettled(1000);
     }
 
     private void testReferEarnNavigation() throws InterruptedException {
         // Reopen hamburger menu since it was closed after previous navigation
         menu = lobbyScreen.openHamburgerMenu();
         menu.navigateToReferEarn();
-        Thread.sleep(2000);
+        awaitSettled(2000);
         menu.navigateBack();
-        Thread.sleep(1000);
+        awaitSettled(1000);
     }
 
     private void testPaymentSettingsNavigation() throws InterruptedException {
         // Reopen hamburger menu since it was closed after previous navigation
         menu = lobbyScreen.openHamburgerMenu();
         menu.navigateToPaymentSettings();
-        Thread.sleep(2000);
+        awaitSettled(2000);
         menu.navigateBack();
-        Thread.sleep(1000);
+        awaitSettled(1000);
     }
 
     private void testInboxNavigation() throws InterruptedException {
         // Reopen hamburger menu since it was closed after previous navigation
         menu = lobbyScreen.openHamburgerMenu();
         menu.navigateToInbox();
-        Thread.sleep(2000);
+        awaitSettled(2000);
         menu.navigateBack();
-        Thread.sleep(1000);
+        awaitSettled(1000);
     }
 
     private void testFAQNavigation() throws InterruptedException {
         // Reopen hamburger menu since it was closed after previous navigation
         menu = lobbyScreen.openHamburgerMenu();
         menu.navigateToFAQ();
-        Thread.sleep(2000);
+        awaitSettled(2000);
         menu.navigateBack();
-        Thread.sleep(1000);
+        awaitSettled(1000);
     }
 
     private void testMyRewardsNavigation() throws InterruptedException {
         // Reopen hamburger menu since it was closed after previous navigation
         menu = lobbyScreen.openHamburgerMenu();
         menu.navigateToMyRewards();
-        Thread.sleep(2000);
+        awaitSettled(2000);
         menu.navigateBack();
-        Thread.sleep(1000);
+        awaitSettled(1000);
     }
 
     private void testGameHistoryNavigation() throws InterruptedException {
         // Reopen hamburger menu since it was closed after previous navigation
         menu = lobbyScreen.openHamburgerMenu();
         menu.navigateToGameHistory();
-        Thread.sleep(2000);
+        awaitSettled(2000);
         menu.navigateBack();
-        Thread.sleep(1000);
+        awaitSettled(1000);
     }
 
     private void testHowToPlayNavigation() throws InterruptedException {
         // Reopen hamburger menu since it was closed after previous navigation
         menu = lobbyScreen.openHamburgerMenu();
         menu.navigateToHowToPlay();
-        Thread.sleep(2000);
+        awaitSettled(2000);
         menu.navigateBack();
-        Thread.sleep(1000);
+        awaitSettled(1000);
     }
 
     private void testResponsiblePlayNavigation() throws InterruptedException {
         // Reopen hamburger menu since it was closed after previous navigation
         menu = lobbyScreen.openHamburgerMenu();
         menu.navigateToResponsiblePlay();
-        Thread.sleep(2000);
+        awaitSettled(2000);
         menu.navigateBack();
-        Thread.sleep(1000);
+        awaitSettled(1000);
     }
 
     private void testSettingsNavigation() throws InterruptedException {
@@ -214,7 +206,7 @@ public class HamburgerMenuNavigationTest extends BaseTest {
         
         // Open Settings page
         SettingPage settingsPage = menu.openSettings();
-        Thread.sleep(2000);
+        awaitSettled(2000);
         
         // Check if Settings page loaded successfully
         if (settingsPage.isSettingsPageLoaded()) {
@@ -232,11 +224,18 @@ public class HamburgerMenuNavigationTest extends BaseTest {
                 TestReporter.logAction(deviceId, "Warning", "Logout failed or was cancelled", driver);
                 // If logout failed, navigate back to continue with other tests
                 menu.navigateBack();
-                Thread.sleep(1000);
+                awaitSettled(1000);
             }
         } else {
             TestReporter.logAction(deviceId, "Warning", "Settings page may have triggered logout flow", driver);
             // If logout was triggered, the test will end here
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Wait for the screen to settle, bounded by the fixed sleep this used to be
+     */
+    private void awaitSettled(long maxMillis) {
+        new ScreenStabilityDetector(driver, deviceId).awaitSettled(Duration.ofMillis(maxMillis));
+    }
+}
@@ -1,42 +1,33 @@
 package org.pfg;
 
-import java.time.Duration;
 import org.fg.pageObjects.android.CallbreakLobby;
 import org.fg.pageObjects.android.LoginScreen;
 import org.fg.pageObjects.android.LoginScreenGetStarted;
 import org.fg.pageObjects.android.HamburgerMenuCallbreak;
 import org.fg.pageObjects.android.SettingPage;
 import org.fg.pageObjects.android.OtpScreen;
-import org.fg.utils.ConfigManager;
+import org.fg.utils.TestConfig;
+import org.fg.utils.ScreenshotPipeline;
+import org.fg.utils.ScreenshotProfile;
 import org.fg.utils.TestReporter;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.fg.utils.WaitFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.By;
 import org.testng.annotations.Test;
 import org.testng.Assert;
 import java.io.File;
-import org.apache.commons.io.FileUtils;
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 public class LoginLogoutFlow extends BaseTest {
-    // Configuration manager instance
-    private static final ConfigManager config = ConfigManager.getInstance();
-    
-    // Test data from configuration
-    private static final int WAIT_TIMEOUT = config.getIntProperty("wait.timeout.medium", 15);
-    private static final String TEST_PHONE_NUMBER = config.getProperty("test.phone.number");
-    private static final String TEST_OTP = config.getProperty("test.otp");
-    
     private void takeScreenshot(String stepName) {
         try {
-            File screenshot = driver.getScreenshotAs(org.openqa.selenium.OutputType.FILE);
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String screenshotPath = config.getProperty("screenshot.path", "test-output/screenshots/") + stepName + "_" + timestamp + ".png";
-            FileUtils.copyFile(screenshot, new File(screenshotPath));
-            TestReporter.logAction(deviceId, "Screenshot", "Screenshot captured: " + screenshotPath, driver);
-        } catch (IOException e) {
+            File screenshotsDir = new File(TestConfig.getInstance().getScreenshotPath());
+            File screenshot = ScreenshotPipeline.getInstance().capture(driver, deviceId, screenshotsDir, stepName + "_" + timestamp,
+                ScreenshotProfile.forStep(stepName));
+            TestReporter.logAction(deviceId, "Screenshot", "Screenshot captured: " + screenshot, driver);
+        } catch (Exception e) {
             TestReporter.logError(deviceId, "Failed to capture screenshot", e);
         }
     }
@@ -45,9 +36,10 @@ public class LoginLogoutFlow extends BaseTest {
     public void testLoginToLogoutFlow() throws InterruptedException {
         TestReporter.startTest(deviceId, "Login to Logout Flow Test");
         try {
-            // Initialize wait
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(WAIT_TIMEOUT));
-            TestReporter.logAction(deviceId, "Init", "Initialized WebDriverWait with timeout: " + WAIT_TIMEOUT + " seconds", driver);
+            // Test data and wait from the current configuration
+            TestConfig config = TestConfig.getInstance();
+            WaitFactory.PollingWait wait = WaitFactory.forDriver(driver).wait(config.getWaitMedium());
+            TestReporter.logAction(deviceId, "Init", "Using wait with timeout: " + config.getWaitMedium().getSeconds() + " seconds", driver);
             
             // STEP 1: Get Started Screen
             TestReporter.startStep(deviceId, "Get Started Screen");
@@ -62,8 +54,8 @@ public class LoginLogoutFlow extends BaseTest {
             
             // STEP 2: Login Screen
             TestReporter.startStep(deviceId, "Login Screen");
-            TestReporter.logAction(deviceId, "Flow", "Login Screen - Entering Phone Number: " + TEST_PHONE_NUMBER, driver);
-            loginScreen.setNumberfield(TEST_PHONE_NUMBER);
+            TestReporter.logAction(deviceId, "Flow", "Login Screen - Entering Phone Number: " + config.getPhoneNumber(), driver);
+            loginScreen.setNumberfield(config.getPhoneNumber());
             // Wait for the number to be properly entered
             wait.until(ExpectedConditions.attributeToBeNotEmpty(
                 driver.findElement(By.id("com.paytm.paytmplay:id/edt_number")), 
@@ -74,8 +66,8 @@ public class LoginLogoutFlow extends BaseTest {
             TestReporter.logAction(deviceId, "Flow", "Login Screen - Clicking Login Button", driver);
             OtpScreen otpScreen = loginScreen.loginButton();
             
-            TestReporter.logAction(deviceId, "Flow", "OTP Screen - Entering OTP: " + TEST_OTP, driver);
-            otpScreen.enterOTP(TEST_OTP);
+            TestReporter.logAction(deviceId, "Flow", "OTP Screen - Entering OTP: " + config.getOtp(), driver);
+            otpScreen.enterOTP(config.getOtp());
             // Wait for OTP to be entered
             wait.until(ExpectedConditions.attributeToBeNotEmpty(
                 driver.findElement(By.id("com.paytm.paytmplay:id/verify_input")), 
@@ -4,7 +4,6 @@ import org.testng.annotations.Test;
 import org.testng.annotations.BeforeMethod;
 import org.testng.ITestContext;
 import org.fg.utils.TestReporter;
-import org.fg.utils.ConfigManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,7 +17,6 @@ import org.slf4j.LoggerFactory;
 public class MultiDeviceTest extends BaseTest {
     
     private static final Logger logger = LoggerFactory.getLogger(MultiDeviceTest.class);
-    private static final ConfigManager config = ConfigManager.getInstance();
     
     // Test data from configuration
     private String testPhoneNumber;
@@ -28,8 +26,8 @@ public class MultiDeviceTest extends BaseTest {
      * Initialize test data from configuration
      */
     private void initializeTestData() {
-        testPhoneNumber = config.getProperty("test.phone.number");
-        testOtp = config.getProperty("test.otp");
+        testPhoneNumber = deviceConfig.getPhoneNumber();
+        testOtp = deviceConfig.getOtp();
         
         logger.info("Test data initialized - Phone: {}, OTP: {}", testPhoneNumber, testOtp);
     }
@@ -12,15 +12,12 @@ import org.fg.pageObjects.android.OtpScreen;
 import org.fg.pageObjects.android.CallbreakLobby;
 import org.fg.pageObjects.android.HamburgerMenuCallbreak;
 import org.fg.pageObjects.android.MyBalancePage;
-import org.fg.utils.ConfigManager;
+import org.fg.utils.TestConfig;
 import org.fg.utils.TestReporter;
 
 public class WithdrawMoneyTest extends BaseTest {
     private static final Logger logger = LoggerFactory.getLogger(WithdrawMoneyTest.class);
     
-    // Configuration manager instance
-    private static final ConfigManager config = ConfigManager.getInstance();
-    
     // Test data from configuration - will be initialized at runtime
     private String testPhoneNumber;
     private String testOtp;
@@ -30,9 +27,10 @@ public class WithdrawMoneyTest extends BaseTest {
      * Initialize test data from configuration
      */
     private void initializeTestData() {
-        testPhoneNumber = config.getProperty("test.phone.number");
-        testOtp = config.getProperty("test.otp");
-        withdrawAmount = config.getProperty("test.withdraw.amount");
+        TestConfig config = TestConfig.getInstance();
+        testPhoneNumber = config.getPhoneNumber();
+        testOtp = config.getOtp();
+        withdrawAmount = config.getWithdrawAmount();
         
         logger.info("Test data initialized - Phone: {}, OTP: {}, Amount: {}", 
                    testPhoneNumber, testOtp, withdrawAmount);